@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Supplies the scratch buffers used internally by {@link IOUtils}.
+ * <p>
+ * A buffer obtained from {@link #getByteBuffer()} or {@link #getCharBuffer()} is
+ * used by a single thread and handed back with the matching release method once
+ * the operation is complete. Pools only ever keep buffers of their own
+ * {@link #getBufferSize() size}; other buffers are released to the garbage collector.
+ * <p>
+ * Three implementations are provided:
+ * <ul>
+ * <li>{@link #unpooled(int)} - allocates a new buffer for every operation</li>
+ * <li>{@link #threadLocal(int)} - keeps two byte buffers and one char buffer per thread</li>
+ * <li>{@link #bounded(int, int)} - shares up to a given number of buffers of each type between all threads</li>
+ * </ul>
+ * All are safe for use by multiple threads, including an operation that starts
+ * another on the same thread, for example a stream that copies with IOUtils
+ * while being copied to.
+ *
+ * @see IOUtils#setBufferPool(BufferPool)
+ * @version $Id$
+ * @since 2.6
+ */
+public abstract class BufferPool {
+
+    private final int bufferSize;
+
+    /**
+     * Constructs a new pool.
+     *
+     * @param bufferSize the size of the buffers in the pool
+     * @throws IllegalArgumentException if the buffer size is not positive
+     */
+    protected BufferPool(final int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns the size of the buffers in this pool.
+     *
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Gets a byte buffer of {@link #getBufferSize()} bytes for exclusive use by the caller.
+     *
+     * @return the buffer, with undefined content
+     */
+    public abstract byte[] getByteBuffer();
+
+    /**
+     * Hands back a byte buffer obtained from {@link #getByteBuffer()}.
+     *
+     * @param buffer the buffer, which the caller must no longer use
+     */
+    public abstract void releaseByteBuffer(byte[] buffer);
+
+    /**
+     * Gets a char buffer of {@link #getBufferSize()} chars for exclusive use by the caller.
+     *
+     * @return the buffer, with undefined content
+     */
+    public abstract char[] getCharBuffer();
+
+    /**
+     * Hands back a char buffer obtained from {@link #getCharBuffer()}.
+     *
+     * @param buffer the buffer, which the caller must no longer use
+     */
+    public abstract void releaseCharBuffer(char[] buffer);
+
+    /**
+     * Returns a pool that allocates a new buffer for every request.
+     *
+     * @param bufferSize the size of the buffers
+     * @return a new pool
+     */
+    public static BufferPool unpooled(final int bufferSize) {
+        return new UnpooledBufferPool(bufferSize);
+    }
+
+    /**
+     * Returns a pool that keeps two byte buffers and one char buffer per thread.
+     * <p>
+     * Two byte buffers are kept so that operations on a pair of streams, such as
+     * {@link IOUtils#contentEquals(java.io.InputStream, java.io.InputStream)}, are
+     * pooled too. While a thread's buffers are in use, further requests on that
+     * thread get new buffers.
+     *
+     * @param bufferSize the size of the buffers
+     * @return a new pool
+     */
+    public static BufferPool threadLocal(final int bufferSize) {
+        return new ThreadLocalBufferPool(bufferSize);
+    }
+
+    /**
+     * Returns a pool that shares up to <code>maxBuffers</code> buffers of each type between all threads.
+     * <p>
+     * When the pool is empty, new buffers are allocated; when it is full, released buffers are dropped.
+     *
+     * @param bufferSize the size of the buffers
+     * @param maxBuffers the maximum number of buffers of each type to keep
+     * @return a new pool
+     * @throws IllegalArgumentException if <code>maxBuffers</code> is not positive
+     */
+    public static BufferPool bounded(final int bufferSize, final int maxBuffers) {
+        return new BoundedBufferPool(bufferSize, maxBuffers);
+    }
+
+    /**
+     * Allocates a new buffer for every request.
+     */
+    private static class UnpooledBufferPool extends BufferPool {
+
+        UnpooledBufferPool(final int bufferSize) {
+            super(bufferSize);
+        }
+
+        @Override
+        public byte[] getByteBuffer() {
+            return new byte[getBufferSize()];
+        }
+
+        @Override
+        public void releaseByteBuffer(final byte[] buffer) {
+            // garbage collected
+        }
+
+        @Override
+        public char[] getCharBuffer() {
+            return new char[getBufferSize()];
+        }
+
+        @Override
+        public void releaseCharBuffer(final char[] buffer) {
+            // garbage collected
+        }
+
+        @Override
+        public String toString() {
+            return "UnpooledBufferPool(" + getBufferSize() + ")";
+        }
+    }
+
+    /**
+     * Keeps two byte buffers and one char buffer per thread.
+     * <p>
+     * A buffer is removed from its thread's slot while in use, so that nested
+     * operations on the same thread never share it.
+     */
+    private static class ThreadLocalBufferPool extends BufferPool {
+
+        /** The number of byte buffers kept per thread, a pair for the comparison of two streams. */
+        private static final int BYTE_BUFFERS_PER_THREAD = 2;
+
+        // Plain ThreadLocals holding arrays, so that threads do not pin this class' ClassLoader
+        private final ThreadLocal<byte[][]> byteBuffers = new ThreadLocal<byte[][]>();
+
+        private final ThreadLocal<char[]> charBuffers = new ThreadLocal<char[]>();
+
+        ThreadLocalBufferPool(final int bufferSize) {
+            super(bufferSize);
+        }
+
+        @Override
+        public byte[] getByteBuffer() {
+            final byte[][] buffers = byteBuffers.get();
+            if (buffers != null) {
+                // the last released first
+                for (int i = buffers.length - 1; i >= 0; i--) {
+                    final byte[] buffer = buffers[i];
+                    if (buffer != null) {
+                        buffers[i] = null;
+                        return buffer;
+                    }
+                }
+            }
+            return new byte[getBufferSize()];
+        }
+
+        @Override
+        public void releaseByteBuffer(final byte[] buffer) {
+            if (buffer != null && buffer.length == getBufferSize()) {
+                byte[][] buffers = byteBuffers.get();
+                if (buffers == null) {
+                    buffers = new byte[BYTE_BUFFERS_PER_THREAD][];
+                    byteBuffers.set(buffers);
+                }
+                for (int i = 0; i < buffers.length; i++) {
+                    if (buffers[i] == null) {
+                        buffers[i] = buffer;
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public char[] getCharBuffer() {
+            final char[] buffer = charBuffers.get();
+            if (buffer == null) {
+                return new char[getBufferSize()];
+            }
+            charBuffers.set(null);
+            return buffer;
+        }
+
+        @Override
+        public void releaseCharBuffer(final char[] buffer) {
+            if (buffer != null && buffer.length == getBufferSize()) {
+                charBuffers.set(buffer);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ThreadLocalBufferPool(" + getBufferSize() + ")";
+        }
+    }
+
+    /**
+     * Shares a bounded number of buffers between all threads.
+     */
+    private static class BoundedBufferPool extends BufferPool {
+
+        private final BlockingQueue<byte[]> byteBuffers;
+
+        private final BlockingQueue<char[]> charBuffers;
+
+        private final int maxBuffers;
+
+        BoundedBufferPool(final int bufferSize, final int maxBuffers) {
+            super(bufferSize);
+            if (maxBuffers <= 0) {
+                throw new IllegalArgumentException("Maximum number of buffers must be positive: " + maxBuffers);
+            }
+            this.maxBuffers = maxBuffers;
+            byteBuffers = new ArrayBlockingQueue<byte[]>(maxBuffers);
+            charBuffers = new ArrayBlockingQueue<char[]>(maxBuffers);
+        }
+
+        @Override
+        public byte[] getByteBuffer() {
+            final byte[] buffer = byteBuffers.poll();
+            return buffer == null ? new byte[getBufferSize()] : buffer;
+        }
+
+        @Override
+        public void releaseByteBuffer(final byte[] buffer) {
+            if (buffer != null && buffer.length == getBufferSize()) {
+                byteBuffers.offer(buffer);
+            }
+        }
+
+        @Override
+        public char[] getCharBuffer() {
+            final char[] buffer = charBuffers.poll();
+            return buffer == null ? new char[getBufferSize()] : buffer;
+        }
+
+        @Override
+        public void releaseCharBuffer(final char[] buffer) {
+            if (buffer != null && buffer.length == getBufferSize()) {
+                charBuffers.offer(buffer);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "BoundedBufferPool(" + getBufferSize() + ", " + maxBuffers + ")";
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+/**
+ * The totals gathered by {@link FileUtils#sizeOfDirectory(java.io.File, java.util.concurrent.Executor)}
+ * in a single walk of a directory tree: the sum of the lengths of all files, the
+ * number of files and the number of subdirectories.
+ * <p>
+ * As with {@link FileUtils#sizeOfDirectory(java.io.File)}, symbolic links are not
+ * followed or counted, and security restricted directories count as empty.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public class DirectorySize implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BigInteger size;
+
+    private final long fileCount;
+
+    private final long directoryCount;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param size the sum of the lengths of all files
+     * @param fileCount the number of files
+     * @param directoryCount the number of subdirectories
+     */
+    DirectorySize(final BigInteger size, final long fileCount, final long directoryCount) {
+        this.size = size;
+        this.fileCount = fileCount;
+        this.directoryCount = directoryCount;
+    }
+
+    /**
+     * Returns the sum of the lengths of all files in the tree.
+     * <p>
+     * Note that the return value is negative if the real total is greater
+     * than {@link Long#MAX_VALUE}. See {@link #getSizeAsBigInteger()}.
+     *
+     * @return the size in bytes
+     */
+    public long getSize() {
+        return size.longValue();
+    }
+
+    /**
+     * Returns the sum of the lengths of all files in the tree.
+     *
+     * @return the size in bytes
+     */
+    public BigInteger getSizeAsBigInteger() {
+        return size;
+    }
+
+    /**
+     * Returns the number of files in the tree.
+     *
+     * @return the number of files
+     */
+    public long getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * Returns the number of directories in the tree, not counting the directory itself.
+     *
+     * @return the number of subdirectories
+     */
+    public long getDirectoryCount() {
+        return directoryCount;
+    }
+
+    /**
+     * Returns a String representation of the totals.
+     *
+     * @return the totals as a String
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size + ", files=" + fileCount
+                + ", directories=" + directoryCount + "]";
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.File;
+
+/**
+ * Receives progress notifications while a file is copied with
+ * {@link FileUtils#copyFile(File, File, boolean, FileCopyOptions)}.
+ *
+ * @see FileCopyOptions#setListener(FileCopyListener)
+ * @version $Id$
+ * @since 2.6
+ */
+public interface FileCopyListener {
+
+    /**
+     * Called on the copying thread after each chunk of the file has been copied.
+     *
+     * @param srcFile the file being copied
+     * @param destFile the file being written
+     * @param bytesCopied the number of bytes copied so far
+     * @param totalBytes the number of bytes to copy
+     */
+    void chunkCopied(File srcFile, File destFile, long bytesCopied, long totalBytes);
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.File;
+
+/**
+ * Options for {@link FileUtils#copyFile(File, File, boolean, FileCopyOptions)}.
+ * <p>
+ * Files are copied a chunk at a time with {@link java.nio.channels.FileChannel#transferFrom}.
+ * The chunk size can be tuned for the file systems involved, the copy can be
+ * forced to the storage device once complete, and a {@link FileCopyListener}
+ * can be notified after each chunk.
+ * <pre>
+ * FileCopyOptions options = new FileCopyOptions()
+ *         .setChunkSize(FileUtils.ONE_MB * 4)
+ *         .setSync(true)
+ *         .setListener(listener);
+ * FileUtils.copyFile(srcFile, destFile, true, options);
+ * </pre>
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public class FileCopyOptions {
+
+    /**
+     * The default chunk size (30 MB).
+     */
+    public static final long DEFAULT_CHUNK_SIZE = FileUtils.ONE_MB * 30;
+
+    private long chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private boolean sync;
+
+    private FileCopyListener listener;
+
+    /**
+     * Creates options with the default chunk size, no sync and no listener.
+     */
+    public FileCopyOptions() {
+        super();
+    }
+
+    /**
+     * Returns the maximum number of bytes to transfer per chunk.
+     *
+     * @return the chunk size
+     */
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes to transfer per chunk.
+     *
+     * @param chunkSize the chunk size, must be positive
+     * @return this instance
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public FileCopyOptions setChunkSize(final long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Returns whether the copy is forced to the storage device before the destination is closed.
+     *
+     * @return true to sync the destination
+     */
+    public boolean isSync() {
+        return sync;
+    }
+
+    /**
+     * Sets whether the copy is forced to the storage device before the destination is closed.
+     *
+     * @param sync true to sync the destination
+     * @return this instance
+     * @see java.nio.channels.FileChannel#force(boolean)
+     */
+    public FileCopyOptions setSync(final boolean sync) {
+        this.sync = sync;
+        return this;
+    }
+
+    /**
+     * Returns the listener notified after each chunk.
+     *
+     * @return the listener, may be null
+     */
+    public FileCopyListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the listener notified after each chunk.
+     *
+     * @param listener the listener, null for none
+     * @return this instance
+     */
+    public FileCopyOptions setListener(final FileCopyListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+}
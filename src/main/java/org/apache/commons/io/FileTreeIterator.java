@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy, depth-first Iterator over the files in a directory tree.
+ * <p>
+ * Directories are listed only when the iteration reaches them, and only the
+ * listing of each directory on the path from the start directory to the current
+ * file is held in memory. Entries are returned in the same order as
+ * {@link FileUtils#listFiles(File, org.apache.commons.io.filefilter.IOFileFilter,
+ * org.apache.commons.io.filefilter.IOFileFilter)}: every entry accepted by the
+ * filter is visited, and accepted directories are descended into straight after
+ * being (optionally) returned themselves.
+ * <p>
+ * As with <code>File.listFiles()</code>, directories that cannot be listed are
+ * treated as empty.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+class FileTreeIterator implements Iterator<File> {
+
+    /** The filter applied to the entries of each listed directory. */
+    private final FileFilter filter;
+
+    /** Whether directories are returned as well as descended into. */
+    private final boolean includeDirectories;
+
+    /** The listings of the directories being visited, innermost last. */
+    private final List<File[]> listings = new ArrayList<File[]>();
+
+    /** The position within each listing. */
+    private final List<int[]> positions = new ArrayList<int[]>();
+
+    /** The next file to return, null if not yet found. */
+    private File next;
+
+    /**
+     * Constructs an iterator over the tree below the given directory.
+     *
+     * @param directory the directory to start from
+     * @param filter the filter to apply to files and directories
+     * @param includeDirectories whether the start directory and the accepted
+     * subdirectories are returned
+     */
+    FileTreeIterator(final File directory, final FileFilter filter, final boolean includeDirectories) {
+        this.filter = filter;
+        this.includeDirectories = includeDirectories;
+        push(directory);
+        if (includeDirectories) {
+            next = directory;
+        }
+    }
+
+    private void push(final File directory) {
+        final File[] found = directory.listFiles(filter);
+        if (found != null && found.length > 0) {
+            listings.add(found);
+            positions.add(new int[1]);
+        }
+    }
+
+    /**
+     * Indicates whether there are more files.
+     *
+     * @return {@code true} if there are more files
+     */
+    public boolean hasNext() {
+        while (next == null && !listings.isEmpty()) {
+            final int depth = listings.size() - 1;
+            final File[] listing = listings.get(depth);
+            final int[] position = positions.get(depth);
+            final File file = listing[position[0]];
+            listing[position[0]++] = null; // no longer needed
+            if (position[0] == listing.length) {
+                listings.remove(depth);
+                positions.remove(depth);
+            }
+            if (file.isDirectory()) {
+                push(file);
+                if (includeDirectories) {
+                    next = file;
+                }
+            } else {
+                next = file;
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * Returns the next file.
+     *
+     * @return the next file
+     * @throws NoSuchElementException if there are no more files
+     */
+    public File next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more files");
+        }
+        final File file = next;
+        next = null;
+        return file;
+    }
+
+    /**
+     * Unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void remove() {
+        throw new UnsupportedOperationException("Remove unsupported on FileTreeIterator");
+    }
+
+}
@@ -25,6 +25,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.math.BigInteger;
@@ -38,6 +39,12 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.zip.CRC32;
 import java.util.zip.CheckedInputStream;
 import java.util.zip.Checksum;
@@ -105,9 +112,9 @@ public class FileUtils {
     public static final BigInteger ONE_MB_BI = ONE_KB_BI.multiply(ONE_KB_BI);
 
     /**
-     * The file copy buffer size (30 MB)
+     * The size of the memory mapped windows used to compare file contents (64 MB)
      */
-    private static final long FILE_COPY_BUFFER_SIZE = ONE_MB * 30;
+    private static final long MAPPED_WINDOW_SIZE = ONE_MB * 64;
 
     /**
      * The number of bytes in a gigabyte.
@@ -456,30 +463,17 @@ public class FileUtils {
 
     //-----------------------------------------------------------------------
     /**
-     * Finds files within a given directory (and optionally its
-     * subdirectories). All files found are filtered by an IOFileFilter.
+     * Adds the remaining elements of an iterator to a new collection.
      *
-     * @param files                 the collection of files found.
-     * @param directory             the directory to search in.
-     * @param filter                the filter to apply to files and directories.
-     * @param includeSubDirectories indicates if will include the subdirectories themselves
+     * @param iterator the iterator to drain
+     * @return the collection of files
      */
-    private static void innerListFiles(final Collection<File> files, final File directory,
-                                       final IOFileFilter filter, final boolean includeSubDirectories) {
-        final File[] found = directory.listFiles((FileFilter) filter);
-
-        if (found != null) {
-            for (final File file : found) {
-                if (file.isDirectory()) {
-                    if (includeSubDirectories) {
-                        files.add(file);
-                    }
-                    innerListFiles(files, file, filter, includeSubDirectories);
-                } else {
-                    files.add(file);
-                }
-            }
+    private static Collection<File> toCollection(final Iterator<File> iterator) {
+        final Collection<File> files = new java.util.LinkedList<File>();
+        while (iterator.hasNext()) {
+            files.add(iterator.next());
         }
+        return files;
     }
 
     /**
@@ -509,16 +503,7 @@ public class FileUtils {
      */
     public static Collection<File> listFiles(
             final File directory, final IOFileFilter fileFilter, final IOFileFilter dirFilter) {
-        validateListFilesParameters(directory, fileFilter);
-
-        final IOFileFilter effFileFilter = setUpEffectiveFileFilter(fileFilter);
-        final IOFileFilter effDirFilter = setUpEffectiveDirFilter(dirFilter);
-
-        //Find files
-        final Collection<File> files = new java.util.LinkedList<File>();
-        innerListFiles(files, directory,
-                FileFilterUtils.or(effFileFilter, effDirFilter), false);
-        return files;
+        return toCollection(iterateFiles(directory, fileFilter, dirFilter));
     }
 
     /**
@@ -582,29 +567,21 @@ public class FileUtils {
      */
     public static Collection<File> listFilesAndDirs(
             final File directory, final IOFileFilter fileFilter, final IOFileFilter dirFilter) {
-        validateListFilesParameters(directory, fileFilter);
-
-        final IOFileFilter effFileFilter = setUpEffectiveFileFilter(fileFilter);
-        final IOFileFilter effDirFilter = setUpEffectiveDirFilter(dirFilter);
-
-        //Find files
-        final Collection<File> files = new java.util.LinkedList<File>();
-        if (directory.isDirectory()) {
-            files.add(directory);
-        }
-        innerListFiles(files, directory,
-                FileFilterUtils.or(effFileFilter, effDirFilter), true);
-        return files;
+        return toCollection(iterateFilesAndDirs(directory, fileFilter, dirFilter));
     }
 
     /**
      * Allows iteration over the files in given directory (and optionally
      * its subdirectories).
      * <p>
-     * All files found are filtered by an IOFileFilter. This method is
-     * based on {@link #listFiles(File, IOFileFilter, IOFileFilter)},
+     * All files found are filtered by an IOFileFilter. The files are
+     * returned in the same order as by {@link #listFiles(File, IOFileFilter, IOFileFilter)},
      * which supports Iterable ('foreach' loop).
      * <p>
+     * The iteration is lazy and depth-first: each directory is only listed
+     * when the iteration reaches it, and only the listings of the directories
+     * leading to the current file are held in memory.
+     * <p>
      * @param directory  the directory to search in
      * @param fileFilter filter to apply when finding files.
      * @param dirFilter  optional filter to apply when finding subdirectories.
@@ -617,18 +594,25 @@ public class FileUtils {
      */
     public static Iterator<File> iterateFiles(
             final File directory, final IOFileFilter fileFilter, final IOFileFilter dirFilter) {
-        return listFiles(directory, fileFilter, dirFilter).iterator();
+        validateListFilesParameters(directory, fileFilter);
+
+        final IOFileFilter effFileFilter = setUpEffectiveFileFilter(fileFilter);
+        final IOFileFilter effDirFilter = setUpEffectiveDirFilter(dirFilter);
+
+        return new FileTreeIterator(directory, FileFilterUtils.or(effFileFilter, effDirFilter), false);
     }
 
     /**
      * Allows iteration over the files in given directory (and optionally
      * its subdirectories).
      * <p>
-     * All files found are filtered by an IOFileFilter. This method is
-     * based on {@link #listFilesAndDirs(File, IOFileFilter, IOFileFilter)},
+     * All files found are filtered by an IOFileFilter. The files are
+     * returned in the same order as by {@link #listFilesAndDirs(File, IOFileFilter, IOFileFilter)},
      * which supports Iterable ('foreach' loop).
      * <p>
      * The resulting iterator includes the subdirectories themselves.
+     * The iteration is lazy and depth-first, as for
+     * {@link #iterateFiles(File, IOFileFilter, IOFileFilter)}.
      *
      * @param directory  the directory to search in
      * @param fileFilter filter to apply when finding files.
@@ -642,7 +626,12 @@ public class FileUtils {
      */
     public static Iterator<File> iterateFilesAndDirs(final File directory, final IOFileFilter fileFilter,
                                                      final IOFileFilter dirFilter) {
-        return listFilesAndDirs(directory, fileFilter, dirFilter).iterator();
+        validateListFilesParameters(directory, fileFilter);
+
+        final IOFileFilter effFileFilter = setUpEffectiveFileFilter(fileFilter);
+        final IOFileFilter effDirFilter = setUpEffectiveDirFilter(dirFilter);
+
+        return new FileTreeIterator(directory, FileFilterUtils.or(effFileFilter, effDirFilter), true);
     }
 
     //-----------------------------------------------------------------------
@@ -674,21 +663,27 @@ public class FileUtils {
      */
     public static Collection<File> listFiles(
             final File directory, final String[] extensions, final boolean recursive) {
-        IOFileFilter filter;
+        return listFiles(directory, toFileFilter(extensions),
+                recursive ? TrueFileFilter.INSTANCE : FalseFileFilter.INSTANCE);
+    }
+
+    /**
+     * Creates a filter for an array of file extensions.
+     *
+     * @param extensions an array of extensions, ex. {"java","xml"}, null for all files
+     * @return the filter
+     */
+    private static IOFileFilter toFileFilter(final String[] extensions) {
         if (extensions == null) {
-            filter = TrueFileFilter.INSTANCE;
-        } else {
-            final String[] suffixes = toSuffixes(extensions);
-            filter = new SuffixFileFilter(suffixes);
+            return TrueFileFilter.INSTANCE;
         }
-        return listFiles(directory, filter,
-                recursive ? TrueFileFilter.INSTANCE : FalseFileFilter.INSTANCE);
+        return new SuffixFileFilter(toSuffixes(extensions));
     }
 
     /**
      * Allows iteration over the files in a given directory (and optionally
-     * its subdirectories) which match an array of extensions. This method
-     * is based on {@link #listFiles(File, String[], boolean)},
+     * its subdirectories) which match an array of extensions. The files
+     * are returned lazily, in the same order as by {@link #listFiles(File, String[], boolean)},
      * which supports Iterable ('foreach' loop).
      *
      * @param directory  the directory to search in
@@ -700,7 +695,8 @@ public class FileUtils {
      */
     public static Iterator<File> iterateFiles(
             final File directory, final String[] extensions, final boolean recursive) {
-        return listFiles(directory, extensions, recursive).iterator();
+        return iterateFiles(directory, toFileFilter(extensions),
+                recursive ? TrueFileFilter.INSTANCE : FalseFileFilter.INSTANCE);
     }
 
     //-----------------------------------------------------------------------
@@ -720,6 +716,36 @@ public class FileUtils {
      * @throws IOException in case of an I/O error
      */
     public static boolean contentEquals(final File file1, final File file2) throws IOException {
+        return contentEquals(file1, file2, false);
+    }
+
+    /**
+     * Compares the contents of two files to determine if they are equal or not,
+     * optionally using memory mapped I/O.
+     * <p>
+     * This method checks to see if the two files are different lengths
+     * or if they point to the same file (including hard links, where the
+     * file system supports file keys), before resorting to comparison of
+     * the contents.
+     * <p>
+     * When <code>memoryMapped</code> is true the contents are compared through
+     * read-only {@link FileChannel#map mapped} windows of the files rather than
+     * through heap buffers. This is usually faster for large files. If a file
+     * cannot be mapped (for example because the address space is exhausted)
+     * the comparison falls back to streaming. Note that mapped regions are only
+     * released when they are garbage collected, which on some platforms
+     * prevents the files from being deleted until then.
+     *
+     * @param file1 the first file
+     * @param file2 the second file
+     * @param memoryMapped true to compare memory mapped regions of the files
+     * @return true if the content of the files are equal or they both don't
+     * exist, false otherwise
+     * @throws IOException in case of an I/O error
+     * @since 2.6
+     */
+    public static boolean contentEquals(final File file1, final File file2, final boolean memoryMapped)
+            throws IOException {
         final boolean file1Exists = file1.exists();
         if (file1Exists != file2.exists()) {
             return false;
@@ -740,11 +766,19 @@ public class FileUtils {
             return false;
         }
 
-        if (file1.getCanonicalFile().equals(file2.getCanonicalFile())) {
+        if (isSameFile(file1, file2)) {
             // same file
             return true;
         }
 
+        if (memoryMapped) {
+            final Boolean result = mappedContentEquals(file1, file2);
+            if (result != null) {
+                return result.booleanValue();
+            }
+            // could not map, fall back to streaming
+        }
+
         InputStream input1 = null;
         InputStream input2 = null;
         try {
@@ -758,6 +792,71 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Determines whether two existing files are the same file, either by path
+     * or, on Java 7 and later, by file key.
+     *
+     * @param file1 the first file
+     * @param file2 the second file
+     * @return true if both refer to the same file
+     * @throws IOException in case of an I/O error
+     */
+    private static boolean isSameFile(final File file1, final File file2) throws IOException {
+        if (file1.getCanonicalFile().equals(file2.getCanonicalFile())) {
+            return true;
+        }
+        if (Java7Support.isAtLeastJava7()) {
+            final Object key1 = Java7Support.fileKey(file1);
+            return key1 != null && key1.equals(Java7Support.fileKey(file2));
+        }
+        return false;
+    }
+
+    /**
+     * Compares the contents of two files of equal length through memory mapped windows.
+     *
+     * @param file1 the first file
+     * @param file2 the second file
+     * @return whether the contents are equal, or null if the files could not be mapped
+     * @throws IOException in case of an I/O error
+     */
+    private static Boolean mappedContentEquals(final File file1, final File file2) throws IOException {
+        FileInputStream input1 = null;
+        FileInputStream input2 = null;
+        try {
+            input1 = new FileInputStream(file1);
+            input2 = new FileInputStream(file2);
+            final FileChannel channel1 = input1.getChannel();
+            final FileChannel channel2 = input2.getChannel();
+            final long size = channel1.size();
+            if (size != channel2.size()) {
+                // changed since the length check
+                return Boolean.FALSE;
+            }
+            long pos = 0;
+            while (pos < size) {
+                final long count = Math.min(size - pos, MAPPED_WINDOW_SIZE);
+                final ByteBuffer window1;
+                final ByteBuffer window2;
+                try {
+                    window1 = channel1.map(FileChannel.MapMode.READ_ONLY, pos, count);
+                    window2 = channel2.map(FileChannel.MapMode.READ_ONLY, pos, count);
+                } catch (final IOException e) {
+                    // "Map failed", most likely out of address space
+                    return null;
+                }
+                if (!window1.equals(window2)) {
+                    return Boolean.FALSE;
+                }
+                pos += count;
+            }
+            return Boolean.TRUE;
+        } finally {
+            IOUtils.closeQuietly(input1);
+            IOUtils.closeQuietly(input2);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Compares the contents of two files to determine if they are equal or not.
@@ -1065,10 +1164,38 @@ public class FileUtils {
      * @throws IOException          if the output file length is not the same as the input file length after the copy
      * completes
      * @see #copyFileToDirectory(File, File, boolean)
-     * @see #doCopyFile(File, File, boolean)
+     * @see #doCopyFile(File, File, boolean, FileCopyOptions)
      */
     public static void copyFile(final File srcFile, final File destFile,
                                 final boolean preserveFileDate) throws IOException {
+        copyFile(srcFile, destFile, preserveFileDate, null);
+    }
+
+    /**
+     * Copies a file to a new location using the given copy options.
+     * <p>
+     * This method behaves like {@link #copyFile(File, File, boolean)}, except that
+     * the contents are transferred in chunks of {@link FileCopyOptions#getChunkSize()}
+     * bytes, the {@link FileCopyOptions#getListener() listener} is notified after each
+     * chunk and, if {@link FileCopyOptions#isSync()} is set, the destination is forced
+     * to the storage device before it is closed.
+     *
+     * @param srcFile          an existing file to copy, must not be {@code null}
+     * @param destFile         the new file, must not be {@code null}
+     * @param preserveFileDate true if the file date of the copy
+     *                         should be the same as the original
+     * @param options          the copy options, null means the defaults
+     *
+     * @throws NullPointerException if source or destination is {@code null}
+     * @throws IOException          if source or destination is invalid
+     * @throws IOException          if an IO error occurs during copying
+     * @throws IOException          if the output file length is not the same as the input file length after the copy
+     * completes
+     * @see #copyFile(File, File, boolean)
+     * @since 2.6
+     */
+    public static void copyFile(final File srcFile, final File destFile,
+                                final boolean preserveFileDate, final FileCopyOptions options) throws IOException {
         checkFileRequirements(srcFile, destFile);
         if (srcFile.isDirectory()) {
             throw new IOException("Source '" + srcFile + "' exists but is a directory");
@@ -1085,7 +1212,7 @@ public class FileUtils {
         if (destFile.exists() && destFile.canWrite() == false) {
             throw new IOException("Destination '" + destFile + "' exists but is read-only");
         }
-        doCopyFile(srcFile, destFile, preserveFileDate);
+        doCopyFile(srcFile, destFile, preserveFileDate, options);
     }
 
     /**
@@ -1121,17 +1248,21 @@ public class FileUtils {
      * @param srcFile          the validated source file, must not be {@code null}
      * @param destFile         the validated destination file, must not be {@code null}
      * @param preserveFileDate whether to preserve the file date
+     * @param options          the copy options, null means the defaults
      * @throws IOException              if an error occurs
      * @throws IOException              if the output file length is not the same as the input file length after the
      * copy completes
      * @throws IllegalArgumentException "Negative size" if the file is truncated so that the size is less than the
      * position
      */
-    private static void doCopyFile(final File srcFile, final File destFile, final boolean preserveFileDate)
+    private static void doCopyFile(final File srcFile, final File destFile, final boolean preserveFileDate,
+                                   final FileCopyOptions options)
             throws IOException {
         if (destFile.exists() && destFile.isDirectory()) {
             throw new IOException("Destination '" + destFile + "' exists but is a directory");
         }
+        final long chunkSize = options == null ? FileCopyOptions.DEFAULT_CHUNK_SIZE : options.getChunkSize();
+        final FileCopyListener listener = options == null ? null : options.getListener();
 
         FileInputStream fis = null;
         FileOutputStream fos = null;
@@ -1147,12 +1278,18 @@ public class FileUtils {
             long count = 0;
             while (pos < size) {
                 final long remain = size - pos;
-                count = remain > FILE_COPY_BUFFER_SIZE ? FILE_COPY_BUFFER_SIZE : remain;
+                count = remain > chunkSize ? chunkSize : remain;
                 final long bytesCopied = output.transferFrom(input, pos, count);
                 if (bytesCopied == 0) { // IO-385 - can happen if file is truncated after caching the size
                     break; // ensure we don't loop forever
                 }
                 pos += bytesCopied;
+                if (listener != null) {
+                    listener.chunkCopied(srcFile, destFile, pos, size);
+                }
+            }
+            if (options != null && options.isSync()) {
+                output.force(true);
             }
         } finally {
             IOUtils.closeQuietly(output, fos, input, fis);
@@ -1365,6 +1502,79 @@ public class FileUtils {
      */
     public static void copyDirectory(final File srcDir, final File destDir,
                                      final FileFilter filter, final boolean preserveFileDate) throws IOException {
+        final List<String> exclusionList = checkDirectoryCopyRequirements(srcDir, destDir, filter);
+        doCopyDirectory(srcDir, destDir, filter, preserveFileDate, exclusionList, null);
+    }
+
+    /**
+     * Copies a filtered directory to a new location, copying the files concurrently.
+     * <p>
+     * This method behaves like {@link #copyDirectory(File, File, FileFilter, boolean)},
+     * except that only the directory tree is walked and created on the calling thread,
+     * in order. The files themselves are copied by tasks run on the given
+     * <code>executor</code>, so the number of concurrent copies is bounded by the
+     * executor. If the executor rejects a task, the file is copied on the calling thread.
+     * <p>
+     * This method returns once all files have been copied. If copying any file fails,
+     * the remaining files are still copied and all failures are reported together
+     * in an {@link IOExceptionList}.
+     * <p>
+     * <strong>Note:</strong> Setting <code>preserveFileDate</code> to
+     * {@code true} tries to preserve the files' last modified
+     * date/times using {@link File#setLastModified(long)}, however it is
+     * not guaranteed that those operations will succeed.
+     * If the modification operation fails, no indication is provided.
+     * </p>
+     * <h3>Example: Copy using four threads</h3>
+     * <pre>
+     *  ExecutorService executor = Executors.newFixedThreadPool(4);
+     *  try {
+     *      FileUtils.copyDirectory(srcDir, destDir, null, true, executor);
+     *  } finally {
+     *      executor.shutdown();
+     *  }
+     *  </pre>
+     *
+     * @param srcDir           an existing directory to copy, must not be {@code null}
+     * @param destDir          the new directory, must not be {@code null}
+     * @param filter           the filter to apply, null means copy all directories and files
+     * @param preserveFileDate true if the file date of the copy
+     *                         should be the same as the original
+     * @param executor         the executor to copy the files with, must not be {@code null}
+     *
+     * @throws NullPointerException if source, destination or executor is {@code null}
+     * @throws IOException          if source or destination is invalid
+     * @throws IOExceptionList      if IO errors occur during copying
+     * @throws java.io.InterruptedIOException if the calling thread is interrupted while waiting for the copies
+     * @since 2.6
+     */
+    public static void copyDirectory(final File srcDir, final File destDir, final FileFilter filter,
+                                     final boolean preserveFileDate, final Executor executor) throws IOException {
+        if (executor == null) {
+            throw new NullPointerException("Executor must not be null");
+        }
+        final List<String> exclusionList = checkDirectoryCopyRequirements(srcDir, destDir, filter);
+        final ConcurrentFileCopy concurrentCopy = new ConcurrentFileCopy(executor);
+        try {
+            doCopyDirectory(srcDir, destDir, filter, preserveFileDate, exclusionList, concurrentCopy);
+        } catch (final IOException e) {
+            // stop walking, but still wait for the copies already started
+            concurrentCopy.addFailure(e);
+        }
+        concurrentCopy.await();
+    }
+
+    /**
+     * Checks the requirements for a directory copy.
+     *
+     * @param srcDir  the source directory
+     * @param destDir the destination directory
+     * @param filter  the filter to apply, null means copy all directories and files
+     * @return the list of files and directories to exclude from the copy, may be null
+     * @throws IOException if source or destination is invalid
+     */
+    private static List<String> checkDirectoryCopyRequirements(final File srcDir, final File destDir,
+                                                               final FileFilter filter) throws IOException {
         checkFileRequirements(srcDir, destDir);
         if (!srcDir.isDirectory()) {
             throw new IOException("Source '" + srcDir + "' exists but is not a directory");
@@ -1385,7 +1595,7 @@ public class FileUtils {
                 }
             }
         }
-        doCopyDirectory(srcDir, destDir, filter, preserveFileDate, exclusionList);
+        return exclusionList;
     }
 
     /**
@@ -1414,11 +1624,13 @@ public class FileUtils {
      * @param filter           the filter to apply, null means copy all directories and files
      * @param preserveFileDate whether to preserve the file date
      * @param exclusionList    List of files and directories to exclude from the copy, may be null
+     * @param concurrentCopy   the concurrent copy to hand the files to, null to copy them on this thread
      * @throws IOException if an error occurs
      * @since 1.1
      */
     private static void doCopyDirectory(final File srcDir, final File destDir, final FileFilter filter,
-                                        final boolean preserveFileDate, final List<String> exclusionList)
+                                        final boolean preserveFileDate, final List<String> exclusionList,
+                                        final ConcurrentFileCopy concurrentCopy)
             throws IOException {
         // recurse
         final File[] srcFiles = filter == null ? srcDir.listFiles() : srcDir.listFiles(filter);
@@ -1441,16 +1653,91 @@ public class FileUtils {
             final File dstFile = new File(destDir, srcFile.getName());
             if (exclusionList == null || !exclusionList.contains(srcFile.getCanonicalPath())) {
                 if (srcFile.isDirectory()) {
-                    doCopyDirectory(srcFile, dstFile, filter, preserveFileDate, exclusionList);
+                    doCopyDirectory(srcFile, dstFile, filter, preserveFileDate, exclusionList, concurrentCopy);
+                } else if (concurrentCopy == null) {
+                    doCopyFile(srcFile, dstFile, preserveFileDate, null);
                 } else {
-                    doCopyFile(srcFile, dstFile, preserveFileDate);
+                    concurrentCopy.copyFile(srcFile, dstFile, preserveFileDate);
                 }
             }
         }
 
         // Do this last, as the above has probably affected directory metadata
         if (preserveFileDate) {
-            destDir.setLastModified(srcDir.lastModified());
+            if (concurrentCopy == null) {
+                destDir.setLastModified(srcDir.lastModified());
+            } else {
+                concurrentCopy.setLastModified(destDir, srcDir.lastModified());
+            }
+        }
+    }
+
+    /**
+     * Tracks the file copies started by {@link #copyDirectory(File, File, FileFilter, boolean, Executor)}.
+     * <p>
+     * Directory dates are only applied once all copies have finished, as the copies
+     * probably affect the directory metadata.
+     */
+    private static final class ConcurrentFileCopy {
+
+        private final Executor executor;
+
+        private final List<Future<?>> copies = new ArrayList<Future<?>>();
+
+        private final List<File> directories = new ArrayList<File>();
+
+        private final List<Long> lastModifieds = new ArrayList<Long>();
+
+        private final List<Throwable> failures = new ArrayList<Throwable>();
+
+        ConcurrentFileCopy(final Executor executor) {
+            this.executor = executor;
+        }
+
+        void copyFile(final File srcFile, final File destFile, final boolean preserveFileDate) {
+            final FutureTask<Void> copy = new FutureTask<Void>(new Callable<Void>() {
+                public Void call() throws IOException {
+                    doCopyFile(srcFile, destFile, preserveFileDate, null);
+                    return null;
+                }
+            });
+            copies.add(copy);
+            try {
+                executor.execute(copy);
+            } catch (final RejectedExecutionException e) {
+                copy.run();
+            }
+        }
+
+        void setLastModified(final File directory, final long lastModified) {
+            directories.add(directory);
+            lastModifieds.add(Long.valueOf(lastModified));
+        }
+
+        void addFailure(final Throwable failure) {
+            failures.add(failure);
+        }
+
+        void await() throws IOException {
+            for (int i = 0; i < copies.size(); i++) {
+                try {
+                    copies.get(i).get();
+                } catch (final ExecutionException e) {
+                    failures.add(e.getCause());
+                } catch (final InterruptedException e) {
+                    for (final Future<?> copy : copies.subList(i, copies.size())) {
+                        copy.cancel(true);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while copying files");
+                }
+            }
+            for (int i = 0; i < directories.size(); i++) {
+                directories.get(i).setLastModified(lastModifieds.get(i).longValue());
+            }
+            if (!failures.isEmpty()) {
+                throw new IOExceptionList(failures);
+            }
         }
     }
 
@@ -1813,7 +2100,7 @@ public class FileUtils {
         InputStream in = null;
         try {
             in = openInputStream(file);
-            return IOUtils.toByteArray(in); // Do NOT use file.length() - see IO-453
+            return IOUtils.toByteArray(in); // sized from the channel, but only as a hint - see IO-453
         } finally {
             IOUtils.closeQuietly(in);
         }
@@ -2638,6 +2925,152 @@ public class FileUtils {
         return sizeOfDirectoryBig0(directory);
     }
 
+    /**
+     * Counts the size, files and subdirectories of a directory recursively, listing the
+     * subdirectories concurrently.
+     * <p>
+     * Each directory is listed by a task run on the given <code>executor</code>, which
+     * hands each of its subdirectories to the executor in turn, so sibling subtrees are
+     * walked in parallel. This pays off on file systems with a high latency per call,
+     * such as network file systems. If the executor rejects a task, the directory is
+     * listed on the calling thread.
+     * <p>
+     * On Java 7 and later, whether an entry is a symbolic link, whether it is a
+     * directory and its size are read with a single attributes call per entry, instead
+     * of one call for each.
+     *
+     * @param directory directory to inspect, must not be {@code null}
+     * @param executor  the executor to list the directories with, must not be {@code null}
+     * @return the totals for the directory, all 0 if directory is security restricted.
+     * @throws NullPointerException if the directory or executor is {@code null}
+     * @throws IllegalArgumentException if the directory does not exist or is not a directory
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting
+     * @since 2.6
+     */
+    public static DirectorySize sizeOfDirectory(final File directory, final Executor executor)
+            throws InterruptedIOException {
+        if (executor == null) {
+            throw new NullPointerException("Executor must not be null");
+        }
+        checkDirectory(directory);
+        return new ConcurrentDirectorySize(executor).compute(directory);
+    }
+
+    /**
+     * Gathers the totals for {@link #sizeOfDirectory(File, Executor)}.
+     */
+    private static final class ConcurrentDirectorySize {
+
+        private final Executor executor;
+
+        private final Object lock = new Object();
+
+        private int pending;
+
+        private BigInteger size = BigInteger.ZERO;
+
+        private long fileCount;
+
+        private long directoryCount;
+
+        private RuntimeException failure;
+
+        ConcurrentDirectorySize(final Executor executor) {
+            this.executor = executor;
+        }
+
+        DirectorySize compute(final File directory) throws InterruptedIOException {
+            submit(directory);
+            synchronized (lock) {
+                while (pending > 0) {
+                    try {
+                        lock.wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while sizing " + directory);
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return new DirectorySize(size, fileCount, directoryCount);
+            }
+        }
+
+        private void submit(final File directory) {
+            synchronized (lock) {
+                pending++;
+            }
+            final Runnable task = new Runnable() {
+                public void run() {
+                    visit(directory);
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (final RejectedExecutionException e) {
+                task.run();
+            }
+        }
+
+        private void visit(final File directory) {
+            long directorySize = 0;
+            int files = 0;
+            int directories = 0;
+            RuntimeException error = null;
+            try {
+                final File[] entries = directory.listFiles();
+                if (entries != null) {  // null if security restricted
+                    final boolean readAttributes = Java7Support.isAtLeastJava7();
+                    for (final File entry : entries) {
+                        final boolean isDirectory;
+                        final long length;
+                        try {
+                            if (readAttributes) {
+                                final Object attributes = Java7Support.readAttributesNoFollowLinks(entry);
+                                if (Java7Support.isSymbolicLink(attributes)) {
+                                    continue;
+                                }
+                                isDirectory = Java7Support.isDirectory(attributes);
+                                length = isDirectory ? 0 : Java7Support.size(attributes);
+                            } else {
+                                if (isSymlink(entry)) {
+                                    continue;
+                                }
+                                isDirectory = entry.isDirectory();
+                                length = isDirectory ? 0 : entry.length();
+                            }
+                        } catch (final IOException ioe) {
+                            // Ignore entries whose attributes or symlink status cannot be read.
+                            continue;
+                        }
+                        if (isDirectory) {
+                            directories++;
+                            submit(entry);
+                        } else {
+                            files++;
+                            directorySize += length;
+                        }
+                    }
+                }
+            } catch (final RuntimeException e) {
+                error = e;
+            } finally {
+                synchronized (lock) {
+                    size = size.add(BigInteger.valueOf(directorySize));
+                    fileCount += files;
+                    directoryCount += directories;
+                    if (error != null && failure == null) {
+                        failure = error;
+                    }
+                    if (--pending == 0) {
+                        lock.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
     // Must be called with a directory
 
     /**
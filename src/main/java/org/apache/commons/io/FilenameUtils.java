@@ -20,7 +20,6 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Stack;
 
 /**
  * General filename and filepath manipulation utilities.
@@ -1273,7 +1272,6 @@ public class FilenameUtils {
      * wildcardMatch("c.txt", "*.???")      --&gt; true
      * wildcardMatch("c.txt", "*.????")     --&gt; false
      * </pre>
-     * N.B. the sequence "*?" does not work properly at present in match strings.
      *
      * @param filename  the filename to match on
      * @param wildcardMatcher  the wildcard string to match against
@@ -1299,7 +1297,6 @@ public class FilenameUtils {
      * wildcardMatch("c.txt", "*.???")      --&gt; true
      * wildcardMatch("c.txt", "*.????")     --&gt; false
      * </pre>
-     * N.B. the sequence "*?" does not work properly at present in match strings.
      *
      * @param filename  the filename to match on
      * @param wildcardMatcher  the wildcard string to match against
@@ -1316,7 +1313,8 @@ public class FilenameUtils {
      * <p>
      * The wildcard matcher uses the characters '?' and '*' to represent a
      * single or multiple (zero or more) wildcard characters.
-     * N.B. the sequence "*?" does not work properly at present in match strings.
+     * To match many filenames against the same wildcard, {@link WildcardMatcher#compile(String, IOCase)
+     * compile} it once instead.
      *
      * @param filename  the filename to match on
      * @param wildcardMatcher  the wildcard string to match against
@@ -1331,79 +1329,7 @@ public class FilenameUtils {
         if (filename == null || wildcardMatcher == null) {
             return false;
         }
-        if (caseSensitivity == null) {
-            caseSensitivity = IOCase.SENSITIVE;
-        }
-        final String[] wcs = splitOnTokens(wildcardMatcher);
-        boolean anyChars = false;
-        int textIdx = 0;
-        int wcsIdx = 0;
-        final Stack<int[]> backtrack = new Stack<int[]>();
-
-        // loop around a backtrack stack, to handle complex * matching
-        do {
-            if (backtrack.size() > 0) {
-                final int[] array = backtrack.pop();
-                wcsIdx = array[0];
-                textIdx = array[1];
-                anyChars = true;
-            }
-
-            // loop whilst tokens and text left to process
-            while (wcsIdx < wcs.length) {
-
-                if (wcs[wcsIdx].equals("?")) {
-                    // ? so move to next text char
-                    textIdx++;
-                    if (textIdx > filename.length()) {
-                        break;
-                    }
-                    anyChars = false;
-
-                } else if (wcs[wcsIdx].equals("*")) {
-                    // set any chars status
-                    anyChars = true;
-                    if (wcsIdx == wcs.length - 1) {
-                        textIdx = filename.length();
-                    }
-
-                } else {
-                    // matching text token
-                    if (anyChars) {
-                        // any chars then try to locate text token
-                        textIdx = caseSensitivity.checkIndexOf(filename, textIdx, wcs[wcsIdx]);
-                        if (textIdx == NOT_FOUND) {
-                            // token not found
-                            break;
-                        }
-                        final int repeat = caseSensitivity.checkIndexOf(filename, textIdx + 1, wcs[wcsIdx]);
-                        if (repeat >= 0) {
-                            backtrack.push(new int[] {wcsIdx, repeat});
-                        }
-                    } else {
-                        // matching from current position
-                        if (!caseSensitivity.checkRegionMatches(filename, textIdx, wcs[wcsIdx])) {
-                            // couldnt match token
-                            break;
-                        }
-                    }
-
-                    // matched text token, move text index to end of matched token
-                    textIdx += wcs[wcsIdx].length();
-                    anyChars = false;
-                }
-
-                wcsIdx++;
-            }
-
-            // full match
-            if (wcsIdx == wcs.length && textIdx == filename.length()) {
-                return true;
-            }
-
-        } while (backtrack.size() > 0);
-
-        return false;
+        return WildcardMatcher.compile(wildcardMatcher, caseSensitivity).matches(filename);
     }
 
     /**
@@ -1415,7 +1341,7 @@ public class FilenameUtils {
      * @return the array of tokens, never null
      */
     static String[] splitOnTokens(final String text) {
-        // used by wildcardMatch
+        // formerly used by wildcardMatch, now compiled by WildcardMatcher
         // package level so a unit test may run on this
 
         if (text.indexOf('?') == NOT_FOUND && text.indexOf('*') == NOT_FOUND) {
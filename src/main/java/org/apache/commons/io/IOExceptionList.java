@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An IOException based on a list of Throwable causes.
+ * <p>
+ * The first exception in the list is used as this exception's cause and is accessible with the usual
+ * {@link #getCause()} while the complete list is accessible with {@link #getCauseList()}.
+ * </p>
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public class IOExceptionList extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Throwable> causeList;
+
+    /**
+     * Creates a new exception caused by a list of exceptions.
+     *
+     * @param causeList a list of cause exceptions, may be null.
+     */
+    public IOExceptionList(final List<? extends Throwable> causeList) {
+        super(toMessage(causeList), causeList == null || causeList.isEmpty() ? null : causeList.get(0));
+        this.causeList = causeList == null ? Collections.<Throwable>emptyList()
+                : Collections.unmodifiableList(new ArrayList<Throwable>(causeList));
+    }
+
+    private static String toMessage(final List<? extends Throwable> causeList) {
+        final int size = causeList == null ? 0 : causeList.size();
+        final StringBuilder message = new StringBuilder();
+        message.append(size).append(size == 1 ? " exception" : " exceptions");
+        if (size > 0) {
+            message.append(", first: ").append(causeList.get(0));
+        }
+        return message.toString();
+    }
+
+    /**
+     * Gets the cause list.
+     *
+     * @return The list of causes, never null.
+     */
+    public List<Throwable> getCauseList() {
+        return causeList;
+    }
+
+    /**
+     * Gets the cause exception at the given index.
+     *
+     * @param index index in the cause list.
+     * @return The cause at the given index.
+     */
+    public Throwable getCause(final int index) {
+        return causeList.get(index);
+    }
+
+}
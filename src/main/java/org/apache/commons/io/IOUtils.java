@@ -25,6 +25,8 @@ import java.io.CharArrayWriter;
 import java.io.Closeable;
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -40,15 +42,19 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
 import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
-import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.io.output.StringBuilderWriter;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 
 /**
  * General IO stream manipulation utilities.
@@ -150,6 +156,24 @@ public class IOUtils {
      */
     private static final int DEFAULT_BUFFER_SIZE = 1024 * 4;
 
+    /**
+     * The largest content length ({@value}) reported by a <code>URLConnection</code>
+     * which is allocated up front by {@link #toByteArray(URLConnection)}; the reported
+     * length comes from a remote server and may overstate the content.
+     */
+    private static final int MAX_CONTENT_LENGTH_HINT = 1024 * 1024;
+
+    /**
+     * The pool of scratch buffers, by default one buffer of each type per thread.
+     */
+    private static volatile BufferPool bufferPool = BufferPool.threadLocal(DEFAULT_BUFFER_SIZE);
+
+    /**
+     * The maximum number of bytes ({@value}) requested by a single channel transfer in
+     * {@link #copy(ReadableByteChannel, WritableByteChannel)}.
+     */
+    private static final long DEFAULT_TRANSFER_SIZE = 1024 * 1024 * 8;
+
     /**
      * The default buffer size to use for the skip() methods.
      */
@@ -176,6 +200,43 @@ public class IOUtils {
         super();
     }
 
+    // buffer pool
+    //-----------------------------------------------------------------------
+
+    /**
+     * Returns the pool that supplies the scratch buffers of the methods that
+     * do not take a buffer or buffer size, such as {@link #copyLarge(InputStream, OutputStream)},
+     * {@link #copyLarge(Reader, Writer)} and {@link #contentEquals(InputStream, InputStream)}.
+     * <p>
+     * The default pool keeps one 4K buffer of each type per thread.
+     *
+     * @return the buffer pool
+     * @since 2.6
+     */
+    public static BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Sets the pool that supplies the scratch buffers of the methods that
+     * do not take a buffer or buffer size.
+     * <p>
+     * For example, <code>IOUtils.setBufferPool(BufferPool.unpooled(8192))</code>
+     * allocates a new 8K buffer for every operation, and
+     * <code>IOUtils.setBufferPool(BufferPool.bounded(4096, 64))</code> shares
+     * up to 64 buffers of each type between all threads.
+     *
+     * @param pool the buffer pool, must not be null
+     * @throws NullPointerException if the pool is null
+     * @since 2.6
+     */
+    public static void setBufferPool(final BufferPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("Buffer pool must not be null");
+        }
+        bufferPool = pool;
+    }
+
     //-----------------------------------------------------------------------
 
     /**
@@ -516,7 +577,7 @@ public class IOUtils {
      * @since 2.0
      */
     public static InputStream toBufferedInputStream(final InputStream input) throws IOException {
-        return ByteArrayOutputStream.toBufferedInputStream(input);
+        return UnsynchronizedByteArrayOutputStream.toBufferedInputStream(input);
     }
 
     /**
@@ -542,7 +603,7 @@ public class IOUtils {
      * @since 2.5
      */
     public static InputStream toBufferedInputStream(final InputStream input, int size) throws IOException {
-        return ByteArrayOutputStream.toBufferedInputStream(input, size);
+        return UnsynchronizedByteArrayOutputStream.toBufferedInputStream(input, size);
     }
 
     /**
@@ -710,6 +771,11 @@ public class IOUtils {
      * <p>
      * This method buffers the input internally, so there is no need to use a
      * <code>BufferedInputStream</code>.
+     * <p>
+     * When the number of remaining bytes can be estimated, as for a
+     * <code>FileInputStream</code> (from its channel) or a <code>ByteArrayInputStream</code>,
+     * the input is read straight into an array of that size. The estimate is only a hint:
+     * the result always holds exactly the bytes read up to the end of the stream.
      *
      * @param input the <code>InputStream</code> to read from
      * @return the requested byte array
@@ -717,7 +783,56 @@ public class IOUtils {
      * @throws IOException          if an I/O error occurs
      */
     public static byte[] toByteArray(final InputStream input) throws IOException {
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        return readToByteArray(input, sizeHint(input));
+    }
+
+    /**
+     * Estimates the number of bytes remaining in a stream.
+     *
+     * @return the estimate, or -1 if unknown
+     */
+    private static long sizeHint(final InputStream input) throws IOException {
+        if (input instanceof FileInputStream) {
+            final FileChannel channel = ((FileInputStream) input).getChannel();
+            final long position = transferPosition(channel);
+            return position < 0 ? -1 : channel.size() - position;
+        }
+        if (input instanceof ByteArrayInputStream) {
+            return input.available();
+        }
+        return -1;
+    }
+
+    /**
+     * Reads a stream to its end, sizing the result with the given hint.
+     * <p>
+     * With a positive hint, the stream is read into an array of that size, which is
+     * returned as is when the stream ends exactly there, and truncated when it ends
+     * earlier. The bytes found beyond the hint, and streams without a usable hint,
+     * are collected with an <code>UnsynchronizedByteArrayOutputStream</code>.
+     *
+     * @param input the <code>InputStream</code> to read from
+     * @param sizeHint the expected number of bytes, zero or negative if unknown
+     * @return the requested byte array
+     */
+    private static byte[] readToByteArray(final InputStream input, final long sizeHint) throws IOException {
+        final UnsynchronizedByteArrayOutputStream output;
+        if (sizeHint > 0 && sizeHint < Integer.MAX_VALUE) {
+            final byte[] data = new byte[(int) sizeHint];
+            final int count = read(input, data);
+            if (count < data.length) {
+                return Arrays.copyOf(data, count);
+            }
+            final int next = input.read();
+            if (EOF == next) {
+                return data;
+            }
+            output = new UnsynchronizedByteArrayOutputStream();
+            output.write(data);
+            output.write(next);
+        } else {
+            output = new UnsynchronizedByteArrayOutputStream();
+        }
         copy(input, output);
         return output.toByteArray();
     }
@@ -819,7 +934,7 @@ public class IOUtils {
      * @since 2.3
      */
     public static byte[] toByteArray(final Reader input, final Charset encoding) throws IOException {
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final UnsynchronizedByteArrayOutputStream output = new UnsynchronizedByteArrayOutputStream();
         copy(input, output, encoding);
         return output.toByteArray();
     }
@@ -899,6 +1014,11 @@ public class IOUtils {
 
     /**
      * Gets the contents of a <code>URLConnection</code> as a <code>byte[]</code>.
+     * <p>
+     * The content length reported by the connection, if any, is used to size the
+     * result, see {@link #toByteArray(InputStream)}. As the server may overstate it,
+     * at most 1MB is allocated up front; longer contents are then read into a
+     * growing buffer.
      *
      * @param urlConn the <code>URLConnection</code> to read
      * @return the requested byte array
@@ -909,7 +1029,7 @@ public class IOUtils {
     public static byte[] toByteArray(final URLConnection urlConn) throws IOException {
         final InputStream inputStream = urlConn.getInputStream();
         try {
-            return IOUtils.toByteArray(inputStream);
+            return readToByteArray(inputStream, Math.min(urlConn.getContentLength(), MAX_CONTENT_LENGTH_HINT));
         } finally {
             inputStream.close();
         }
@@ -2109,7 +2229,10 @@ public class IOUtils {
      * This method buffers the input internally, so there is no need to use a
      * <code>BufferedInputStream</code>.
      * <p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is obtained from the {@link #getBufferPool() buffer pool}.
+     * When copying from a <code>FileInputStream</code> to a <code>FileOutputStream</code>,
+     * the bytes are transferred between the underlying channels instead, see
+     * {@link #copy(ReadableByteChannel, WritableByteChannel)}.
      *
      * @param input the <code>InputStream</code> to read from
      * @param output the <code>OutputStream</code> to write to
@@ -2120,7 +2243,17 @@ public class IOUtils {
      */
     public static long copyLarge(final InputStream input, final OutputStream output)
             throws IOException {
-        return copy(input, output, DEFAULT_BUFFER_SIZE);
+        // Subclasses may override read or write, so only plain file streams are bypassed
+        if (input.getClass() == FileInputStream.class && output.getClass() == FileOutputStream.class) {
+            return copy(((FileInputStream) input).getChannel(), ((FileOutputStream) output).getChannel());
+        }
+        final BufferPool pool = bufferPool;
+        final byte[] buffer = pool.getByteBuffer();
+        try {
+            return copyLarge(input, output, buffer);
+        } finally {
+            pool.releaseByteBuffer(buffer);
+        }
     }
 
     /**
@@ -2162,7 +2295,7 @@ public class IOUtils {
      * This means that the method may be considerably less efficient than using the actual skip implementation,
      * this is done to guarantee that the correct number of characters are skipped.
      * </p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is obtained from the {@link #getBufferPool() buffer pool}.
      *
      * @param input the <code>InputStream</code> to read from
      * @param output the <code>OutputStream</code> to write to
@@ -2176,7 +2309,13 @@ public class IOUtils {
      */
     public static long copyLarge(final InputStream input, final OutputStream output, final long inputOffset,
                                  final long length) throws IOException {
-        return copyLarge(input, output, inputOffset, length, new byte[DEFAULT_BUFFER_SIZE]);
+        final BufferPool pool = bufferPool;
+        final byte[] buffer = pool.getByteBuffer();
+        try {
+            return copyLarge(input, output, inputOffset, length, buffer);
+        } finally {
+            pool.releaseByteBuffer(buffer);
+        }
     }
 
     /**
@@ -2335,7 +2474,7 @@ public class IOUtils {
      * This method buffers the input internally, so there is no need to use a
      * <code>BufferedReader</code>.
      * <p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is obtained from the {@link #getBufferPool() buffer pool}.
      *
      * @param input the <code>Reader</code> to read from
      * @param output the <code>Writer</code> to write to
@@ -2345,7 +2484,13 @@ public class IOUtils {
      * @since 1.3
      */
     public static long copyLarge(final Reader input, final Writer output) throws IOException {
-        return copyLarge(input, output, new char[DEFAULT_BUFFER_SIZE]);
+        final BufferPool pool = bufferPool;
+        final char[] buffer = pool.getCharBuffer();
+        try {
+            return copyLarge(input, output, buffer);
+        } finally {
+            pool.releaseCharBuffer(buffer);
+        }
     }
 
     /**
@@ -2380,7 +2525,7 @@ public class IOUtils {
      * This method buffers the input internally, so there is no need to use a
      * <code>BufferedReader</code>.
      * <p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is obtained from the {@link #getBufferPool() buffer pool}.
      *
      * @param input the <code>Reader</code> to read from
      * @param output the <code>Writer</code> to write to
@@ -2394,7 +2539,13 @@ public class IOUtils {
      */
     public static long copyLarge(final Reader input, final Writer output, final long inputOffset, final long length)
             throws IOException {
-        return copyLarge(input, output, inputOffset, length, new char[DEFAULT_BUFFER_SIZE]);
+        final BufferPool pool = bufferPool;
+        final char[] buffer = pool.getCharBuffer();
+        try {
+            return copyLarge(input, output, inputOffset, length, buffer);
+        } finally {
+            pool.releaseCharBuffer(buffer);
+        }
     }
 
     /**
@@ -2531,6 +2682,119 @@ public class IOUtils {
         copy(input, output, Charsets.toCharset(outputEncoding));
     }
 
+    // copy from ReadableByteChannel
+    //-----------------------------------------------------------------------
+
+    /**
+     * Copies all remaining bytes from a <code>ReadableByteChannel</code> to a
+     * <code>WritableByteChannel</code>.
+     * <p>
+     * When the input is a <code>FileChannel</code>, the bytes up to its current size are
+     * transferred with {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+     * which lets the operating system copy them without passing through the Java heap.
+     * When only the output is a <code>FileChannel</code> and the input is blocking,
+     * {@link FileChannel#transferFrom(ReadableByteChannel, long, long)} is used. Anything
+     * else, including bytes appended to the input file during the transfer, is copied
+     * through a buffer obtained from the {@link #getBufferPool() buffer pool}.
+     * <p>
+     * Both channels are left at the position following the copied bytes, and neither is
+     * closed. The channels should be in blocking mode.
+     *
+     * @param input the channel to read from
+     * @param output the channel to write to
+     * @return the number of bytes copied
+     * @throws NullPointerException if the input or output is null
+     * @throws IOException          if an I/O error occurs
+     * @since 2.6
+     */
+    public static long copy(final ReadableByteChannel input, final WritableByteChannel output)
+            throws IOException {
+        long count = 0;
+        if (input instanceof FileChannel) {
+            final long position = transferPosition((FileChannel) input);
+            if (position >= 0) {
+                count = transferTo((FileChannel) input, position, output);
+            }
+        } else if (output instanceof FileChannel && isBlocking(input)) {
+            final long position = transferPosition((FileChannel) output);
+            if (position >= 0) {
+                return transferFrom(input, (FileChannel) output, position);
+            }
+        }
+        final BufferPool pool = bufferPool;
+        final byte[] buffer = pool.getByteBuffer();
+        try {
+            final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            int n;
+            while (EOF != (n = input.read(byteBuffer))) {
+                byteBuffer.flip();
+                while (byteBuffer.hasRemaining()) {
+                    output.write(byteBuffer);
+                }
+                byteBuffer.clear();
+                count += n;
+            }
+            return count;
+        } finally {
+            pool.releaseByteBuffer(buffer);
+        }
+    }
+
+    /**
+     * Returns the position of a file channel if bytes can be transferred from or to it there.
+     * The channel of a pipe or a device cannot tell its position, and typically has a size of
+     * zero; a transfer to a position beyond the size of a file transfers nothing.
+     *
+     * @return the position, or -1 if the channel cannot seek or is positioned beyond its size
+     */
+    private static long transferPosition(final FileChannel channel) {
+        try {
+            final long size = channel.size();
+            final long position = channel.position();
+            return position <= size ? position : -1;
+        } catch (final IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Transfers the bytes from the given position of a file channel up to its size.
+     */
+    private static long transferTo(final FileChannel input, final long start, final WritableByteChannel output)
+            throws IOException {
+        final long size = input.size();
+        long position = start;
+        while (position < size) {
+            final long n = input.transferTo(position, size - position, output);
+            if (n <= 0) {
+                break; // copy the rest through a buffer
+            }
+            position += n;
+        }
+        input.position(position);
+        return position - start;
+    }
+
+    /**
+     * Transfers all bytes of a blocking channel to a file channel, for which a
+     * transfer of zero bytes marks the end of the input, from the given position of the
+     * file channel, which must not be beyond its size.
+     */
+    private static long transferFrom(final ReadableByteChannel input, final FileChannel output, final long start)
+            throws IOException {
+        long position = start;
+        long n;
+        while ((n = output.transferFrom(input, position, DEFAULT_TRANSFER_SIZE)) > 0) {
+            position += n;
+        }
+        output.position(position);
+        return position - start;
+    }
+
+    private static boolean isBlocking(final ReadableByteChannel channel) {
+        return !(channel instanceof SelectableChannel) || ((SelectableChannel) channel).isBlocking();
+    }
+
     // content equals
     //-----------------------------------------------------------------------
 
@@ -2538,8 +2802,9 @@ public class IOUtils {
      * Compares the contents of two Streams to determine if they are equal or
      * not.
      * <p>
-     * This method buffers the input internally using
-     * <code>BufferedInputStream</code> if they are not already buffered.
+     * This method buffers the input internally, reading both streams a block
+     * at a time and comparing the blocks, so there is no need to use a
+     * <code>BufferedInputStream</code>.
      *
      * @param input1 the first stream
      * @param input2 the second stream
@@ -2548,29 +2813,66 @@ public class IOUtils {
      * @throws NullPointerException if either input is null
      * @throws IOException          if an I/O error occurs
      */
-    public static boolean contentEquals(InputStream input1, InputStream input2)
+    public static boolean contentEquals(final InputStream input1, final InputStream input2)
             throws IOException {
         if (input1 == input2) {
             return true;
         }
-        if (!(input1 instanceof BufferedInputStream)) {
-            input1 = new BufferedInputStream(input1);
-        }
-        if (!(input2 instanceof BufferedInputStream)) {
-            input2 = new BufferedInputStream(input2);
+        final BufferPool pool = bufferPool;
+        final byte[] buffer1 = pool.getByteBuffer();
+        final byte[] buffer2 = pool.getByteBuffer();
+        try {
+            return contentEquals(input1, input2, buffer1, buffer2);
+        } finally {
+            pool.releaseByteBuffer(buffer2);
+            pool.releaseByteBuffer(buffer1);
         }
+    }
 
-        int ch = input1.read();
-        while (EOF != ch) {
-            final int ch2 = input2.read();
-            if (ch != ch2) {
+    /**
+     * Compares the contents of two Streams to determine if they are equal or
+     * not, using the given buffers.
+     * <p>
+     * This method fills both buffers from their streams and compares them a
+     * block at a time, returning as soon as a difference is found. The buffers
+     * must have the same length; applications can re-use them across calls.
+     *
+     * @param input1 the first stream
+     * @param input2 the second stream
+     * @param buffer1 the buffer to use for the first stream
+     * @param buffer2 the buffer to use for the second stream
+     * @return true if the content of the streams are equal or they both don't
+     * exist, false otherwise
+     * @throws NullPointerException if either input or buffer is null
+     * @throws IllegalArgumentException if the buffers are empty or differ in length
+     * @throws IOException          if an I/O error occurs
+     * @since 2.6
+     */
+    public static boolean contentEquals(final InputStream input1, final InputStream input2,
+                                        final byte[] buffer1, final byte[] buffer2)
+            throws IOException {
+        if (buffer1.length == 0 || buffer1.length != buffer2.length) {
+            throw new IllegalArgumentException("Buffers must have the same non-zero length: "
+                    + buffer1.length + " != " + buffer2.length);
+        }
+        if (input1 == input2) {
+            return true;
+        }
+        while (true) {
+            final int n1 = read(input1, buffer1, 0, buffer1.length);
+            final int n2 = read(input2, buffer2, 0, buffer2.length);
+            if (n1 != n2) {
                 return false;
             }
-            ch = input1.read();
+            if (n1 == 0) {
+                return true;
+            }
+            for (int i = 0; i < n1; i++) {
+                if (buffer1[i] != buffer2[i]) {
+                    return false;
+                }
+            }
         }
-
-        final int ch2 = input2.read();
-        return ch2 == EOF;
     }
 
     /**
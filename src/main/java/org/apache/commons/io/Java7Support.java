@@ -48,8 +48,22 @@ class Java7Support {
 
     private static Method createSymlink;
 
+    private static Method readAttributes;
+
+    private static Method fileKey;
+
+    private static Method isSymbolicLinkAttribute;
+
+    private static Method isDirectoryAttribute;
+
+    private static Method sizeAttribute;
+
+    private static Class<?> basicFileAttributes;
+
     private static Object emptyLinkOpts;
 
+    private static Object noFollowLinkOpts;
+
     private static Object emptyFileAttributes;
 
     static {
@@ -70,6 +84,18 @@ class Java7Support {
             exists = files.getMethod("exists", path, emptyLinkOpts.getClass());
             toPath = File.class.getMethod("toPath");
             toFile = path.getMethod("toFile");
+            basicFileAttributes = cl.loadClass("java.nio.file.attribute.BasicFileAttributes");
+            readAttributes = files.getMethod("readAttributes", path, Class.class, emptyLinkOpts.getClass());
+            fileKey = basicFileAttributes.getMethod("fileKey");
+            isSymbolicLinkAttribute = basicFileAttributes.getMethod("isSymbolicLink");
+            isDirectoryAttribute = basicFileAttributes.getMethod("isDirectory");
+            sizeAttribute = basicFileAttributes.getMethod("size");
+            noFollowLinkOpts = Array.newInstance(linkOption, 1);
+            for (Object option : linkOption.getEnumConstants()) {
+                if ("NOFOLLOW_LINKS".equals(option.toString())) {
+                    Array.set(noFollowLinkOpts, 0, option);
+                }
+            }
         } catch (ClassNotFoundException e) {
             isJava7x = false;
         } catch (NoSuchMethodException e) {
@@ -179,6 +205,87 @@ class Java7Support {
         }
     }
 
+    /**
+     * Returns the java7 file key of a file, which identifies the underlying
+     * file independently of the path used to reach it (for example via a hard link).
+     *
+     * @param file The file
+     * @return the file key, or null if the file system does not provide one
+     * @throws IOException upon error
+     */
+    public static Object fileKey(File file)
+            throws IOException {
+        try {
+            Object path = toPath.invoke(file);
+            Object attributes = readAttributes.invoke(null, path, basicFileAttributes, emptyLinkOpts);
+            return fileKey.invoke(attributes);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (IOException) e.getTargetException();
+        }
+    }
+
+    /**
+     * Reads the java7 basic attributes of a file in one call, not following a symbolic link.
+     *
+     * @param file The file
+     * @return the attributes, to pass to {@link #isSymbolicLink(Object)}, {@link #isDirectory(Object)}
+     * and {@link #size(Object)}
+     * @throws IOException upon error
+     */
+    public static Object readAttributesNoFollowLinks(File file)
+            throws IOException {
+        try {
+            Object path = toPath.invoke(file);
+            return readAttributes.invoke(null, path, basicFileAttributes, noFollowLinkOpts);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw (IOException) e.getTargetException();
+        }
+    }
+
+    /**
+     * Indicates if java7 basic attributes are those of a symbolic link.
+     *
+     * @param attributes The attributes read by {@link #readAttributesNoFollowLinks(File)}
+     * @return true if the file is a symbolic link
+     */
+    public static boolean isSymbolicLink(Object attributes) {
+        return ((Boolean) invokeAttribute(isSymbolicLinkAttribute, attributes)).booleanValue();
+    }
+
+    /**
+     * Indicates if java7 basic attributes are those of a directory.
+     *
+     * @param attributes The attributes read by {@link #readAttributesNoFollowLinks(File)}
+     * @return true if the file is a directory
+     */
+    public static boolean isDirectory(Object attributes) {
+        return ((Boolean) invokeAttribute(isDirectoryAttribute, attributes)).booleanValue();
+    }
+
+    /**
+     * Returns the size in java7 basic attributes.
+     *
+     * @param attributes The attributes read by {@link #readAttributesNoFollowLinks(File)}
+     * @return the size of the file in bytes
+     */
+    public static long size(Object attributes) {
+        return ((Long) invokeAttribute(sizeAttribute, attributes)).longValue();
+    }
+
+    private static Object invokeAttribute(Method attribute, Object attributes) {
+        try {
+            return attribute.invoke(attributes);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getTargetException());
+        }
+    }
+
     /**
      * Indicates if the current vm has java7 lubrary support
      * @return true if java7 library support
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.Serializable;
+
+/**
+ * A wildcard, compiled once to match many names.
+ * <p>
+ * The wildcard uses the characters '?' and '*' to represent a single or
+ * multiple (zero or more) wildcard characters, as
+ * {@link FilenameUtils#wildcardMatch(String, String, IOCase)} does.
+ * <pre>
+ * WildcardMatcher matcher = WildcardMatcher.compile("*.txt");
+ * matcher.matches("c.txt")      --&gt; true
+ * matcher.matches("c.jpg")      --&gt; false
+ * </pre>
+ * <p>
+ * The wildcard is split once into the parts between its '*' characters. A name
+ * then matches if the first part matches its start, the last part its end, and
+ * the other parts are found in order in between, each at the first place it
+ * occurs: a part found further on could only leave less room for the following
+ * parts. Matching thus needs neither backtracking nor memory allocation.
+ * <p>
+ * The parts without '?' are searched for with the Knuth-Morris-Pratt algorithm,
+ * using a failure table computed once per part, in which characters are compared
+ * with the case sensitivity of the matcher. Matching a wildcard whose parts
+ * contain no '?' thus takes time linear in the length of the name. A part
+ * containing '?' is compared at each place in turn, which takes O(n&middot;m)
+ * time in the worst case, for a name of length n and a part of length m.
+ * <p>
+ * Matchers are immutable and thread-safe.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public final class WildcardMatcher implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The wildcard. */
+    private final String wildcard;
+
+    /** The case sensitivity. */
+    private final IOCase caseSensitivity;
+
+    /** Whether the comparison ignores case, resolved from the case sensitivity. */
+    private final boolean ignoreCase;
+
+    /** The parts between the '*' characters, without empty parts. */
+    private final String[] parts;
+
+    /** Whether each part contains '?'. */
+    private final boolean[] anyChar;
+
+    /** The Knuth-Morris-Pratt failure table of each part without '?', null for the others. */
+    private final int[][] failures;
+
+    /** Whether the wildcard starts with '*'. */
+    private final boolean leadingStar;
+
+    /** Whether the wildcard ends with '*', or contains nothing but '*'. */
+    private final boolean trailingStar;
+
+    /**
+     * Compiles a case-sensitive wildcard.
+     *
+     * @param wildcard the wildcard
+     * @return the matcher
+     * @throws IllegalArgumentException if the wildcard is null
+     */
+    public static WildcardMatcher compile(final String wildcard) {
+        return compile(wildcard, IOCase.SENSITIVE);
+    }
+
+    /**
+     * Compiles a wildcard.
+     *
+     * @param wildcard the wildcard
+     * @param caseSensitivity what case sensitivity rule to use, null means case-sensitive
+     * @return the matcher
+     * @throws IllegalArgumentException if the wildcard is null
+     */
+    public static WildcardMatcher compile(final String wildcard, final IOCase caseSensitivity) {
+        if (wildcard == null) {
+            throw new IllegalArgumentException("The wildcard must not be null");
+        }
+        return new WildcardMatcher(wildcard, caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity);
+    }
+
+    /**
+     * Compiles a wildcard.
+     *
+     * @param wildcard the wildcard
+     * @param caseSensitivity the case sensitivity
+     */
+    private WildcardMatcher(final String wildcard, final IOCase caseSensitivity) {
+        this.wildcard = wildcard;
+        this.caseSensitivity = caseSensitivity;
+        this.ignoreCase = !caseSensitivity.isCaseSensitive();
+        int count = 0;
+        int start = 0;
+        for (int i = 0; i <= wildcard.length(); i++) {
+            if (i == wildcard.length() || wildcard.charAt(i) == '*') {
+                if (i > start) {
+                    count++;
+                }
+                start = i + 1;
+            }
+        }
+        parts = new String[count];
+        anyChar = new boolean[count];
+        failures = new int[count][];
+        count = 0;
+        start = 0;
+        for (int i = 0; i <= wildcard.length(); i++) {
+            if (i == wildcard.length() || wildcard.charAt(i) == '*') {
+                if (i > start) {
+                    parts[count] = wildcard.substring(start, i);
+                    anyChar[count] = parts[count].indexOf('?') >= 0;
+                    if (!anyChar[count]) {
+                        failures[count] = failureTable(parts[count]);
+                    }
+                    count++;
+                }
+                start = i + 1;
+            }
+        }
+        leadingStar = wildcard.startsWith("*");
+        trailingStar = wildcard.endsWith("*");
+    }
+
+    /**
+     * Returns the wildcard.
+     *
+     * @return the wildcard
+     */
+    public String getWildcard() {
+        return wildcard;
+    }
+
+    /**
+     * Returns the case sensitivity.
+     *
+     * @return the case sensitivity
+     */
+    public IOCase getCaseSensitivity() {
+        return caseSensitivity;
+    }
+
+    /**
+     * Checks whether a name matches the wildcard.
+     *
+     * @param name the name to match, may be null
+     * @return true if the name matches, false if it does not or is null
+     */
+    public boolean matches(final String name) {
+        if (name == null) {
+            return false;
+        }
+        final int length = name.length();
+        if (!leadingStar && !trailingStar && parts.length <= 1) {
+            // no '*' at all
+            return parts.length == 0 ? length == 0 : length == parts[0].length() && regionMatches(name, 0, 0);
+        }
+        int first = 0;
+        int last = parts.length;
+        int position = 0;
+        int end = length;
+        if (!leadingStar) {
+            if (!regionMatches(name, 0, 0)) {
+                return false;
+            }
+            position = parts[0].length();
+            first++;
+        }
+        if (!trailingStar) {
+            last--;
+            end = length - parts[last].length();
+            if (end < position || !regionMatches(name, end, last)) {
+                return false;
+            }
+        }
+        for (int part = first; part < last; part++) {
+            final int found = indexOf(name, position, end, part);
+            if (found < 0) {
+                return false;
+            }
+            position = found + parts[part].length();
+        }
+        return true;
+    }
+
+    /**
+     * Computes the Knuth-Morris-Pratt failure table of a part without '?': the length of
+     * the longest proper prefix of each prefix of the part which is also its suffix.
+     */
+    private int[] failureTable(final String text) {
+        final int[] failure = new int[text.length()];
+        int matched = 0;
+        for (int i = 1; i < text.length(); i++) {
+            while (matched > 0 && !charEquals(text.charAt(matched), text.charAt(i))) {
+                matched = failure[matched - 1];
+            }
+            if (charEquals(text.charAt(matched), text.charAt(i))) {
+                matched++;
+            }
+            failure[i] = matched;
+        }
+        return failure;
+    }
+
+    /**
+     * Finds the first place a part matches, starting at the given position and ending
+     * before the given end.
+     */
+    private int indexOf(final String name, final int position, final int end, final int part) {
+        final String text = parts[part];
+        final int[] failure = failures[part];
+        if (failure != null) {
+            // Knuth-Morris-Pratt: each character of the name is read once
+            int matched = 0;
+            for (int i = position; i < end; i++) {
+                final char actual = name.charAt(i);
+                while (matched > 0 && !charEquals(text.charAt(matched), actual)) {
+                    matched = failure[matched - 1];
+                }
+                if (charEquals(text.charAt(matched), actual)) {
+                    matched++;
+                    if (matched == text.length()) {
+                        return i + 1 - matched;
+                    }
+                }
+            }
+            return -1;
+        }
+        final int last = end - text.length();
+        for (int i = position; i <= last; i++) {
+            if (regionMatches(name, i, part)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a part matches the name at the given position, the name being long enough.
+     */
+    private boolean regionMatches(final String name, final int position, final int part) {
+        final String text = parts[part];
+        final int length = text.length();
+        if (position + length > name.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char expected = text.charAt(i);
+            final char actual = name.charAt(position + i);
+            if (expected != actual && expected != '?' && !(ignoreCase && equalsIgnoreCase(expected, actual))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares characters with the case sensitivity of the matcher.
+     */
+    private boolean charEquals(final char c1, final char c2) {
+        return c1 == c2 || ignoreCase && equalsIgnoreCase(c1, c2);
+    }
+
+    /**
+     * Compares characters ignoring case, as {@link String#regionMatches(boolean, int, String, int, int)} does.
+     */
+    private static boolean equalsIgnoreCase(final char c1, final char c2) {
+        final char u1 = Character.toUpperCase(c1);
+        final char u2 = Character.toUpperCase(c2);
+        return u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2);
+    }
+
+    /**
+     * Returns the wildcard and case sensitivity.
+     *
+     * @return a string representation
+     */
+    @Override
+    public String toString() {
+        return "WildcardMatcher[" + wildcard + ", " + caseSensitivity + "]";
+    }
+
+}
@@ -51,6 +51,23 @@ public abstract class AbstractFileFilter implements IOFileFilter {
         return accept(new File(dir, name));
     }
 
+    /**
+     * Returns how much it costs this filter to check a file, so that
+     * {@link AndFileFilter} and {@link OrFileFilter} can check the cheapest
+     * filters first.
+     * <p>
+     * This implementation returns {@link FileFilterCost#CONTENT}, the cost of
+     * filters which may do anything. Subclasses which only read the name or the
+     * attributes of the file should override it, as should subclasses of such
+     * filters which read more.
+     *
+     * @return the cost of this filter
+     * @since 2.6
+     */
+    public FileFilterCost getCost() {
+        return FileFilterCost.CONTENT;
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
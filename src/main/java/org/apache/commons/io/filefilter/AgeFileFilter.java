@@ -146,6 +146,17 @@ public class AgeFileFilter extends AbstractFileFilter implements Serializable {
         return acceptOlder ? !newer : newer;
     }
 
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter reads the last modified time of the file.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
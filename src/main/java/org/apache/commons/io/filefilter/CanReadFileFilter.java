@@ -92,4 +92,15 @@ public class CanReadFileFilter extends AbstractFileFilter implements Serializabl
         return file.canRead();
     }
 
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter checks the access rights of the file.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
+    }
+
 }
@@ -80,4 +80,15 @@ public class CanWriteFileFilter extends AbstractFileFilter implements Serializab
         return file.canWrite();
     }
 
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter checks the access rights of the file.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
+    }
+
 }
@@ -71,4 +71,15 @@ public class DirectoryFileFilter extends AbstractFileFilter implements Serializa
         return file.isDirectory();
     }
 
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter reads the type of the file.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
+    }
+
 }
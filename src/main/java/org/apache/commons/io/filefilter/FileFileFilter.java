@@ -60,4 +60,15 @@ public class FileFileFilter extends AbstractFileFilter implements Serializable {
         return file.isFile();
     }
 
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter reads the type of the file.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
+    }
+
 }
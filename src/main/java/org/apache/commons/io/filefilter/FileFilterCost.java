@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * How much it costs a file filter to check a file, from the cheapest to the
+ * most expensive.
+ * <p>
+ * {@link AndFileFilter} and {@link OrFileFilter} check their filters from the
+ * cheapest to the most expensive, keeping the order in which they were added
+ * among filters of the same cost, so that a filter checking the name rejects
+ * or accepts a file before a filter reads its attributes or contents.
+ * Filters of unknown cost, such as those not extending {@link AbstractFileFilter},
+ * are taken as the most expensive, and so keep their order.
+ *
+ * @version $Id$
+ * @since 2.6
+ * @see AbstractFileFilter#getCost()
+ */
+public enum FileFilterCost {
+
+    /** The filter only reads the name of the file. */
+    NAME,
+
+    /** The filter reads the attributes of the file, such as its length or type. */
+    STAT,
+
+    /** The filter reads the contents of the file or directory, or its cost is unknown. */
+    CONTENT;
+
+    /** Compares file filters by cost. */
+    private static final Comparator<IOFileFilter> COMPARATOR = new Comparator<IOFileFilter>() {
+        public int compare(final IOFileFilter filter1, final IOFileFilter filter2) {
+            return of(filter1).compareTo(of(filter2));
+        }
+    };
+
+    /**
+     * Returns the cost of a file filter.
+     *
+     * @param filter  the file filter, may be null
+     * @return the cost of an {@link AbstractFileFilter}, {@link #NAME} for
+     *  {@link TrueFileFilter#TRUE} and {@link FalseFileFilter#FALSE}, and
+     *  {@link #CONTENT} for other or null filters
+     */
+    public static FileFilterCost of(final IOFileFilter filter) {
+        if (filter instanceof AbstractFileFilter) {
+            return ((AbstractFileFilter) filter).getCost();
+        }
+        if (filter == TrueFileFilter.TRUE || filter == FalseFileFilter.FALSE) {
+            return NAME;
+        }
+        return CONTENT;
+    }
+
+    /**
+     * Returns the most expensive cost of file filters.
+     *
+     * @param filters  the file filters
+     * @return the most expensive cost, {@link #NAME} if there are no filters
+     */
+    static FileFilterCost max(final List<IOFileFilter> filters) {
+        FileFilterCost max = NAME;
+        for (final IOFileFilter filter : filters) {
+            final FileFilterCost cost = of(filter);
+            if (cost.compareTo(max) > 0) {
+                max = cost;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Sorts file filters from the cheapest to the most expensive, keeping the
+     * order of filters of the same cost.
+     *
+     * @param filters  the file filters
+     * @return the sorted filters
+     */
+    static IOFileFilter[] cheapestFirst(final List<IOFileFilter> filters) {
+        final IOFileFilter[] sorted = filters.toArray(new IOFileFilter[filters.size()]);
+        // merge sort, which is stable
+        Arrays.sort(sorted, COMPARATOR);
+        return sorted;
+    }
+
+}
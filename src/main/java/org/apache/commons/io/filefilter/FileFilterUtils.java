@@ -407,7 +407,8 @@ public class FileFilterUtils {
     }
 
     /**
-     * Returns a filter that ANDs the specified filters.
+     * Returns a filter that ANDs the specified filters, checking them from the
+     * cheapest to the most expensive as ranked by {@link FileFilterCost}.
      *
      * @param filters the IOFileFilters that will be ANDed together.
      * @return a filter that ANDs the specified filters
@@ -422,7 +423,8 @@ public class FileFilterUtils {
     }
 
     /**
-     * Returns a filter that ORs the specified filters.
+     * Returns a filter that ORs the specified filters, checking them from the
+     * cheapest to the most expensive as ranked by {@link FileFilterCost}.
      *
      * @param filters the IOFileFilters that will be ORed together.
      * @return a filter that ORs the specified filters
@@ -719,6 +721,24 @@ public class FileFilterUtils {
         return new MagicNumberFileFilter(magicNumber, offset);
     }
 
+    /**
+     * Returns a filter that accepts files that contain any of the magic numbers
+     * of the provided filters, reading each file once.
+     *
+     * @param filters the magic number filters, tested in this order.
+     *
+     * @return an IOFileFilter that accepts files containing any of the magic
+     *         numbers at their offsets.
+     *
+     * @throws IllegalArgumentException if <code>filters</code> is
+     *         {@code null}, empty or contains {@code null}.
+     * @see MultiMagicNumberFileFilter
+     * @since 2.6
+     */
+    public static IOFileFilter magicNumberFileFilter(final MagicNumberFileFilter... filters) {
+        return new MultiMagicNumberFileFilter(filters);
+    }
+
     //-----------------------------------------------------------------------
     /* Constructed on demand and then cached */
     private static final IOFileFilter cvsFilter = notFileFilter(
@@ -76,4 +76,15 @@ public class HiddenFileFilter extends AbstractFileFilter implements Serializable
         return file.isHidden();
     }
 
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter reads the attributes of the file.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
+    }
+
 }
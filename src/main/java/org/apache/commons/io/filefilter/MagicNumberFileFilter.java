@@ -17,9 +17,11 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 
@@ -60,6 +62,12 @@ import org.apache.commons.io.IOUtils;
  * }
  * </pre>
  *
+ * <p>
+ * To test many magic numbers, such as to find the type of files, combine them
+ * into a {@link MultiMagicNumberFileFilter}, which reads each file once, rather
+ * than into an {@link OrFileFilter}, which reads it once per magic number.
+ * </p>
+ *
  * @since 2.0
  * @see FileFilterUtils#magicNumberFileFilter(byte[])
  * @see FileFilterUtils#magicNumberFileFilter(String)
@@ -234,26 +242,73 @@ public class MagicNumberFileFilter extends AbstractFileFilter implements
     @Override
     public boolean accept(final File file) {
         if (file != null && file.isFile() && file.canRead()) {
-            RandomAccessFile randomAccessFile = null;
-            try {
-                final byte[] fileBytes = new byte[this.magicNumbers.length];
-                randomAccessFile = new RandomAccessFile(file, "r");
-                randomAccessFile.seek(byteOffset);
-                final int read = randomAccessFile.read(fileBytes);
-                if (read != magicNumbers.length) {
-                    return false;
-                }
-                return Arrays.equals(this.magicNumbers, fileBytes);
-            } catch (final IOException ioe) {
-                // Do nothing, fall through and do not accept file
-            } finally {
-                IOUtils.closeQuietly(randomAccessFile);
-            }
+            final byte[] fileBytes = new byte[this.magicNumbers.length];
+            return read(file, byteOffset, fileBytes) == magicNumbers.length
+                    && Arrays.equals(this.magicNumbers, fileBytes);
         }
 
         return false;
     }
 
+    /**
+     * Returns the magic number.
+     *
+     * @return the magic number, not to be modified
+     */
+    byte[] getMagicNumber() {
+        return magicNumbers;
+    }
+
+    /**
+     * Returns the offset of the magic number.
+     *
+     * @return the offset in bytes
+     */
+    long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * Reads bytes of a file with a positional read of its channel.
+     *
+     * @param file the file to read.
+     * @param offset the offset in the file of the first byte to read.
+     * @param buffer the buffer to fill.
+     *
+     * @return the number of bytes read, less than the length of the buffer at
+     *         the end of the file, or -1 if an {@link IOException} occurs.
+     */
+    static int read(final File file, final long offset, final byte[] buffer) {
+        FileInputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            return read(in.getChannel(), offset, buffer);
+        } catch (final IOException ioe) {
+            return -1;
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    /**
+     * Reads bytes of a file channel with a positional read.
+     *
+     * @param channel the channel to read.
+     * @param offset the offset in the file of the first byte to read.
+     * @param buffer the buffer to fill.
+     *
+     * @return the number of bytes read, less than the length of the buffer at
+     *         the end of the file.
+     * @throws IOException if an I/O error occurs.
+     */
+    static int read(final FileChannel channel, final long offset, final byte[] buffer) throws IOException {
+        final ByteBuffer bytes = ByteBuffer.wrap(buffer);
+        while (bytes.hasRemaining() && channel.read(bytes, offset + bytes.position()) >= 0) {
+            // a read may return fewer bytes than remain
+        }
+        return bytes.position();
+    }
+
     /**
      * Returns a String representation of the file filter, which includes the
      * magic number bytes and byte offset.
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * <p>
+ * File filter for matching files containing any of several magic numbers, each
+ * at its own offset.
+ * </p>
+ *
+ * <p>
+ * Where an {@link OrFileFilter} of {@link MagicNumberFileFilter}s opens and
+ * reads each file once per magic number, this filter opens each file once.
+ * Magic numbers close to each other are grouped in ranges, each range being
+ * read at most once with a positional read of the file's channel when the first
+ * of its magic numbers is tested. It can also tell which magic number a file
+ * contains, to find the type of files:
+ * </p>
+ *
+ * <pre>
+ * MagicNumberFileFilter classFiles = new MagicNumberFileFilter(new byte[] {
+ *     (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+ * MagicNumberFileFilter tarFiles = new MagicNumberFileFilter("ustar", 257);
+ * MultiMagicNumberFileFilter filter = new MultiMagicNumberFileFilter(classFiles, tarFiles);
+ * for (File file : dir.listFiles()) {
+ *     if (filter.getMatchingFilter(file) == tarFiles) {
+ *         System.out.println(file);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * Magic numbers less than 4KB apart share a range, so that the bytes between
+ * them are read rather than the file being read once more; magic numbers far
+ * apart are read separately, so that their offsets do not bound the memory used.
+ * </p>
+ *
+ * @version $Id$
+ * @since 2.6
+ * @see FileFilterUtils#magicNumberFileFilter(MagicNumberFileFilter...)
+ */
+public class MultiMagicNumberFileFilter extends AbstractFileFilter implements Serializable {
+
+    private static final long serialVersionUID = 3409744287612364180L;
+
+    /** The magic number filters, in the order they are tested. */
+    private final MagicNumberFileFilter[] filters;
+
+    /**
+     * The largest number of bytes between two magic numbers which are read in
+     * the same range.
+     */
+    private static final int MAX_RANGE_GAP = 4096;
+
+    /** The offsets of the first bytes of the ranges. */
+    private final long[] rangeStarts;
+
+    /** The numbers of bytes of the ranges. */
+    private final int[] rangeLengths;
+
+    /** The index of the range containing the magic number of each filter. */
+    private final int[] filterRanges;
+
+    /**
+     * Constructs a new filter for the magic numbers of the given filters.
+     *
+     * @param filters the magic number filters, tested in this order.
+     *
+     * @throws IllegalArgumentException if <code>filters</code> is {@code null},
+     *         empty or contains {@code null}.
+     */
+    public MultiMagicNumberFileFilter(final MagicNumberFileFilter... filters) {
+        if (filters == null || filters.length == 0) {
+            throw new IllegalArgumentException("The magic number filters must not be null or empty");
+        }
+        this.filters = filters.clone();
+        final Integer[] byOffset = new Integer[this.filters.length];
+        for (int i = 0; i < this.filters.length; i++) {
+            if (this.filters[i] == null) {
+                throw new IllegalArgumentException("The magic number filters must not contain null");
+            }
+            byOffset[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(byOffset, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer index1, final Integer index2) {
+                final long offset1 = MultiMagicNumberFileFilter.this.filters[index1.intValue()].getByteOffset();
+                final long offset2 = MultiMagicNumberFileFilter.this.filters[index2.intValue()].getByteOffset();
+                return offset1 < offset2 ? -1 : offset1 == offset2 ? 0 : 1;
+            }
+        });
+
+        // group the magic numbers, by increasing offset, in ranges with small gaps
+        final long[] starts = new long[this.filters.length];
+        final long[] ends = new long[this.filters.length];
+        this.filterRanges = new int[this.filters.length];
+        int ranges = 0;
+        for (final Integer index : byOffset) {
+            final MagicNumberFileFilter filter = this.filters[index.intValue()];
+            final long offset = filter.getByteOffset();
+            final long end = offset + filter.getMagicNumber().length;
+            if (ranges == 0 || offset - ends[ranges - 1] > MAX_RANGE_GAP
+                    || Math.max(end, ends[ranges - 1]) - starts[ranges - 1] > Integer.MAX_VALUE) {
+                starts[ranges] = offset;
+                ends[ranges] = end;
+                ranges++;
+            } else {
+                ends[ranges - 1] = Math.max(end, ends[ranges - 1]);
+            }
+            this.filterRanges[index.intValue()] = ranges - 1;
+        }
+        this.rangeStarts = Arrays.copyOf(starts, ranges);
+        this.rangeLengths = new int[ranges];
+        for (int i = 0; i < ranges; i++) {
+            this.rangeLengths[i] = (int) (ends[i] - starts[i]);
+        }
+    }
+
+    /**
+     * Constructs a new filter for the magic numbers of the given filters.
+     *
+     * @param filters the magic number filters, tested in this order.
+     *
+     * @throws IllegalArgumentException if <code>filters</code> is {@code null},
+     *         empty or contains {@code null}.
+     */
+    public MultiMagicNumberFileFilter(final List<MagicNumberFileFilter> filters) {
+        this(filters == null ? null : filters.toArray(new MagicNumberFileFilter[filters.size()]));
+    }
+
+    /**
+     * Returns the magic number filters.
+     *
+     * @return an unmodifiable list of the filters, in the order they are tested.
+     */
+    public List<MagicNumberFileFilter> getFilters() {
+        return Collections.unmodifiableList(Arrays.asList(filters));
+    }
+
+    /**
+     * <p>
+     * Accepts the provided file if the file contains any of the magic numbers
+     * at its offset.
+     * </p>
+     *
+     * <p>
+     * If any {@link java.io.IOException}s occur while reading the file, the
+     * file will be rejected.
+     * </p>
+     *
+     * @param file the file to accept or reject.
+     *
+     * @return {@code true} if the file contains any of the magic numbers,
+     *         {@code false} otherwise.
+     */
+    @Override
+    public boolean accept(final File file) {
+        return getMatchingFilter(file) != null;
+    }
+
+    /**
+     * Returns the first filter whose magic number the file contains, opening the
+     * file once and reading each range of magic numbers at most once.
+     *
+     * @param file the file to test.
+     *
+     * @return the first filter which accepts the file, {@code null} if none does
+     *         or an {@link java.io.IOException} occurs while reading the file.
+     */
+    public MagicNumberFileFilter getMatchingFilter(final File file) {
+        if (file != null && file.isFile() && file.canRead()) {
+            FileInputStream in = null;
+            try {
+                in = new FileInputStream(file);
+                final byte[][] ranges = new byte[rangeStarts.length][];
+                final int[] read = new int[rangeStarts.length];
+                for (int i = 0; i < filters.length; i++) {
+                    final int range = filterRanges[i];
+                    if (ranges[range] == null) {
+                        ranges[range] = new byte[rangeLengths[range]];
+                        read[range] = MagicNumberFileFilter.read(in.getChannel(), rangeStarts[range], ranges[range]);
+                    }
+                    if (matches(filters[i], rangeStarts[range], ranges[range], read[range])) {
+                        return filters[i];
+                    }
+                }
+            } catch (final IOException ioe) {
+                return null;
+            } finally {
+                IOUtils.closeQuietly(in);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the bytes read from a range contain the magic number of a filter.
+     */
+    private boolean matches(final MagicNumberFileFilter filter, final long rangeStart, final byte[] range,
+            final int read) {
+        final byte[] magicNumber = filter.getMagicNumber();
+        final int offset = (int) (filter.getByteOffset() - rangeStart);
+        if (offset + magicNumber.length > read) {
+            return false;
+        }
+        for (int i = 0; i < magicNumber.length; i++) {
+            if (range[offset + i] != magicNumber[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a String representation of the file filter, which includes the
+     * magic number filters.
+     *
+     * @return a String representation of the file filter.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(super.toString());
+        builder.append("(");
+        for (int i = 0; i < filters.length; i++) {
+            if (i > 0) {
+                builder.append(",");
+            }
+            builder.append(filters[i]);
+        }
+        builder.append(")");
+        return builder.toString();
+    }
+
+}
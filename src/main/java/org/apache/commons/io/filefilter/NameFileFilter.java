@@ -17,8 +17,12 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.io.IOCase;
 
@@ -48,6 +52,8 @@ public class NameFileFilter extends AbstractFileFilter implements Serializable {
     private final String[] names;
     /** Whether the comparison is case sensitive. */
     private final IOCase caseSensitivity;
+    /** The filenames folded to the case sensitivity, null if a filename is null. */
+    private transient Set<String> index;
 
     /**
      * Constructs a new case-sensitive name file filter for a single name.
@@ -72,6 +78,7 @@ public class NameFileFilter extends AbstractFileFilter implements Serializable {
         }
         this.names = new String[] {name};
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = index(this.names, this.caseSensitivity);
     }
 
     /**
@@ -101,6 +108,7 @@ public class NameFileFilter extends AbstractFileFilter implements Serializable {
         this.names = new String[names.length];
         System.arraycopy(names, 0, this.names, 0, names.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = index(this.names, this.caseSensitivity);
     }
 
     /**
@@ -128,6 +136,7 @@ public class NameFileFilter extends AbstractFileFilter implements Serializable {
         }
         this.names = names.toArray(new String[names.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = index(this.names, this.caseSensitivity);
     }
 
     //-----------------------------------------------------------------------
@@ -139,13 +148,7 @@ public class NameFileFilter extends AbstractFileFilter implements Serializable {
      */
     @Override
     public boolean accept(final File file) {
-        final String name = file.getName();
-        for (final String name2 : this.names) {
-            if (caseSensitivity.checkEquals(name, name2)) {
-                return true;
-            }
-        }
-        return false;
+        return acceptName(file.getName());
     }
 
     /**
@@ -157,6 +160,19 @@ public class NameFileFilter extends AbstractFileFilter implements Serializable {
      */
     @Override
     public boolean accept(final File dir, final String name) {
+        return acceptName(name);
+    }
+
+    /**
+     * Checks to see if a filename matches one of the filenames.
+     *
+     * @param name  the filename
+     * @return true if the filename matches one of the filenames
+     */
+    private boolean acceptName(final String name) {
+        if (index != null && name != null) {
+            return index.contains(NameTrie.fold(name, caseSensitivity));
+        }
         for (final String name2 : names) {
             if (caseSensitivity.checkEquals(name, name2)) {
                 return true;
@@ -165,6 +181,47 @@ public class NameFileFilter extends AbstractFileFilter implements Serializable {
         return false;
     }
 
+    /**
+     * Folds filenames to a case sensitivity.
+     *
+     * @param names  the filenames
+     * @param caseSensitivity  how to handle case sensitivity
+     * @return the folded filenames, null if a filename is null
+     */
+    private static Set<String> index(final String[] names, final IOCase caseSensitivity) {
+        final Set<String> index = new HashSet<String>();
+        for (final String name : names) {
+            if (name == null) {
+                return null;
+            }
+            index.add(NameTrie.fold(name, caseSensitivity));
+        }
+        return index;
+    }
+
+    /**
+     * Indexes the filenames after deserialization.
+     *
+     * @param in  the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        index = index(names, caseSensitivity);
+    }
+
+    /**
+     * Returns {@link FileFilterCost#NAME}: the filter only compares the filename.
+     *
+     * @return {@link FileFilterCost#NAME}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.NAME;
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
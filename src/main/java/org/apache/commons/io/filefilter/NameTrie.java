@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.util.Arrays;
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * A character trie of keys, each with one or more values, read from the start or
+ * from the end of the keys.
+ * <p>
+ * The nodes are numbered, the root being node zero, and a name is walked through
+ * the trie with {@link #getChild(int, char)} one character at a time, so that all
+ * the keys which start or end a name are found in as many steps as the name has
+ * characters, however many keys there are. When the comparison ignores case, the
+ * characters are folded as {@link String#equalsIgnoreCase(String)} compares them.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+final class NameTrie {
+
+    private static final int[] NO_VALUES = new int[0];
+
+    /** Whether the comparison ignores case. */
+    private final boolean ignoreCase;
+
+    /** The characters leading to the children of each node, sorted. */
+    private char[][] keys;
+
+    /** The children of each node, in the order of their characters. */
+    private int[][] children;
+
+    /** The values of the keys ending at each node. */
+    private int[][] values;
+
+    /** The number of nodes. */
+    private int size;
+
+    /**
+     * Creates an empty trie.
+     *
+     * @param caseSensitivity  how to handle case sensitivity, null means case-sensitive
+     */
+    NameTrie(final IOCase caseSensitivity) {
+        this.ignoreCase = caseSensitivity != null && !caseSensitivity.isCaseSensitive();
+        keys = new char[16][];
+        children = new int[16][];
+        values = new int[16][];
+        newNode();
+    }
+
+    /**
+     * Creates a trie of keys, the values being their indexes.
+     *
+     * @param keys  the keys
+     * @param reverse  whether to read the keys from their end
+     * @param caseSensitivity  how to handle case sensitivity, null means case-sensitive
+     * @return the trie, null if a key is null
+     */
+    static NameTrie of(final String[] keys, final boolean reverse, final IOCase caseSensitivity) {
+        final NameTrie trie = new NameTrie(caseSensitivity);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                return null;
+            }
+            trie.add(keys[i], reverse, i);
+        }
+        return trie;
+    }
+
+    /**
+     * Folds the case of the characters of a string as {@link String#equalsIgnoreCase(String)}
+     * compares them, so that two strings are equal ignoring case if their folded strings are equal.
+     *
+     * @param str  the string
+     * @param caseSensitivity  how to handle case sensitivity, null means case-sensitive
+     * @return the folded string, the string itself if the comparison is case-sensitive
+     */
+    static String fold(final String str, final IOCase caseSensitivity) {
+        if (caseSensitivity == null || caseSensitivity.isCaseSensitive()) {
+            return str;
+        }
+        final char[] chars = str.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key  the key
+     * @param reverse  whether to read the key from its end
+     * @param value  the value of the key
+     */
+    void add(final String key, final boolean reverse, final int value) {
+        final int length = key.length();
+        int node = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = fold(key.charAt(reverse ? length - 1 - i : i));
+            final int index = Arrays.binarySearch(keys[node], c);
+            if (index >= 0) {
+                node = children[node][index];
+            } else {
+                final int child = newNode();
+                keys[node] = insert(keys[node], -index - 1, c);
+                children[node] = insert(children[node], -index - 1, child);
+                node = child;
+            }
+        }
+        values[node] = insert(values[node], values[node].length, value);
+    }
+
+    /**
+     * Checks to see if a key starts a name, or ends it if the keys were added reversed.
+     *
+     * @param name  the name
+     * @param reverse  whether the keys were added reversed
+     * @return true if a key starts or ends the name
+     */
+    boolean matchesKey(final String name, final boolean reverse) {
+        final int length = name.length();
+        int node = 0;
+        for (int i = 0; values[node].length == 0; i++) {
+            if (i == length) {
+                return false;
+            }
+            node = getChild(node, name.charAt(reverse ? length - 1 - i : i));
+            if (node < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the child of a node for a character.
+     *
+     * @param node  the number of the node
+     * @param c  the character, as found in a name
+     * @return the number of the child, -1 if none
+     */
+    int getChild(final int node, final char c) {
+        final int index = Arrays.binarySearch(keys[node], fold(c));
+        return index >= 0 ? children[node][index] : -1;
+    }
+
+    /**
+     * Returns the values of the keys ending at a node.
+     *
+     * @param node  the number of the node
+     * @return the values, in the order they were added, not to be modified
+     */
+    int[] getValues(final int node) {
+        return values[node];
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes, one for an empty trie
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Folds the case of a character as {@link String#regionMatches(boolean, int, String, int, int)}
+     * compares it, if the comparison ignores case.
+     */
+    private char fold(final char c) {
+        return ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+    }
+
+    /**
+     * Adds a node without children or values.
+     */
+    private int newNode() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            children = Arrays.copyOf(children, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = new char[0];
+        children[size] = NO_VALUES;
+        values[size] = NO_VALUES;
+        return size++;
+    }
+
+    private static char[] insert(final char[] array, final int index, final char c) {
+        final char[] result = new char[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = c;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static int[] insert(final int[] array, final int index, final int i) {
+        final int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = i;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+}
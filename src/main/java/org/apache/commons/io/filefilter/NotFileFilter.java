@@ -68,6 +68,17 @@ public class NotFileFilter extends AbstractFileFilter implements Serializable {
         return ! filter.accept(file, name);
     }
 
+    /**
+     * Returns the cost of the filter this filter negates.
+     *
+     * @return the cost of the negated filter
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.of(filter);
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
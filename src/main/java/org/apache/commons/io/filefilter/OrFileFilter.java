@@ -17,6 +17,8 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -28,6 +30,21 @@ import java.util.List;
  * list return {@code true}. Otherwise, it returns {@code false}.
  * Checking of the file filter list stops when the first filter returns
  * {@code true}.
+ * <p>
+ * The filters are checked from the cheapest to the most expensive, as ranked
+ * by {@link FileFilterCost}, rather than in the order they were added.
+ * <p>
+ * The order is computed when filters are added, removed or set, and is then
+ * fixed: a nested <code>AndFileFilter</code> or <code>OrFileFilter</code> whose
+ * filters change after it was added keeps the rank it had when it was added.
+ * Remove and add it again to have it ranked by its new cost.
+ * <p>
+ * The cost of a filter is taken from {@link AbstractFileFilter#getCost()}, which
+ * subclasses inherit. A subclass of a name or attribute filter, such as
+ * {@link SuffixFileFilter}, {@link NameFileFilter} or {@link SizeFileFilter},
+ * which overrides <code>accept</code> to read the contents of files is still
+ * ranked as a name or attribute filter unless it also overrides
+ * <code>getCost()</code>.
  *
  * @since 1.0
  * @version $Id$
@@ -41,6 +58,9 @@ public class OrFileFilter
     /** The list of file filters. */
     private final List<IOFileFilter> fileFilters;
 
+    /** The file filters, from the cheapest to the most expensive. */
+    private transient IOFileFilter[] cheapestFirst;
+
     /**
      * Constructs a new instance of <code>OrFileFilter</code>.
      *
@@ -48,6 +68,7 @@ public class OrFileFilter
      */
     public OrFileFilter() {
         this.fileFilters = new ArrayList<IOFileFilter>();
+        this.cheapestFirst = FileFilterCost.cheapestFirst(this.fileFilters);
     }
 
     /**
@@ -63,6 +84,7 @@ public class OrFileFilter
         } else {
             this.fileFilters = new ArrayList<IOFileFilter>(fileFilters);
         }
+        this.cheapestFirst = FileFilterCost.cheapestFirst(this.fileFilters);
     }
 
     /**
@@ -86,6 +108,7 @@ public class OrFileFilter
      */
     public void addFileFilter(final IOFileFilter ioFileFilter) {
         this.fileFilters.add(ioFileFilter);
+        this.cheapestFirst = FileFilterCost.cheapestFirst(this.fileFilters);
     }
 
     /**
@@ -99,7 +122,9 @@ public class OrFileFilter
      * {@inheritDoc}
      */
     public boolean removeFileFilter(final IOFileFilter ioFileFilter) {
-        return this.fileFilters.remove(ioFileFilter);
+        final boolean removed = this.fileFilters.remove(ioFileFilter);
+        this.cheapestFirst = FileFilterCost.cheapestFirst(this.fileFilters);
+        return removed;
     }
 
     /**
@@ -108,6 +133,7 @@ public class OrFileFilter
     public void setFileFilters(final List<IOFileFilter> fileFilters) {
         this.fileFilters.clear();
         this.fileFilters.addAll(fileFilters);
+        this.cheapestFirst = FileFilterCost.cheapestFirst(this.fileFilters);
     }
 
     /**
@@ -115,7 +141,7 @@ public class OrFileFilter
      */
     @Override
     public boolean accept(final File file) {
-        for (final IOFileFilter fileFilter : fileFilters) {
+        for (final IOFileFilter fileFilter : cheapestFirst) {
             if (fileFilter.accept(file)) {
                 return true;
             }
@@ -128,7 +154,7 @@ public class OrFileFilter
      */
     @Override
     public boolean accept(final File file, final String name) {
-        for (final IOFileFilter fileFilter : fileFilters) {
+        for (final IOFileFilter fileFilter : cheapestFirst) {
             if (fileFilter.accept(file, name)) {
                 return true;
             }
@@ -136,6 +162,29 @@ public class OrFileFilter
         return false;
     }
 
+    /**
+     * Returns the cost of the most expensive filter.
+     *
+     * @return the cost of the most expensive filter
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.max(fileFilters);
+    }
+
+    /**
+     * Sorts the file filters by cost after deserialization.
+     *
+     * @param in  the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        cheapestFirst = FileFilterCost.cheapestFirst(fileFilters);
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
@@ -17,6 +17,8 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.List;
 
@@ -51,6 +53,9 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
     /** Whether the comparison is case sensitive. */
     private final IOCase caseSensitivity;
 
+    /** The prefixes in a trie, null if a prefix is null. */
+    private transient NameTrie index;
+
     /**
      * Constructs a new Prefix file filter for a single prefix.
      *
@@ -76,6 +81,7 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
         }
         this.prefixes = new String[] {prefix};
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = NameTrie.of(this.prefixes, false, this.caseSensitivity);
     }
 
     /**
@@ -107,6 +113,7 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
         this.prefixes = new String[prefixes.length];
         System.arraycopy(prefixes, 0, this.prefixes, 0, prefixes.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = NameTrie.of(this.prefixes, false, this.caseSensitivity);
     }
 
     /**
@@ -136,6 +143,7 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
         }
         this.prefixes = prefixes.toArray(new String[prefixes.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = NameTrie.of(this.prefixes, false, this.caseSensitivity);
     }
 
     /**
@@ -146,13 +154,7 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
      */
     @Override
     public boolean accept(final File file) {
-        final String name = file.getName();
-        for (final String prefix : this.prefixes) {
-            if (caseSensitivity.checkStartsWith(name, prefix)) {
-                return true;
-            }
-        }
-        return false;
+        return acceptName(file.getName());
     }
 
     /**
@@ -164,6 +166,19 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
      */
     @Override
     public boolean accept(final File file, final String name) {
+        return acceptName(name);
+    }
+
+    /**
+     * Checks to see if a filename starts with one of the prefixes.
+     *
+     * @param name  the filename
+     * @return true if the filename starts with one of the prefixes
+     */
+    private boolean acceptName(final String name) {
+        if (index != null && name != null) {
+            return index.matchesKey(name, false);
+        }
         for (final String prefix : prefixes) {
             if (caseSensitivity.checkStartsWith(name, prefix)) {
                 return true;
@@ -172,6 +187,29 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
         return false;
     }
 
+    /**
+     * Indexes the prefixes after deserialization.
+     *
+     * @param in  the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        index = NameTrie.of(prefixes, false, caseSensitivity);
+    }
+
+    /**
+     * Returns {@link FileFilterCost#NAME}: the filter only compares the start of the filename.
+     *
+     * @return {@link FileFilterCost#NAME}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.NAME;
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
@@ -120,4 +120,15 @@ public class RegexFileFilter extends AbstractFileFilter implements Serializable
         return pattern.matcher(name).matches();
     }
 
+    /**
+     * Returns {@link FileFilterCost#NAME}: the filter only matches the filename.
+     *
+     * @return {@link FileFilterCost#NAME}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.NAME;
+    }
+
 }
@@ -94,6 +94,17 @@ public class SizeFileFilter extends AbstractFileFilter implements Serializable {
         return acceptLarger ? !smaller : smaller;
     }
 
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter reads the length of the file.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
@@ -17,6 +17,8 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.List;
 
@@ -52,6 +54,9 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
     /** Whether the comparison is case sensitive. */
     private final IOCase caseSensitivity;
 
+    /** The suffixes in a trie, null if a suffix is null. */
+    private transient NameTrie index;
+
     /**
      * Constructs a new Suffix file filter for a single extension.
      *
@@ -77,6 +82,7 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
         }
         this.suffixes = new String[] {suffix};
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = NameTrie.of(this.suffixes, true, this.caseSensitivity);
     }
 
     /**
@@ -108,6 +114,7 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
         this.suffixes = new String[suffixes.length];
         System.arraycopy(suffixes, 0, this.suffixes, 0, suffixes.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = NameTrie.of(this.suffixes, true, this.caseSensitivity);
     }
 
     /**
@@ -137,6 +144,7 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
         }
         this.suffixes = suffixes.toArray(new String[suffixes.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.index = NameTrie.of(this.suffixes, true, this.caseSensitivity);
     }
 
     /**
@@ -147,13 +155,7 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
      */
     @Override
     public boolean accept(final File file) {
-        final String name = file.getName();
-        for (final String suffix : this.suffixes) {
-            if (caseSensitivity.checkEndsWith(name, suffix)) {
-                return true;
-            }
-        }
-        return false;
+        return acceptName(file.getName());
     }
 
     /**
@@ -165,7 +167,20 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
      */
     @Override
     public boolean accept(final File file, final String name) {
-        for (final String suffix : this.suffixes) {
+        return acceptName(name);
+    }
+
+    /**
+     * Checks to see if a filename ends with one of the suffixes.
+     *
+     * @param name  the filename
+     * @return true if the filename ends with one of the suffixes
+     */
+    private boolean acceptName(final String name) {
+        if (index != null && name != null) {
+            return index.matchesKey(name, true);
+        }
+        for (final String suffix : suffixes) {
             if (caseSensitivity.checkEndsWith(name, suffix)) {
                 return true;
             }
@@ -173,6 +188,29 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
         return false;
     }
 
+    /**
+     * Indexes the suffixes after deserialization.
+     *
+     * @param in  the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        index = NameTrie.of(suffixes, true, caseSensitivity);
+    }
+
+    /**
+     * Returns {@link FileFilterCost#NAME}: the filter only compares the end of the filename.
+     *
+     * @return {@link FileFilterCost#NAME}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.NAME;
+    }
+
     /**
      * Provide a String representaion of this file filter.
      *
@@ -17,11 +17,14 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.List;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOCase;
+import org.apache.commons.io.WildcardMatcher;
 
 /**
  * Filters files using the supplied wildcards.
@@ -34,6 +37,9 @@ import org.apache.commons.io.IOCase;
  * This is the same as often found on Dos/Unix command lines.
  * The check is case-sensitive by default.
  * See {@link FilenameUtils#wildcardMatchOnSystem} for more information.
+ * The wildcards are compiled once into {@link WildcardMatcher}s, indexed by
+ * their literal start or end, so that a filename is matched only against the
+ * few wildcards it may match, however many wildcards the filter has.
  * <p>
  * For example:
  * <pre>
@@ -55,6 +61,8 @@ public class WildcardFileFilter extends AbstractFileFilter implements Serializab
     private final String[] wildcards;
     /** Whether the comparison is case sensitive. */
     private final IOCase caseSensitivity;
+    /** The compiled wildcards. */
+    private transient WildcardSet matchers;
 
     /**
      * Construct a new case-sensitive wildcard filter for a single wildcard.
@@ -79,6 +87,7 @@ public class WildcardFileFilter extends AbstractFileFilter implements Serializab
         }
         this.wildcards = new String[] { wildcard };
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.matchers = new WildcardSet(this.wildcards, this.caseSensitivity);
     }
 
     /**
@@ -107,6 +116,7 @@ public class WildcardFileFilter extends AbstractFileFilter implements Serializab
         this.wildcards = new String[wildcards.length];
         System.arraycopy(wildcards, 0, this.wildcards, 0, wildcards.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.matchers = new WildcardSet(this.wildcards, this.caseSensitivity);
     }
 
     /**
@@ -134,6 +144,7 @@ public class WildcardFileFilter extends AbstractFileFilter implements Serializab
         }
         this.wildcards = wildcards.toArray(new String[wildcards.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.matchers = new WildcardSet(this.wildcards, this.caseSensitivity);
     }
 
     //-----------------------------------------------------------------------
@@ -146,12 +157,7 @@ public class WildcardFileFilter extends AbstractFileFilter implements Serializab
      */
     @Override
     public boolean accept(final File dir, final String name) {
-        for (final String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(name, wildcard, caseSensitivity)) {
-                return true;
-            }
-        }
-        return false;
+        return matchers.matches(name);
     }
 
     /**
@@ -162,13 +168,30 @@ public class WildcardFileFilter extends AbstractFileFilter implements Serializab
      */
     @Override
     public boolean accept(final File file) {
-        final String name = file.getName();
-        for (final String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(name, wildcard, caseSensitivity)) {
-                return true;
-            }
-        }
-        return false;
+        return matchers.matches(file.getName());
+    }
+
+    /**
+     * Compiles the wildcards after deserialization.
+     *
+     * @param in  the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        matchers = new WildcardSet(wildcards, caseSensitivity);
+    }
+
+    /**
+     * Returns {@link FileFilterCost#NAME}: the filter only matches the filename.
+     *
+     * @return {@link FileFilterCost#NAME}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.NAME;
     }
 
     /**
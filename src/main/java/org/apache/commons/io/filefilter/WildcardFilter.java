@@ -17,10 +17,13 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.List;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
 
 /**
  * Filters files using the supplied wildcards.
@@ -55,6 +58,8 @@ public class WildcardFilter extends AbstractFileFilter implements Serializable {
     private static final long serialVersionUID = -5037645902506953517L;
     /** The wildcards that will be used to match filenames. */
     private final String[] wildcards;
+    /** The compiled wildcards. */
+    private transient WildcardSet matchers;
 
     /**
      * Construct a new case-sensitive wildcard filter for a single wildcard.
@@ -67,6 +72,7 @@ public class WildcardFilter extends AbstractFileFilter implements Serializable {
             throw new IllegalArgumentException("The wildcard must not be null");
         }
         this.wildcards = new String[] { wildcard };
+        this.matchers = new WildcardSet(this.wildcards, IOCase.SENSITIVE);
     }
 
     /**
@@ -81,6 +87,7 @@ public class WildcardFilter extends AbstractFileFilter implements Serializable {
         }
         this.wildcards = new String[wildcards.length];
         System.arraycopy(wildcards, 0, this.wildcards, 0, wildcards.length);
+        this.matchers = new WildcardSet(this.wildcards, IOCase.SENSITIVE);
     }
 
     /**
@@ -95,6 +102,7 @@ public class WildcardFilter extends AbstractFileFilter implements Serializable {
             throw new IllegalArgumentException("The wildcard list must not be null");
         }
         this.wildcards = wildcards.toArray(new String[wildcards.size()]);
+        this.matchers = new WildcardSet(this.wildcards, IOCase.SENSITIVE);
     }
 
     //-----------------------------------------------------------------------
@@ -111,13 +119,7 @@ public class WildcardFilter extends AbstractFileFilter implements Serializable {
             return false;
         }
 
-        for (final String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(name, wildcard)) {
-                return true;
-            }
-        }
-
-        return false;
+        return matchers.matches(name);
     }
 
     /**
@@ -132,13 +134,30 @@ public class WildcardFilter extends AbstractFileFilter implements Serializable {
             return false;
         }
 
-        for (final String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(file.getName(), wildcard)) {
-                return true;
-            }
-        }
+        return matchers.matches(file.getName());
+    }
 
-        return false;
+    /**
+     * Compiles the wildcards after deserialization.
+     *
+     * @param in  the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        matchers = new WildcardSet(wildcards, IOCase.SENSITIVE);
+    }
+
+    /**
+     * Returns {@link FileFilterCost#STAT}: the filter reads the type of the file to reject directories.
+     *
+     * @return {@link FileFilterCost#STAT}
+     * @since 2.6
+     */
+    @Override
+    public FileFilterCost getCost() {
+        return FileFilterCost.STAT;
     }
 
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.util.Arrays;
+
+import org.apache.commons.io.IOCase;
+import org.apache.commons.io.WildcardMatcher;
+
+/**
+ * Wildcards compiled together, to find whether a name matches any of them without
+ * trying them all.
+ * <p>
+ * Each wildcard is indexed by the longer of the literal text it starts with, before
+ * any '?' or '*', and the literal text it ends with: by the first in a trie of
+ * starts, by the second in a trie of ends read backwards. Walking a name through both
+ * tries finds the few wildcards whose literal start or end the name has, and only
+ * those are then matched with their {@link WildcardMatcher}. Wildcards with no literal
+ * start or end, such as <code>*abc*</code>, are matched one after the other.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+final class WildcardSet {
+
+    /** The compiled wildcards. */
+    private final WildcardMatcher[] matchers;
+
+    /** The wildcards indexed by their literal start. */
+    private final NameTrie starts;
+
+    /** The wildcards indexed by their literal end. */
+    private final NameTrie ends;
+
+    /** The wildcards with no literal start or end. */
+    private final int[] others;
+
+    /**
+     * Compiles wildcards.
+     *
+     * @param wildcards  the wildcards, null elements being ignored
+     * @param caseSensitivity  how to handle case sensitivity
+     */
+    WildcardSet(final String[] wildcards, final IOCase caseSensitivity) {
+        matchers = new WildcardMatcher[wildcards.length];
+        starts = new NameTrie(caseSensitivity);
+        ends = new NameTrie(caseSensitivity);
+        int[] rest = new int[wildcards.length];
+        int restCount = 0;
+        for (int i = 0; i < wildcards.length; i++) {
+            final String wildcard = wildcards[i];
+            if (wildcard == null) {
+                continue;
+            }
+            matchers[i] = WildcardMatcher.compile(wildcard, caseSensitivity);
+            int start = 0;
+            while (start < wildcard.length() && !isWildcard(wildcard.charAt(start))) {
+                start++;
+            }
+            int end = wildcard.length();
+            while (end > start && !isWildcard(wildcard.charAt(end - 1))) {
+                end--;
+            }
+            if (start == 0 && end == wildcard.length() && wildcard.length() > 0) {
+                rest[restCount++] = i;
+            } else if (start >= wildcard.length() - end) {
+                starts.add(wildcard.substring(0, start), false, i);
+            } else {
+                ends.add(wildcard.substring(end), true, i);
+            }
+        }
+        others = Arrays.copyOf(rest, restCount);
+    }
+
+    /**
+     * Checks to see if a name matches one of the wildcards.
+     *
+     * @param name  the name, may be null
+     * @return true if the name matches one of the wildcards, false if it is null
+     */
+    boolean matches(final String name) {
+        if (name == null) {
+            return false;
+        }
+        final int length = name.length();
+        int node = 0;
+        for (int i = 0; node >= 0; i++) {
+            if (matches(starts.getValues(node), name)) {
+                return true;
+            }
+            node = i < length ? starts.getChild(node, name.charAt(i)) : -1;
+        }
+        node = 0;
+        for (int i = length - 1; node >= 0; i--) {
+            if (matches(ends.getValues(node), name)) {
+                return true;
+            }
+            node = i >= 0 ? ends.getChild(node, name.charAt(i)) : -1;
+        }
+        return matches(others, name);
+    }
+
+    /**
+     * Checks to see if a name matches one of the given wildcards.
+     */
+    private boolean matches(final int[] wildcards, final String name) {
+        for (final int wildcard : wildcards) {
+            if (matchers[wildcard].matches(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWildcard(final char c) {
+        return c == '?' || c == '*';
+    }
+
+}
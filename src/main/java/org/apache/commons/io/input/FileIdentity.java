@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * The identity of a file: its file key and creation time, read with one
+ * <code>java.nio.file.Files.readAttributes</code> call of Java 7 and later.
+ * <p>
+ * The attributes are accessed by reflection, so that this class can be loaded
+ * on Java 6, where the identity is unknown.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+final class FileIdentity {
+
+    /** The identity of files on Java 6. */
+    private static final FileIdentity UNKNOWN = new FileIdentity(null, 0);
+
+    private static final boolean AVAILABLE;
+
+    private static Method toPath;
+
+    private static Method readAttributes;
+
+    private static Method fileKey;
+
+    private static Method creationTime;
+
+    private static Method toMillis;
+
+    private static Class<?> basicFileAttributes;
+
+    private static Object noLinkOptions;
+
+    static {
+        boolean available = true;
+        try {
+            final ClassLoader cl = FileIdentity.class.getClassLoader();
+            final Class<?> files = Class.forName("java.nio.file.Files", false, cl);
+            final Class<?> path = Class.forName("java.nio.file.Path", false, cl);
+            final Class<?> linkOption = Class.forName("java.nio.file.LinkOption", false, cl);
+            basicFileAttributes = Class.forName("java.nio.file.attribute.BasicFileAttributes", false, cl);
+            noLinkOptions = Array.newInstance(linkOption, 0);
+            toPath = File.class.getMethod("toPath");
+            readAttributes = files.getMethod("readAttributes", path, Class.class, noLinkOptions.getClass());
+            fileKey = basicFileAttributes.getMethod("fileKey");
+            creationTime = basicFileAttributes.getMethod("creationTime");
+            toMillis = creationTime.getReturnType().getMethod("toMillis");
+        } catch (final ClassNotFoundException e) {
+            available = false;
+        } catch (final NoSuchMethodException e) {
+            available = false;
+        }
+        AVAILABLE = available;
+    }
+
+    /** The file key, null if unknown. */
+    private final String key;
+
+    /** The creation time, 0 if unknown. */
+    private final long created;
+
+    private FileIdentity(final String key, final long created) {
+        this.key = key;
+        this.created = created;
+    }
+
+    /**
+     * Reads the identity of a file.
+     *
+     * @param file the file
+     * @return the identity, unknown on Java 6
+     * @throws IOException if an I/O error occurs reading the attributes of the file
+     */
+    static FileIdentity of(final File file) throws IOException {
+        if (!AVAILABLE) {
+            return UNKNOWN;
+        }
+        try {
+            final Object attributes = readAttributes.invoke(null, toPath.invoke(file), basicFileAttributes,
+                    noLinkOptions);
+            final Object keyValue = fileKey.invoke(attributes);
+            final Object createdValue = creationTime.invoke(attributes);
+            return new FileIdentity(keyValue == null ? null : keyValue.toString(),
+                    createdValue == null ? 0 : ((Long) toMillis.invoke(createdValue)).longValue());
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (final InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the file key.
+     *
+     * @return the file key, null if unknown
+     */
+    String getFileKey() {
+        return key;
+    }
+
+    /**
+     * Returns the creation time.
+     *
+     * @return the creation time in milliseconds since the epoch, 0 if unknown
+     */
+    long getCreationTime() {
+        return created;
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * A {@link TailerCheckpointStore} that keeps each checkpoint in a small
+ * properties file in a directory.
+ * <p>
+ * The checkpoint of a tailed file is written to a temporary file which then
+ * replaces the previous checkpoint, so that a crash while saving leaves the
+ * previous checkpoint in place. Where a file cannot be renamed over another,
+ * the previous checkpoint is deleted first; a crash at that point leaves the
+ * temporary file, which is loaded in place of the missing checkpoint.
+ * <p>
+ * The temporary file is synced to the device before it is renamed, and ends with
+ * an entry written after all others: a checkpoint file without it was not
+ * completely written, and is ignored.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public class FileTailerCheckpointStore implements TailerCheckpointStore {
+
+    /** The extension of checkpoint files. */
+    public static final String EXTENSION = ".checkpoint";
+
+    private static final String FILE = "file";
+
+    private static final String POSITION = "position";
+
+    private static final String FILE_KEY = "fileKey";
+
+    private static final String CREATION_TIME = "creationTime";
+
+    private static final String COMPLETE = "complete";
+
+    /** The directory of the checkpoint files. */
+    private final File directory;
+
+    /**
+     * Creates a store which keeps the checkpoints in the given directory, creating it if need be.
+     *
+     * @param directory the directory of the checkpoint files
+     */
+    public FileTailerCheckpointStore(final File directory) {
+        if (directory == null) {
+            throw new NullPointerException("directory");
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the directory of the checkpoint files.
+     *
+     * @return the directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the checkpoint file of a tailed file, named after the tailed file and the hash code of its
+     * absolute path.
+     *
+     * @param file the tailed file
+     * @return the checkpoint file
+     */
+    protected File getCheckpointFile(final File file) {
+        final String path = file.getAbsolutePath();
+        return new File(directory, file.getName() + "-" + Integer.toHexString(path.hashCode()) + EXTENSION);
+    }
+
+    public synchronized TailerCheckpoint load(final File file) throws IOException {
+        final File checkpointFile = getCheckpointFile(file);
+        if (!checkpointFile.exists()) {
+            // a crash between the deletion of the checkpoint and the renaming of the new one
+            return load(file, getTempFile(checkpointFile));
+        }
+        return load(file, checkpointFile);
+    }
+
+    /**
+     * Loads the checkpoint of a tailed file from a checkpoint file.
+     *
+     * @param file the tailed file
+     * @param checkpointFile the checkpoint file
+     * @return the checkpoint, null if the checkpoint file does not exist, was not completely
+     *         written or is for another file
+     * @throws IOException if the checkpoint file cannot be read or is invalid
+     */
+    private TailerCheckpoint load(final File file, final File checkpointFile) throws IOException {
+        final Properties properties = new Properties();
+        InputStream in = null;
+        try {
+            in = new FileInputStream(checkpointFile);
+            properties.load(in);
+        } catch (final FileNotFoundException e) {
+            return null;
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+        if (!Boolean.TRUE.toString().equals(properties.getProperty(COMPLETE))) {
+            // a crash while the checkpoint file was written
+            return null;
+        }
+        if (!file.getAbsolutePath().equals(properties.getProperty(FILE))) {
+            // another file with the same name and hash code
+            return null;
+        }
+        try {
+            return new TailerCheckpoint(Long.parseLong(properties.getProperty(POSITION)),
+                    properties.getProperty(FILE_KEY),
+                    Long.parseLong(properties.getProperty(CREATION_TIME, "0")));
+        } catch (final RuntimeException e) {
+            throw new IOException("Invalid checkpoint for " + file + ": " + properties, e);
+        }
+    }
+
+    public synchronized void save(final File file, final TailerCheckpoint checkpoint) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty(FILE, file.getAbsolutePath());
+        properties.setProperty(POSITION, Long.toString(checkpoint.getPosition()));
+        if (checkpoint.getFileKey() != null) {
+            properties.setProperty(FILE_KEY, checkpoint.getFileKey());
+        }
+        properties.setProperty(CREATION_TIME, Long.toString(checkpoint.getCreationTime()));
+
+        FileUtils.forceMkdir(directory);
+        final File checkpointFile = getCheckpointFile(file);
+        final File temp = getTempFile(checkpointFile);
+        final FileOutputStream out = new FileOutputStream(temp);
+        try {
+            properties.store(out, null);
+            // the properties are written in hash order, so the completeness entry is written last on its own
+            IOUtils.write(COMPLETE + "=" + Boolean.TRUE + IOUtils.LINE_SEPARATOR, out, Charsets.ISO_8859_1);
+            out.getFD().sync();
+            out.close();
+        } finally {
+            IOUtils.closeQuietly(out);
+        }
+        // File.renameTo does not replace an existing file on all platforms
+        if (!temp.renameTo(checkpointFile)) {
+            if (!checkpointFile.delete() || !temp.renameTo(checkpointFile)) {
+                throw new IOException("Cannot replace " + checkpointFile);
+            }
+        }
+    }
+
+    /**
+     * Returns the temporary file a checkpoint file is written to before it replaces the previous one.
+     *
+     * @param checkpointFile the checkpoint file
+     * @return the temporary file
+     */
+    private File getTempFile(final File checkpointFile) {
+        return new File(directory, checkpointFile.getName() + ".tmp");
+    }
+
+    @Override
+    public String toString() {
+        return "FileTailerCheckpointStore[" + directory + "]";
+    }
+
+}
@@ -21,20 +21,47 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.io.Charsets;
 
 /**
  * Reads lines in a file reversely (similar to a BufferedReader, but starting at
  * the last line). Useful for e.g. searching in log files.
+ * <p>
+ * By default the file is read in blocks, which are copied to the heap. A reader
+ * created with <code>memoryMapped</code> set to true instead scans read-only
+ * {@link FileChannel#map mapped} windows at the end of the file and decodes each
+ * line straight from the window, so that reading the last lines of a large file,
+ * for example with {@link #readLines(int)}, only touches the pages holding them.
  *
  * @since 2.2
  */
 public class ReversedLinesFileReader implements Closeable {
 
+    /**
+     * The default size of the memory mapped windows (64 MB).
+     */
+    private static final int DEFAULT_MAPPED_WINDOW_SIZE = 1024 * 1024 * 64;
+
+    /**
+     * The default size of the blocks the file is read in (4 KB).
+     */
+    private static final int DEFAULT_BLOCK_SIZE = 4096;
+
     private final int blockSize;
+
+    /** The minimum size of the mapped windows. */
+    private final int windowSize;
     private final Charset encoding;
 
     private final RandomAccessFile randomAccessFile;
@@ -45,11 +72,31 @@ public class ReversedLinesFileReader implements Closeable {
     private final byte[][] newLineSequences;
     private final int avoidNewlineSplitBufferSize;
     private final int byteDecrement;
+    private final byte lastByteOfLF;
+    private final byte lastByteOfCR;
 
     private FilePart currentFilePart;
 
     private boolean trailingNewlineOfFileSkipped = false;
 
+    /** Whether the file is read through memory mapped windows. */
+    private final boolean memoryMapped;
+
+    /** The mapped window, null if the file is read in blocks. */
+    private MappedByteBuffer window;
+
+    /** The position in the file of the start of the mapped window. */
+    private long windowStart;
+
+    /** The end of the bytes that have not been returned as lines yet, when mapped. */
+    private long unreadEnd;
+
+    /** The decoder of the mapped lines. */
+    private CharsetDecoder decoder;
+
+    /** The characters of the mapped line being decoded. */
+    private CharBuffer lineChars;
+
     /**
      * Creates a ReversedLinesFileReader with default block size of 4KB and the
      * platform's default encoding.
@@ -91,9 +138,55 @@ public class ReversedLinesFileReader implements Closeable {
      * @throws IOException  if an I/O error occurs
      * @since 2.3
      */
-    @SuppressWarnings("deprecation") // unavoidable until Java 7
     public ReversedLinesFileReader(final File file, final int blockSize, final Charset encoding) throws IOException {
-        this.blockSize = blockSize;
+        this(file, blockSize, encoding, false);
+    }
+
+    /**
+     * Creates a ReversedLinesFileReader with the given encoding, optionally using memory mapped I/O,
+     * with a block size of 4KB or mapped windows of 64MB.
+     *
+     * @param file
+     *            the file to be read
+     * @param encoding
+     *            the encoding of the file
+     * @param memoryMapped
+     *            true to read the file through memory mapped windows
+     * @throws IOException  if an I/O error occurs
+     * @since 2.6
+     */
+    public ReversedLinesFileReader(final File file, final Charset encoding, final boolean memoryMapped)
+            throws IOException {
+        this(file, memoryMapped ? DEFAULT_MAPPED_WINDOW_SIZE : DEFAULT_BLOCK_SIZE, encoding, memoryMapped);
+    }
+
+    /**
+     * Creates a ReversedLinesFileReader with the given block size and encoding, optionally using
+     * memory mapped I/O.
+     * <p>
+     * When <code>memoryMapped</code> is true the block size is the size of the mapped windows; a
+     * window is enlarged if a line does not fit in it. If the file cannot be mapped (for example
+     * because the address space is exhausted) it is read in blocks of 4KB. Note that mapped regions are only
+     * released when they are garbage collected, which on some platforms prevents the file from being
+     * deleted until then.
+     *
+     * @param file
+     *            the file to be read
+     * @param blockSize
+     *            size of the internal buffer or of the mapped windows
+     * @param encoding
+     *            the encoding of the file
+     * @param memoryMapped
+     *            true to read the file through memory mapped windows
+     * @throws IOException  if an I/O error occurs
+     * @since 2.6
+     */
+    @SuppressWarnings("deprecation") // unavoidable until Java 7
+    public ReversedLinesFileReader(final File file, final int blockSize, final Charset encoding,
+            final boolean memoryMapped) throws IOException {
+        // a file which cannot be mapped is read in default sized blocks, not in windows
+        this.blockSize = memoryMapped ? DEFAULT_BLOCK_SIZE : blockSize;
+        this.windowSize = blockSize;
         this.encoding = encoding;
 
         // --- check & prepare encoding ---
@@ -130,21 +223,40 @@ public class ReversedLinesFileReader implements Closeable {
         newLineSequences = new byte[][] { "\r\n".getBytes(encoding), "\n".getBytes(encoding), "\r".getBytes(encoding) };
 
         avoidNewlineSplitBufferSize = newLineSequences[0].length;
+        lastByteOfLF = newLineSequences[1][newLineSequences[1].length - 1];
+        lastByteOfCR = newLineSequences[2][newLineSequences[2].length - 1];
 
         // Open file
         randomAccessFile = new RandomAccessFile(file, "r");
         totalByteLength = randomAccessFile.length();
-        int lastBlockLength = (int) (totalByteLength % blockSize);
+        int lastBlockLength = (int) (totalByteLength % this.blockSize);
         if (lastBlockLength > 0) {
-            totalBlockCount = totalByteLength / blockSize + 1;
+            totalBlockCount = totalByteLength / this.blockSize + 1;
         } else {
-            totalBlockCount = totalByteLength / blockSize;
+            totalBlockCount = totalByteLength / this.blockSize;
             if (totalByteLength > 0) {
-                lastBlockLength = blockSize;
+                lastBlockLength = this.blockSize;
             }
         }
-        currentFilePart = new FilePart(totalBlockCount, lastBlockLength, null);
-
+        unreadEnd = totalByteLength;
+        boolean mapped = memoryMapped && totalByteLength > 0;
+        if (mapped) {
+            try {
+                mapWindow(totalByteLength - 1);
+            } catch (final IOException e) {
+                // could not map, read in blocks
+                mapped = false;
+            }
+        }
+        this.memoryMapped = mapped;
+        if (mapped) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            lineChars = CharBuffer.allocate(64);
+        } else {
+            currentFilePart = new FilePart(totalBlockCount, lastBlockLength, null);
+        }
     }
 
     /**
@@ -173,14 +285,22 @@ public class ReversedLinesFileReader implements Closeable {
      */
     public String readLine() throws IOException {
 
-        String line = currentFilePart.readLine();
-        while (line == null) {
-            currentFilePart = currentFilePart.rollOver();
-            if (currentFilePart != null) {
-                line = currentFilePart.readLine();
-            } else {
-                // no more fileparts: we're done, leave line set to null
-                break;
+        String line;
+        if (memoryMapped) {
+            line = readMappedLine();
+        } else if (currentFilePart == null) {
+            // the start of the file has been reached
+            return null;
+        } else {
+            line = currentFilePart.readLine();
+            while (line == null) {
+                currentFilePart = currentFilePart.rollOver();
+                if (currentFilePart != null) {
+                    line = currentFilePart.readLine();
+                } else {
+                    // no more fileparts: we're done, leave line set to null
+                    break;
+                }
             }
         }
 
@@ -193,15 +313,151 @@ public class ReversedLinesFileReader implements Closeable {
         return line;
     }
 
+    /**
+     * Returns the next lines of the file from bottom to top, that is, the last lines of the
+     * file first if no line has been read yet.
+     *
+     * @param lineCount
+     *            the maximum number of lines to read
+     * @return the lines, fewer than <code>lineCount</code> if the start of the file is reached
+     * @throws IOException  if an I/O error occurs
+     * @throws IllegalArgumentException if the line count is negative
+     * @since 2.6
+     */
+    public List<String> readLines(final int lineCount) throws IOException {
+        if (lineCount < 0) {
+            throw new IllegalArgumentException("lineCount < 0");
+        }
+        final List<String> lines = new ArrayList<String>(Math.min(lineCount, 1024));
+        String line;
+        while (lines.size() < lineCount && (line = readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
     /**
      * Closes underlying resources.
      *
      * @throws IOException  if an I/O error occurs
      */
     public void close() throws IOException {
+        window = null;
         randomAccessFile.close();
     }
 
+    /**
+     * Reads the line before the unread end from the mapped windows, in the same way as
+     * {@link FilePart#readLine()} does from the blocks.
+     *
+     * @return the line, or null if the start of the file is reached
+     * @throws IOException if a window cannot be mapped
+     */
+    private String readMappedLine() throws IOException {
+        if (unreadEnd <= 0) {
+            return null;
+        }
+        for (long i = unreadEnd - 1; i >= 0; i -= byteDecrement) {
+            final int newLineMatchByteCount = getMappedNewLineMatchByteCount(i);
+            if (newLineMatchByteCount > 0) {
+                final String line = decodeMapped(i + 1, unreadEnd);
+                unreadEnd = i - newLineMatchByteCount + 1;
+                return line;
+            }
+        }
+        // there is no line break anymore, this is the first line of the file
+        final String line = decodeMapped(0, unreadEnd);
+        unreadEnd = 0;
+        return line;
+    }
+
+    /**
+     * Finds the new-line sequence ending at a position of the file and return its length.
+     *
+     * @param i the position in the file
+     * @return length of newline sequence or 0 if none found
+     * @throws IOException if a window cannot be mapped
+     */
+    private int getMappedNewLineMatchByteCount(final long i) throws IOException {
+        final byte last = mappedByte(i);
+        if (last != lastByteOfLF && last != lastByteOfCR) {
+            // no new-line sequence ends with this byte
+            return 0;
+        }
+        for (final byte[] newLineSequence : newLineSequences) {
+            boolean match = true;
+            for (int j = newLineSequence.length - 1; j >= 0 && match; j--) {
+                final long k = i + j - (newLineSequence.length - 1);
+                match = k >= 0 && mappedByte(k) == newLineSequence[j];
+            }
+            if (match) {
+                return newLineSequence.length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a byte of the unread part of the file.
+     */
+    private byte mappedByte(final long position) throws IOException {
+        if (position < windowStart) {
+            mapWindow(position);
+        }
+        return window.get((int) (position - windowStart));
+    }
+
+    /**
+     * Returns the size of the blocks the file is read in when it is not mapped.
+     *
+     * @return the block size
+     */
+    int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Maps a window ending at the unread end which includes the given position. The window is
+     * at least twice as long as the part from the position, so that long lines only need a few windows.
+     *
+     * @param position the position in the file
+     * @throws IOException if the window cannot be mapped
+     */
+    void mapWindow(final long position) throws IOException {
+        final long length = Math.min(Math.max(windowSize, (unreadEnd - position) * 2), Integer.MAX_VALUE);
+        final long start = Math.max(0, unreadEnd - length);
+        if (position < start) {
+            throw new IOException("Line too long to be mapped: " + (unreadEnd - position) + " bytes");
+        }
+        window = null; // allow the previous window to be unmapped
+        window = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, start, unreadEnd - start);
+        windowStart = start;
+    }
+
+    /**
+     * Decodes bytes of the mapped window, without copying them.
+     */
+    private String decodeMapped(final long start, final long end) throws IOException {
+        if (start < windowStart) {
+            mapWindow(start);
+        }
+        final int length = (int) (end - start);
+        final int maxChars = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (lineChars.capacity() < maxChars) {
+            lineChars = CharBuffer.allocate(Math.max(lineChars.capacity() << 1, maxChars));
+        }
+        lineChars.clear();
+        final Buffer bytes = window; // Buffer methods, as MappedByteBuffer only overrides them since Java 9
+        bytes.limit((int) (end - windowStart));
+        bytes.position((int) (start - windowStart));
+        decoder.reset();
+        decoder.decode(window, lineChars, true);
+        decoder.flush(lineChars);
+        bytes.clear();
+        lineChars.flip();
+        return lineChars.toString();
+    }
+
     private class FilePart {
         private final long no;
 
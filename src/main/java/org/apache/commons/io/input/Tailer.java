@@ -18,15 +18,23 @@ package org.apache.commons.io.input;
 
 import static org.apache.commons.io.IOUtils.EOF;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.monitor.DirectoryWatcher;
 
 /**
  * Simple implementation of the unix "tail -f" functionality.
@@ -111,9 +119,39 @@ import org.apache.commons.io.IOUtils;
  * </pre>
  * <p>If you interrupt a tailer, the tailer listener is called with the {@link InterruptedException}.</p>
  *
+ * <h2>5. Waiting for changes</h2>
+ * <p>By default, a tailer checks the file for changes every <code>delayMillis</code>. A tailer created
+ * with <code>watch</code> set to true instead waits for the file system to report a change in the file's
+ * directory, see {@link DirectoryWatcher}, so that new lines are handled within milliseconds. It still
+ * checks the file at least every <code>delayMillis</code>, in case a change is not reported, and falls
+ * back to polling when the directory cannot be watched, for example on Java 6.</p>
+ *
+ * <h2>6. Handling lines in blocks</h2>
+ * <p>A listener that implements {@link TailerBatchListener} receives all the lines completed by
+ * each read of the file in one call, which keeps the per-line overhead low when lines arrive
+ * quickly. {@link TailerListenerAdapter} is such a listener.</p>
+ *
+ * <h2>7. Tailing many files</h2>
+ * <p>Instead of running each tailer in its own thread, many tailers can share the threads
+ * of a {@link TailerService}.</p>
+ *
+ * <h2>8. Resuming after a restart</h2>
+ * <p>A tailer created with a {@link TailerCheckpointStore} saves the position up to which it has
+ * delivered lines every <code>checkpointMillis</code> while it reads, and when it stops. Once restarted
+ * with the same store, it resumes from the saved position rather than from the beginning or the end of
+ * the file. If the file has been replaced or truncated in the meantime, as told by its identity (see
+ * {@link TailerCheckpoint}) and length, the tailer calls {@link TailerListener#fileRotated()} and reads
+ * the new file from the beginning; lines added to the old file after the last checkpoint are lost.</p>
+ * <pre>
+ *      TailerCheckpointStore store = new FileTailerCheckpointStore(new File("checkpoints"));
+ *      Tailer tailer = new Tailer(file, Charsets.UTF_8, listener, 1000, true, false, 4096, false, store, 5000);
+ * </pre>
+ *
  * <p>The file is read using the default charset; this can be overriden if necessary</p>
  * @see TailerListener
+ * @see TailerBatchListener
  * @see TailerListenerAdapter
+ * @see TailerService
  * @version $Id$
  * @since 2.0
  * @since 2.5 Updated behavior and documentation for {@link Thread#interrupt()}
@@ -159,11 +197,96 @@ public class Tailer implements Runnable {
      */
     private final TailerListener listener;
 
+    /**
+     * The listener as a batch listener, null if it handles lines one at a time.
+     */
+    private final TailerBatchListener batchListener;
+
+    /**
+     * The decoder of the lines, re-used for every line.
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * The characters of the line being decoded.
+     */
+    private CharBuffer lineChars = CharBuffer.allocate(64);
+
+    /**
+     * The bytes of a line that started in an earlier read.
+     */
+    private byte[] lineBuf = new byte[64];
+
+    /**
+     * The number of bytes in lineBuf.
+     */
+    private int lineBufLength;
+
     /**
      * Whether to close and reopen the file whilst waiting for more input.
      */
     private final boolean reOpen;
 
+    /**
+     * Whether to wait for change events rather than sleep between checks.
+     */
+    private final boolean watch;
+
+    /**
+     * The watcher of the file's directory, used and set by the tailer thread.
+     */
+    private DirectoryWatcher watcher;
+
+    /**
+     * The store of the checkpoints, null if the position is not saved.
+     */
+    private final TailerCheckpointStore checkpointStore;
+
+    /**
+     * The interval between checkpoints in milliseconds.
+     */
+    private final long checkpointMillis;
+
+    /**
+     * The identity of the file being read, null until it has been opened.
+     */
+    private TailerCheckpoint identity;
+
+    /**
+     * The position saved by the last checkpoint, -1 if none.
+     */
+    private long savedPosition = -1;
+
+    /**
+     * The time of the last checkpoint.
+     */
+    private long savedTime;
+
+    /**
+     * The file being read, null until it has been opened and while it is closed between checks.
+     */
+    private RandomAccessFile reader;
+
+    /**
+     * Whether the file has been opened.
+     */
+    private boolean opened;
+
+    /**
+     * The position within the file.
+     */
+    private long position;
+
+    /**
+     * The last time the file was checked for changes.
+     */
+    private long last;
+
+    /**
+     * Whether the last read of new lines reached the end of the file.
+     */
+    private boolean endOfFile;
+
     /**
      * The tailer will run as long as this value is true.
      */
@@ -252,6 +375,46 @@ public class Tailer implements Runnable {
     public Tailer(final File file, final Charset cset, final TailerListener listener, final long delayMillis,
                   final boolean end, final boolean reOpen
             , final int bufSize) {
+        this(file, cset, listener, delayMillis, end, reOpen, bufSize, false);
+    }
+
+    /**
+     * Creates a Tailer for the given file, optionally waiting for change events.
+     * @param file the file to follow.
+     * @param cset the Charset to be used for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds;
+     * the longest delay between checks if watching.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file.
+     * @param reOpen if true, close and reopen the file between reading chunks
+     * @param bufSize Buffer size
+     * @param watch if true, check the file as soon as a change in its directory is reported
+     * @since 2.6
+     */
+    public Tailer(final File file, final Charset cset, final TailerListener listener, final long delayMillis,
+                  final boolean end, final boolean reOpen, final int bufSize, final boolean watch) {
+        this(file, cset, listener, delayMillis, end, reOpen, bufSize, watch, null, 0);
+    }
+
+    /**
+     * Creates a Tailer for the given file, resuming from the last checkpoint saved in a store.
+     * @param file the file to follow.
+     * @param cset the Charset to be used for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds;
+     * the longest delay between checks if watching.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file,
+     * if there is no checkpoint.
+     * @param reOpen if true, close and reopen the file between reading chunks
+     * @param bufSize Buffer size
+     * @param watch if true, check the file as soon as a change in its directory is reported
+     * @param checkpointStore the store of the checkpoints, null to not save the position
+     * @param checkpointMillis the shortest interval between checkpoints in milliseconds
+     * @since 2.6
+     */
+    public Tailer(final File file, final Charset cset, final TailerListener listener, final long delayMillis,
+                  final boolean end, final boolean reOpen, final int bufSize, final boolean watch,
+                  final TailerCheckpointStore checkpointStore, final long checkpointMillis) {
         this.file = file;
         this.delayMillis = delayMillis;
         this.end = end;
@@ -260,9 +423,17 @@ public class Tailer implements Runnable {
 
         // Save and prepare the listener
         this.listener = listener;
+        this.batchListener = listener instanceof TailerBatchListener ? (TailerBatchListener) listener : null;
         listener.init(this);
         this.reOpen = reOpen;
-        this.cset = cset; 
+        this.watch = watch;
+        this.checkpointStore = checkpointStore;
+        this.checkpointMillis = checkpointMillis;
+        this.cset = cset;
+        // same replacement behaviour as new String(byte[], Charset)
+        this.decoder = cset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
     }
 
     /**
@@ -319,6 +490,57 @@ public class Tailer implements Runnable {
         return tailer;
     }
 
+    /**
+     * Creates and starts a Tailer for the given file, optionally waiting for change events.
+     *
+     * @param file the file to follow.
+     * @param charset the character set to use for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds;
+     * the longest delay between checks if watching.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file.
+     * @param reOpen whether to close/reopen the file between chunks
+     * @param bufSize buffer size.
+     * @param watch if true, check the file as soon as a change in its directory is reported
+     * @return The new tailer
+     * @since 2.6
+     */
+    public static Tailer create(final File file, final Charset charset, final TailerListener listener,
+                                final long delayMillis, final boolean end, final boolean reOpen,
+                                final int bufSize, final boolean watch) {
+        return create(file, charset, listener, delayMillis, end, reOpen, bufSize, watch, null, 0);
+    }
+
+    /**
+     * Creates and starts a Tailer for the given file, resuming from the last checkpoint saved in a store.
+     *
+     * @param file the file to follow.
+     * @param charset the character set to use for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds;
+     * the longest delay between checks if watching.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file,
+     * if there is no checkpoint.
+     * @param reOpen whether to close/reopen the file between chunks
+     * @param bufSize buffer size.
+     * @param watch if true, check the file as soon as a change in its directory is reported
+     * @param checkpointStore the store of the checkpoints, null to not save the position
+     * @param checkpointMillis the shortest interval between checkpoints in milliseconds
+     * @return The new tailer
+     * @since 2.6
+     */
+    public static Tailer create(final File file, final Charset charset, final TailerListener listener,
+                                final long delayMillis, final boolean end, final boolean reOpen,
+                                final int bufSize, final boolean watch,
+                                final TailerCheckpointStore checkpointStore, final long checkpointMillis) {
+        final Tailer tailer = new Tailer(file, charset, listener, delayMillis, end, reOpen, bufSize, watch,
+                checkpointStore, checkpointMillis);
+        final Thread thread = new Thread(tailer);
+        thread.setDaemon(true);
+        thread.start();
+        return tailer;
+    }
+
     /**
      * Creates and starts a Tailer for the given file with default buffer size.
      *
@@ -404,80 +626,13 @@ public class Tailer implements Runnable {
      * Follows changes in the file, calling the TailerListener's handle method for each new line.
      */
     public void run() {
-        RandomAccessFile reader = null;
         try {
-            long last = 0; // The last time the file was checked for changes
-            long position = 0; // position within the file
-            // Open the file
-            while (getRun() && reader == null) {
-                try {
-                    reader = new RandomAccessFile(file, RAF_MODE);
-                } catch (final FileNotFoundException e) {
-                    listener.fileNotFound();
-                }
-                if (reader == null) {
-                    Thread.sleep(delayMillis);
-                } else {
-                    // The current position in the file
-                    position = end ? file.length() : 0;
-                    last = file.lastModified();
-                    reader.seek(position);
-                }
+            if (watch) {
+                startWatching();
             }
             while (getRun()) {
-                final boolean newer = FileUtils.isFileNewer(file, last); // IO-279, must be done first
-                // Check the file length to see if it was rotated
-                final long length = file.length();
-                if (length < position) {
-                    // File was rotated
-                    listener.fileRotated();
-                    // Reopen the reader after rotation
-                    try {
-                        // Ensure that the old file is closed iff we re-open it successfully
-                        final RandomAccessFile save = reader;
-                        reader = new RandomAccessFile(file, RAF_MODE);
-                        // At this point, we're sure that the old file is rotated
-                        // Finish scanning the old file and then we'll start with the new one
-                        try {
-                            readLines(save);
-                        }  catch (IOException ioe) {
-                            listener.handle(ioe);
-                        }
-                        position = 0;
-                        // close old file explicitly rather than relying on GC picking up previous RAF
-                        IOUtils.closeQuietly(save);
-                    } catch (final FileNotFoundException e) {
-                        // in this case we continue to use the previous reader and position values
-                        listener.fileNotFound();
-                    }
-                    continue;
-                } else {
-                    // File was not rotated
-                    // See if the file needs to be read again
-                    if (length > position) {
-                        // The file has more content than it did last time
-                        position = readLines(reader);
-                        last = file.lastModified();
-                    } else if (newer) {
-                        /*
-                         * This can happen if the file is truncated or overwritten with the exact same length of
-                         * information. In cases like this, the file position needs to be reset
-                         */
-                        position = 0;
-                        reader.seek(position); // cannot be null here
-
-                        // Now we can read new lines
-                        position = readLines(reader);
-                        last = file.lastModified();
-                    }
-                }
-                if (reOpen) {
-                    IOUtils.closeQuietly(reader);
-                }
-                Thread.sleep(delayMillis);
-                if (getRun() && reOpen) {
-                    reader = new RandomAccessFile(file, RAF_MODE);
-                    reader.seek(position);
+                if (!tail(Long.MAX_VALUE) && getRun()) {
+                    waitForChange();
                 }
             }
         } catch (final InterruptedException e) {
@@ -486,15 +641,227 @@ public class Tailer implements Runnable {
         } catch (final Exception e) {
             stop(e);
         } finally {
+            release();
+        }
+    }
+
+    /**
+     * Checks the file once, opening it first if need be, and handles its new lines.
+     *
+     * @param maxBytes the number of bytes after which to stop reading, once at least one line
+     * has been handled
+     * @return true if the file should be checked again without waiting, because it has just
+     * been opened or rotated or not all of its new content has been read
+     * @throws IOException if an I/O error occurs
+     */
+    boolean tail(final long maxBytes) throws IOException {
+        if (reader == null) {
+            if (!opened) {
+                try {
+                    reader = new RandomAccessFile(file, RAF_MODE);
+                } catch (final FileNotFoundException e) {
+                    listener.fileNotFound();
+                    return false;
+                }
+                opened = true;
+                // The current position in the file
+                position = end ? file.length() : 0;
+                identity = identify();
+                if (checkpointStore != null) {
+                    position = resume(position);
+                }
+                last = file.lastModified();
+                reader.seek(position);
+                return true;
+            }
+            // closed between checks
+            reader = new RandomAccessFile(file, RAF_MODE);
+            reader.seek(position);
+        }
+        final boolean newer = FileUtils.isFileNewer(file, last); // IO-279, must be done first
+        // Check the file length to see if it was rotated
+        final long length = file.length();
+        if (length < position) {
+            // File was rotated
+            listener.fileRotated();
+            // Reopen the reader after rotation
+            try {
+                // Ensure that the old file is closed iff we re-open it successfully
+                final RandomAccessFile save = reader;
+                reader = new RandomAccessFile(file, RAF_MODE);
+                final TailerCheckpoint newIdentity = identify();
+                // At this point, we're sure that the old file is rotated
+                // Finish scanning the old file and then we'll start with the new one
+                try {
+                    readLines(save, Long.MAX_VALUE);
+                }  catch (IOException ioe) {
+                    listener.handle(ioe);
+                }
+                position = 0;
+                identity = newIdentity;
+                savedPosition = -1;
+                // close old file explicitly rather than relying on GC picking up previous RAF
+                IOUtils.closeQuietly(save);
+            } catch (final FileNotFoundException e) {
+                // in this case we continue to use the previous reader and position values
+                listener.fileNotFound();
+                return false;
+            }
+            saveCheckpoint(false);
+            return true;
+        }
+        // File was not rotated
+        boolean more = false;
+        // See if the file needs to be read again
+        if (length > position) {
+            // The file has more content than it did last time
+            position = readLines(reader, maxBytes);
+            last = file.lastModified();
+            more = !endOfFile;
+        } else if (newer) {
+            /*
+             * This can happen if the file is truncated or overwritten with the exact same length of
+             * information. In cases like this, the file position needs to be reset
+             */
+            position = 0;
+            reader.seek(position);
+
+            // Now we can read new lines
+            position = readLines(reader, maxBytes);
+            last = file.lastModified();
+            more = !endOfFile;
+        }
+        saveCheckpoint(false);
+        if (reOpen && !more) {
             IOUtils.closeQuietly(reader);
+            reader = null;
         }
+        return more;
+    }
+
+    /**
+     * Reads the identity of the file.
+     *
+     * @return the identity, unknown if it cannot be read
+     */
+    private TailerCheckpoint identify() {
+        try {
+            return TailerCheckpoint.forFile(file, 0);
+        } catch (final IOException e) {
+            return new TailerCheckpoint(0, null, 0);
+        }
+    }
+
+    /**
+     * Finds the position to resume from, once the file has been opened.
+     *
+     * @param defaultPosition the position if there is no usable checkpoint
+     * @return the position of the last checkpoint if it is for the file, 0 if the file has been
+     * replaced or truncated since, or the default position
+     */
+    private long resume(final long defaultPosition) {
+        final TailerCheckpoint saved;
+        try {
+            saved = checkpointStore.load(file);
+        } catch (final IOException e) {
+            listener.handle(e);
+            return defaultPosition;
+        }
+        if (saved == null) {
+            return defaultPosition;
+        }
+        savedTime = System.currentTimeMillis();
+        if (!saved.isSameFile(identity) || saved.getPosition() > file.length()) {
+            // rotated while not tailing
+            listener.fileRotated();
+            return 0;
+        }
+        savedPosition = saved.getPosition();
+        return savedPosition;
+    }
+
+    /**
+     * Saves the position, if it has changed and the checkpoint interval has elapsed.
+     *
+     * @param force whether to save the position before the checkpoint interval has elapsed
+     */
+    private void saveCheckpoint(final boolean force) {
+        if (checkpointStore == null || identity == null || position == savedPosition) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        if (!force && now - savedTime < checkpointMillis) {
+            return;
+        }
+        try {
+            checkpointStore.save(file, identity.withPosition(position));
+            savedPosition = position;
+            savedTime = now;
+        } catch (final IOException e) {
+            listener.handle(e);
+        }
+    }
+
+    /**
+     * Saves the position, closes the file and stops watching its directory.
+     */
+    void release() {
+        saveCheckpoint(true);
+        IOUtils.closeQuietly(reader);
+        reader = null;
+        IOUtils.closeQuietly(watcher);
+        watcher = null;
+    }
+
+    /**
+     * Starts watching the directory of the file, if possible.
+     */
+    private void startWatching() {
+        if (DirectoryWatcher.isAvailable()) {
+            try {
+                watcher = new DirectoryWatcher(file.getAbsoluteFile().getParentFile());
+            } catch (final IOException e) {
+                // e.g. the directory does not exist (yet): poll instead
+                watcher = null;
+            }
+        }
+    }
+
+    /**
+     * Waits for the next check of the file: until a change of the file is reported
+     * if watching, but no longer than the delay.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private void waitForChange() throws InterruptedException {
+        if (watcher != null) {
+            final long deadline = System.currentTimeMillis() + delayMillis;
+            try {
+                long remaining = delayMillis;
+                do {
+                    // wake up now and then to notice stop()
+                    final long timeout = Math.min(remaining, DEFAULT_DELAY_MILLIS);
+                    final Set<String> changed = watcher.poll(timeout, TimeUnit.MILLISECONDS);
+                    if (changed == null || changed.contains(file.getName())) {
+                        return;
+                    }
+                    remaining = deadline - System.currentTimeMillis();
+                } while (remaining > 0 && getRun());
+                return;
+            } catch (final IOException e) {
+                // e.g. the directory has been deleted: poll from now on
+                IOUtils.closeQuietly(watcher);
+                watcher = null;
+            }
+        }
+        Thread.sleep(delayMillis);
     }
 
     /**
      * Stops the tailer with an exception
      * @param e The exception to send to listener
      */
-    private void stop(final Exception e) {
+    void stop(final Exception e) {
         listener.handle(e);
         stop();
     }
@@ -508,53 +875,110 @@ public class Tailer implements Runnable {
 
     /**
      * Read new lines.
+     * <p>
+     * Lines are found in the bytes read and decoded one at a time, straight from the read
+     * buffer unless they span several reads. The lines completed by each read are passed to
+     * a batch listener in one call.
      *
      * @param reader The file to read
+     * @param maxBytes the number of bytes after which to stop reading, once a line has been handled
      * @return The new position after the lines have been read
      * @throws java.io.IOException if an I/O error occurs.
      */
-    private long readLines(final RandomAccessFile reader) throws IOException {
-        ByteArrayOutputStream lineBuf = new ByteArrayOutputStream(64);
-        long pos = reader.getFilePointer();
+    private long readLines(final RandomAccessFile reader, final long maxBytes) throws IOException {
+        lineBufLength = 0;
+        final long startPos = reader.getFilePointer();
+        long pos = startPos;
         long rePos = pos; // position to re-read
-        int num;
+        int num = 0;
         boolean seenCR = false;
-        while (getRun() && ((num = reader.read(inbuf)) != EOF)) {
+        while (getRun() && (rePos == startPos || pos - startPos < maxBytes)
+                && ((num = reader.read(inbuf)) != EOF)) {
+            final List<String> lines = batchListener == null ? null : new ArrayList<String>();
+            int lineStart = 0; // start of the current line in inbuf
             for (int i = 0; i < num; i++) {
                 final byte ch = inbuf[i];
-                switch (ch) {
-                case '\n':
-                    seenCR = false; // swallow CR before LF
-                    listener.handle(new String(lineBuf.toByteArray(), cset));
-                    lineBuf.reset();
-                    rePos = pos + i + 1;
-                    break;
-                case '\r':
-                    if (seenCR) {
-                        lineBuf.write('\r');
-                    }
+                if (ch == '\r') {
+                    // all but the last of a run of CRs are part of the line
                     seenCR = true;
-                    break;
-                default:
-                    if (seenCR) {
-                        seenCR = false; // swallow final CR
-                        listener.handle(new String(lineBuf.toByteArray(), cset));
-                        lineBuf.reset();
-                        rePos = pos + i + 1;
+                } else if (ch == '\n' || seenCR) {
+                    // swallow CR before LF, or a final CR
+                    final String line = line(lineStart, seenCR ? i - 1 : i);
+                    if (lines == null) {
+                        listener.handle(line);
+                    } else {
+                        lines.add(line);
                     }
-                    lineBuf.write(ch);
+                    seenCR = false;
+                    lineStart = ch == '\n' ? i + 1 : i;
+                    rePos = pos + lineStart;
                 }
             }
+            appendToLineBuf(lineStart, num);
+            if (lines != null && !lines.isEmpty()) {
+                batchListener.handleLines(lines);
+            }
             pos = reader.getFilePointer();
         }
-        IOUtils.closeQuietly(lineBuf); // not strictly necessary
         reader.seek(rePos); // Ensure we can re-read if necessary
 
-        if (listener instanceof TailerListenerAdapter) {
+        endOfFile = num == EOF;
+        if (endOfFile && listener instanceof TailerListenerAdapter) {
             ((TailerListenerAdapter) listener).endOfFileReached();
         }
 
         return rePos;
     }
 
+    /**
+     * Completes a line with bytes of the read buffer.
+     *
+     * @param start the start of the line's bytes in the read buffer
+     * @param end the end of the line's bytes in the read buffer, which is -1 if the
+     * line ended with the last byte of the previous read, a CR that is not part of it
+     * @return the decoded line
+     */
+    private String line(final int start, final int end) {
+        if (lineBufLength == 0) {
+            return decode(inbuf, start, end - start);
+        }
+        if (end < start) {
+            lineBufLength--; // the CR
+        } else {
+            appendToLineBuf(start, end);
+        }
+        final String line = decode(lineBuf, 0, lineBufLength);
+        lineBufLength = 0;
+        return line;
+    }
+
+    /**
+     * Keeps bytes of the read buffer that belong to a line which is not complete yet.
+     */
+    private void appendToLineBuf(final int start, final int end) {
+        final int length = end - start;
+        if (lineBufLength + length > lineBuf.length) {
+            final byte[] newLineBuf = new byte[Math.max(lineBuf.length << 1, lineBufLength + length)];
+            System.arraycopy(lineBuf, 0, newLineBuf, 0, lineBufLength);
+            lineBuf = newLineBuf;
+        }
+        System.arraycopy(inbuf, start, lineBuf, lineBufLength, length);
+        lineBufLength += length;
+    }
+
+    /**
+     * Decodes a line with the re-used decoder.
+     */
+    private String decode(final byte[] bytes, final int offset, final int length) {
+        final int maxChars = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (lineChars.capacity() < maxChars) {
+            lineChars = CharBuffer.allocate(Math.max(lineChars.capacity() << 1, maxChars));
+        }
+        lineChars.clear();
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(bytes, offset, length), lineChars, true);
+        decoder.flush(lineChars);
+        return new String(lineChars.array(), 0, lineChars.position());
+    }
+
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.util.List;
+
+/**
+ * A {@link TailerListener} that receives the lines read by a {@link Tailer}
+ * in blocks rather than one at a time.
+ * <p>
+ * The tailer calls {@link #handleLines(List)} once for each buffer full of
+ * data it reads, with all the lines completed by that data, instead of
+ * calling {@link #handle(String)}.
+ * {@link TailerListenerAdapter} implements this interface by passing each
+ * line on to {@link #handle(String)}.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public interface TailerBatchListener extends TailerListener {
+
+    /**
+     * Handles the lines completed by one read of a Tailer, in the order they
+     * appear in the file.
+     * <p>
+     * <b>Note:</b> this is called from the tailer thread.
+     * @param lines the lines, never empty; the listener may keep the list.
+     */
+    void handleLines(List<String> lines);
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * The position up to which a {@link Tailer} has delivered the lines of a file,
+ * with the identity of the file, so that tailing can resume there after a restart.
+ * <p>
+ * The identity is the file key (such as the device and inode numbers) where the
+ * file system provides one, and otherwise the creation time of the file. Both
+ * require Java 7; on Java 6, or when the file system provides neither, the
+ * identity is unknown and only the length of the file tells whether it has been
+ * replaced.
+ *
+ * @see TailerCheckpointStore
+ * @version $Id$
+ * @since 2.6
+ */
+public final class TailerCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The position up to which lines have been delivered. */
+    private final long position;
+
+    /** The file key, null if unknown. */
+    private final String fileKey;
+
+    /** The creation time, 0 if unknown. */
+    private final long creationTime;
+
+    /**
+     * Creates a checkpoint.
+     *
+     * @param position the position up to which lines have been delivered
+     * @param fileKey the file key, null if unknown
+     * @param creationTime the creation time of the file in milliseconds since the epoch, 0 if unknown
+     * @throws IllegalArgumentException if the position is negative
+     */
+    public TailerCheckpoint(final long position, final String fileKey, final long creationTime) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position: " + position);
+        }
+        this.position = position;
+        this.fileKey = fileKey;
+        this.creationTime = creationTime;
+    }
+
+    /**
+     * Creates a checkpoint for a position in a file, reading the identity of the file.
+     *
+     * @param file the file
+     * @param position the position up to which lines have been delivered
+     * @return the checkpoint, with an unknown identity if it cannot be read
+     * @throws IOException if an I/O error occurs reading the identity of the file
+     */
+    public static TailerCheckpoint forFile(final File file, final long position) throws IOException {
+        final FileIdentity identity = FileIdentity.of(file);
+        return new TailerCheckpoint(position, identity.getFileKey(), identity.getCreationTime());
+    }
+
+    /**
+     * Returns the position up to which lines have been delivered.
+     *
+     * @return the position
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the file key.
+     *
+     * @return the file key, null if unknown
+     */
+    public String getFileKey() {
+        return fileKey;
+    }
+
+    /**
+     * Returns the creation time of the file.
+     *
+     * @return the creation time in milliseconds since the epoch, 0 if unknown
+     */
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    /**
+     * Returns a checkpoint for another position in the same file.
+     *
+     * @param newPosition the position
+     * @return the checkpoint
+     */
+    public TailerCheckpoint withPosition(final long newPosition) {
+        return newPosition == position ? this : new TailerCheckpoint(newPosition, fileKey, creationTime);
+    }
+
+    /**
+     * Indicates whether the checkpoints may be for the same file. The file keys are compared if both are
+     * known; otherwise, the creation times, which some file systems do not keep, are compared if both
+     * are known.
+     *
+     * @param other the other checkpoint
+     * @return false if the files are known to be different
+     */
+    public boolean isSameFile(final TailerCheckpoint other) {
+        if (fileKey != null && other.fileKey != null) {
+            return fileKey.equals(other.fileKey);
+        }
+        if (fileKey == null && other.fileKey == null && creationTime != 0 && other.creationTime != 0) {
+            return creationTime == other.creationTime;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TailerCheckpoint)) {
+            return false;
+        }
+        final TailerCheckpoint other = (TailerCheckpoint) obj;
+        return position == other.position && creationTime == other.creationTime
+                && (fileKey == null ? other.fileKey == null : fileKey.equals(other.fileKey));
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = (int) (position ^ (position >>> 32));
+        hash = 31 * hash + (int) (creationTime ^ (creationTime >>> 32));
+        return 31 * hash + (fileKey == null ? 0 : fileKey.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return "TailerCheckpoint[position=" + position + ", fileKey=" + fileKey
+                + ", creationTime=" + creationTime + "]";
+    }
+
+}
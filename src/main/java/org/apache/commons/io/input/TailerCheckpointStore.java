@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Keeps the {@link TailerCheckpoint checkpoints} of tailed files, so that a
+ * {@link Tailer} can resume where it stopped.
+ * <p>
+ * A store may be shared by several tailers, and must therefore be thread-safe.
+ *
+ * @see FileTailerCheckpointStore
+ * @version $Id$
+ * @since 2.6
+ */
+public interface TailerCheckpointStore {
+
+    /**
+     * Loads the checkpoint of a file.
+     *
+     * @param file the tailed file
+     * @return the last checkpoint saved for the file, null if there is none
+     * @throws IOException if the checkpoint cannot be read
+     */
+    TailerCheckpoint load(File file) throws IOException;
+
+    /**
+     * Saves the checkpoint of a file, replacing the previous one.
+     *
+     * @param file the tailed file
+     * @param checkpoint the checkpoint
+     * @throws IOException if the checkpoint cannot be written
+     */
+    void save(File file, TailerCheckpoint checkpoint) throws IOException;
+
+}
@@ -16,13 +16,19 @@
  */
 package org.apache.commons.io.input;
 
+import java.util.List;
+
 /**
  * {@link TailerListener} Adapter.
+ * <p>
+ * As a {@link TailerBatchListener}, it receives the lines in blocks and passes
+ * each one on to {@link #handle(String)}; subclasses may override
+ * {@link #handleLines(List)} instead to process a whole block at once.
  *
  * @version $Id$
  * @since 2.0
  */
-public class TailerListenerAdapter implements TailerListener {
+public class TailerListenerAdapter implements TailerBatchListener {
 
     /**
      * The tailer will call this method during construction,
@@ -54,6 +60,18 @@ public class TailerListenerAdapter implements TailerListener {
     public void handle(final String line) {
     }
 
+    /**
+     * Handles the lines completed by one read of a Tailer, calling
+     * {@link #handle(String)} for each of them.
+     * @param lines the lines.
+     * @since 2.6
+     */
+    public void handleLines(final List<String> lines) {
+        for (final String line : lines) {
+            handle(line);
+        }
+    }
+
     /**
      * Handles an Exception .
      * @param ex the exception.
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tails many files with a small, fixed number of threads.
+ * <p>
+ * Each {@link Tailer} run by its own thread keeps that thread for as long as it
+ * tails its file, mostly sleeping. A service instead checks each of its tailers
+ * every {@link Tailer#getDelay() delay} on one of its threads, so that thousands
+ * of files can be followed by a handful of threads. The tailers behave as if they
+ * were run by their own threads: they notify their listeners in the same way,
+ * including when their file is not found or rotated, and stop when
+ * {@link Tailer#stop()} is called or when they are removed from the service.
+ * <p>
+ * The files are served in turns: a turn reads at most
+ * {@link #DEFAULT_BYTES_PER_TURN} bytes (but at least one line), after which
+ * the tailer waits behind the others that are due before reading on. A file that
+ * grows quickly therefore cannot hold up the other files.
+ * <p>
+ * A tailer's listener is called by the service's threads, one call at a time.
+ * Tailers run by a service do not watch for file system changes, whatever their
+ * <code>watch</code> setting.
+ * <pre>
+ *      TailerService service = new TailerService(2);
+ *      for (File file : logFiles) {
+ *          service.add(file, new MyTailerListener());
+ *      }
+ *      ...
+ *      service.close();
+ * </pre>
+ *
+ * @see Tailer
+ * @version $Id$
+ * @since 2.6
+ */
+public class TailerService implements Closeable {
+
+    /** The number of bytes of a file read in one turn, 64 KB. */
+    public static final int DEFAULT_BYTES_PER_TURN = 1024 * 64;
+
+    /** The tasks of the tailers, by tailer. */
+    private final ConcurrentMap<Tailer, TailerTask> tasks = new ConcurrentHashMap<Tailer, TailerTask>();
+
+    /** The threads. */
+    private final ScheduledThreadPoolExecutor executor;
+
+    /** Whether the service has been closed. */
+    private volatile boolean closed;
+
+    /**
+     * Creates a service with the given number of threads, which are daemon threads.
+     *
+     * @param threads the number of threads
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public TailerService(final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        executor = new ScheduledThreadPoolExecutor(threads, new DaemonThreadFactory());
+    }
+
+    /**
+     * Starts tailing a file from the beginning, checking it every second, see
+     * {@link Tailer#Tailer(File, TailerListener)}.
+     *
+     * @param file the file to follow
+     * @param listener the TailerListener to use
+     * @return the new tailer
+     * @throws IllegalStateException if the service has been closed
+     */
+    public Tailer add(final File file, final TailerListener listener) {
+        final Tailer tailer = new Tailer(file, listener);
+        add(tailer);
+        return tailer;
+    }
+
+    /**
+     * Starts running a tailer. The tailer must not be run in any other way.
+     *
+     * @param tailer the tailer to run
+     * @throws IllegalArgumentException if the tailer has already been added
+     * @throws IllegalStateException if the service has been closed
+     */
+    public void add(final Tailer tailer) {
+        if (closed) {
+            throw new IllegalStateException("TailerService closed");
+        }
+        final TailerTask task = new TailerTask(tailer);
+        if (tasks.putIfAbsent(tailer, task) != null) {
+            throw new IllegalArgumentException("Tailer already added: " + tailer.getFile());
+        }
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            task.release();
+            throw new IllegalStateException("TailerService closed");
+        }
+    }
+
+    /**
+     * Stops a tailer and closes its file, waiting for the tailer to finish
+     * its current turn if need be.
+     *
+     * @param tailer the tailer to remove
+     * @return true if the tailer was running in this service
+     */
+    public boolean remove(final Tailer tailer) {
+        final TailerTask task = tasks.get(tailer);
+        if (task == null) {
+            return false;
+        }
+        tailer.stop();
+        task.release();
+        return true;
+    }
+
+    /**
+     * Returns the tailers that are running in this service.
+     *
+     * @return an unmodifiable snapshot of the tailers
+     */
+    public Collection<Tailer> getTailers() {
+        return Collections.unmodifiableCollection(new ArrayList<Tailer>(tasks.keySet()));
+    }
+
+    /**
+     * Stops all tailers, closes their files and stops the threads.
+     */
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+        for (final Tailer tailer : tasks.keySet()) {
+            remove(tailer);
+        }
+    }
+
+    /**
+     * Takes the turns of a tailer.
+     */
+    private final class TailerTask implements Runnable {
+
+        private final Tailer tailer;
+
+        /** Whether the tailer's file has been closed for good. */
+        private boolean released;
+
+        TailerTask(final Tailer tailer) {
+            this.tailer = tailer;
+        }
+
+        /**
+         * Takes a turn, then schedules the next one.
+         */
+        public synchronized void run() {
+            if (released) {
+                return;
+            }
+            boolean more = false;
+            if (tailer.getRun()) {
+                try {
+                    more = tailer.tail(DEFAULT_BYTES_PER_TURN);
+                } catch (final Exception e) {
+                    tailer.stop(e);
+                }
+            }
+            if (tailer.getRun()) {
+                try {
+                    executor.schedule(this, more ? 0 : tailer.getDelay(), TimeUnit.MILLISECONDS);
+                    return;
+                } catch (final RejectedExecutionException e) {
+                    // the service has been closed
+                }
+            }
+            release();
+        }
+
+        /**
+         * Closes the tailer's file and forgets the tailer.
+         */
+        synchronized void release() {
+            if (!released) {
+                released = true;
+                tailer.release();
+                tasks.remove(tailer);
+            }
+        }
+    }
+
+    /**
+     * Creates the daemon threads of a service.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger SERVICE_NUMBER = new AtomicInteger();
+
+        private final String prefix = "TailerService-" + SERVICE_NUMBER.incrementAndGet() + "-";
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
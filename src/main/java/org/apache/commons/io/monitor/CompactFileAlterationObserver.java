@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOCase;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * A {@link FileAlterationObserver} which keeps the state of the files in a
+ * compact snapshot instead of a tree of {@link FileEntry} objects.
+ * <p>
+ * The snapshot stores the attributes of the files in arrays of primitives, and
+ * each distinct name once, so that observing a large tree takes several times
+ * less memory. The listeners are notified of the same events, in the same order,
+ * as by a {@link FileAlterationObserver}; as the snapshot is rebuilt by each
+ * {@link #checkAndNotify()}, two snapshots are held while checking.
+ * <p>
+ * <h2>Snapshot File</h2>
+ * When a {@link #setSnapshotFile(File) snapshot file} is set, {@link #destroy()}
+ * saves the snapshot to it, and {@link #initialize()} loads it instead of
+ * checking the whole tree, if it was saved for the same directory and case
+ * sensitivity. The first {@link #checkAndNotify()} then notifies the listeners
+ * of the files created, changed and deleted while the observer was not running,
+ * such as between two runs of a {@link FileAlterationMonitor}. Changes made after
+ * the snapshot was last saved but before the process stopped are reported again
+ * if it stopped without {@link #destroy()}; {@link #saveSnapshot()} may be called
+ * now and then to limit those. The file format has a version number, and files
+ * of other versions are ignored.
+ * <p>
+ * Custom {@link FileEntry} implementations cannot be used with this observer,
+ * and it checks the tree by the calling thread alone, ignoring any
+ * {@link #setExecutor(java.util.concurrent.Executor) executor}.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public class CompactFileAlterationObserver extends FileAlterationObserver {
+
+    private static final long serialVersionUID = 4727406284735564216L;
+
+    /** The first bytes of snapshot files: "CIOS". */
+    private static final int MAGIC = 0x43494F53;
+
+    /** The version of the format of snapshot files. */
+    private static final int VERSION = 1;
+
+    /** The case sensitivity. */
+    private final IOCase caseSensitivity;
+
+    /** The state of the files. */
+    private FileSnapshot snapshot;
+
+    /** The file to save the snapshot to, null if none. */
+    private File snapshotFile;
+
+    /**
+     * Construct an observer for the specified directory.
+     *
+     * @param directory the directory to observe
+     */
+    public CompactFileAlterationObserver(final File directory) {
+        this(directory, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory and file filter.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     */
+    public CompactFileAlterationObserver(final File directory, final FileFilter fileFilter) {
+        this(directory, fileFilter, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory, file filter and
+     * file comparator.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     * @param caseSensitivity  what case sensitivity to use comparing file names, null means system sensitive
+     */
+    public CompactFileAlterationObserver(final File directory, final FileFilter fileFilter,
+                                         final IOCase caseSensitivity) {
+        super(directory, fileFilter, caseSensitivity);
+        this.caseSensitivity = caseSensitivity == null ? IOCase.SYSTEM : caseSensitivity;
+        snapshot = new FileSnapshot(1);
+        snapshot.set(snapshot.allocate(1), directory.getName(), (byte) 0, 0, 0);
+    }
+
+    /**
+     * Return the file the snapshot is saved to.
+     *
+     * @return the snapshot file, null if none
+     */
+    public synchronized File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Set the file the snapshot is saved to by {@link #destroy()} and loaded from by
+     * {@link #initialize()}.
+     *
+     * @param snapshotFile the snapshot file, null if none
+     */
+    public synchronized void setSnapshotFile(final File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Initialize the observer, loading the snapshot file if there is a valid one.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public synchronized void initialize() throws Exception {
+        if (snapshotFile != null && snapshotFile.exists()) {
+            try {
+                snapshot = loadSnapshot(snapshotFile);
+                return;
+            } catch (final IOException e) {
+                // invalid, other version or other directory: check the whole tree
+            }
+        }
+        final FileSnapshot next = new FileSnapshot(snapshot.size());
+        create(next, next.allocate(1), getDirectory(), false);
+        next.trim();
+        snapshot = next;
+    }
+
+    /**
+     * Save the snapshot to the snapshot file, if there is one.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public synchronized void destroy() throws Exception {
+        saveSnapshot();
+        super.destroy();
+    }
+
+    /**
+     * Save the snapshot to the snapshot file, if there is one. The snapshot is written to
+     * a temporary file which then replaces the snapshot file, so that the previous snapshot
+     * remains if saving fails.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized void saveSnapshot() throws IOException {
+        if (snapshotFile == null) {
+            return;
+        }
+        final File temp = new File(snapshotFile.getPath() + ".tmp");
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(getDirectory().getAbsolutePath());
+            out.writeUTF(caseSensitivity.getName());
+            snapshot.write(out);
+            out.close();
+        } finally {
+            IOUtils.closeQuietly(out);
+        }
+        // File.renameTo does not replace an existing file on all platforms
+        if (!temp.renameTo(snapshotFile)) {
+            if (!snapshotFile.delete() || !temp.renameTo(snapshotFile)) {
+                throw new IOException("Cannot replace " + snapshotFile);
+            }
+        }
+    }
+
+    /**
+     * Load a snapshot saved by {@link #saveSnapshot()}.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException if an I/O error occurs, or the file is invalid, of another version or
+     * for another directory or case sensitivity
+     */
+    private FileSnapshot loadSnapshot(final File file) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " of snapshot file: " + file);
+            }
+            if (!getDirectory().getAbsolutePath().equals(in.readUTF())
+                    || !caseSensitivity.getName().equals(in.readUTF())) {
+                throw new IOException("Snapshot file of another observer: " + file);
+            }
+            return FileSnapshot.read(in, file.length());
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    /**
+     * Check whether the file and its children have been created, modified or deleted.
+     */
+    @Override
+    public synchronized void checkAndNotify() {
+        doStart();
+        final FileSnapshot previous = snapshot;
+        final File rootFile = getDirectory();
+        final File[] files;
+        if (rootFile.exists()) {
+            files = listFiles(rootFile);
+        } else if (previous.isExists(0)) {
+            files = FileUtils.EMPTY_FILE_ARRAY;
+        } else {
+            // Didn't exist and still doesn't
+            files = null;
+        }
+        if (files != null) {
+            final FileSnapshot next = new FileSnapshot(previous.size());
+            final int root = next.allocate(1);
+            next.set(root, previous.getName(0), previous.getFlags(0), previous.getLastModified(0),
+                    previous.getLength(0));
+            checkAndNotify(previous, 0, next, root, rootFile, files);
+            next.trim();
+            snapshot = next;
+        }
+        doStop();
+    }
+
+    /**
+     * Compare the children of a directory in the previous snapshot with its current files,
+     * adding the current files to the next snapshot.
+     *
+     * @param previous the previous snapshot
+     * @param parent the number of the directory in the previous snapshot
+     * @param next the next snapshot
+     * @param entry the number of the directory in the next snapshot
+     * @param directory the directory
+     * @param files the current files of the directory
+     */
+    private void checkAndNotify(final FileSnapshot previous, final int parent, final FileSnapshot next,
+                                final int entry, final File directory, final File[] files) {
+        final int first = next.allocate(files.length);
+        next.setChildren(entry, first, files.length);
+        int c = 0;
+        final int end = previous.getFirstChild(parent) + previous.getChildCount(parent);
+        for (int child = previous.getFirstChild(parent); child < end; child++) {
+            final File file = new File(directory, previous.getName(child));
+            while (c < files.length && getComparator().compare(file, files[c]) > 0) {
+                create(next, first + c, files[c], true);
+                c++;
+            }
+            if (c < files.length && getComparator().compare(file, files[c]) == 0) {
+                refresh(next, first + c, files[c]);
+                if (next.getFlags(first + c) != previous.getFlags(child)
+                        || next.getLastModified(first + c) != previous.getLastModified(child)
+                        || next.getLength(first + c) != previous.getLength(child)) {
+                    doChange(files[c], next.isDirectory(first + c));
+                }
+                checkAndNotify(previous, child, next, first + c, files[c], listFiles(files[c]));
+                c++;
+            } else {
+                delete(previous, child, file);
+            }
+        }
+        for (; c < files.length; c++) {
+            create(next, first + c, files[c], true);
+        }
+    }
+
+    /**
+     * Add a file and its children to a snapshot.
+     *
+     * @param next the snapshot
+     * @param entry the number of the file in the snapshot
+     * @param file the file
+     * @param notify whether to fire create events
+     */
+    private void create(final FileSnapshot next, final int entry, final File file, final boolean notify) {
+        refresh(next, entry, file);
+        if (notify) {
+            doCreate(file, next.isDirectory(entry));
+        }
+        final File[] files = listFiles(file);
+        final int first = next.allocate(files.length);
+        next.setChildren(entry, first, files.length);
+        for (int i = 0; i < files.length; i++) {
+            create(next, first + i, files[i], notify);
+        }
+    }
+
+    /**
+     * Fire delete events for a file of the previous snapshot and its children, children first.
+     *
+     * @param previous the previous snapshot
+     * @param entry the number of the file in the snapshot
+     * @param file the file
+     */
+    private void delete(final FileSnapshot previous, final int entry, final File file) {
+        final int end = previous.getFirstChild(entry) + previous.getChildCount(entry);
+        for (int child = previous.getFirstChild(entry); child < end; child++) {
+            delete(previous, child, new File(file, previous.getName(child)));
+        }
+        doDelete(file, previous.isDirectory(entry));
+    }
+
+    /**
+     * Set the name and attributes of an entry to those of a file, as {@link FileEntry#refresh(File)} does.
+     *
+     * @param next the snapshot
+     * @param entry the number of the entry
+     * @param file the file
+     */
+    private static void refresh(final FileSnapshot next, final int entry, final File file) {
+        final boolean exists = file.exists();
+        final boolean directory = exists && file.isDirectory();
+        final byte flags = (byte) ((exists ? FileSnapshot.EXISTS : 0) | (directory ? FileSnapshot.DIRECTORY : 0));
+        next.set(entry, file.getName(), flags, exists ? file.lastModified() : 0,
+                exists && !directory ? file.length() : 0);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for entries of a directory to be created, modified or deleted, using
+ * the <code>java.nio.file.WatchService</code> of Java 7 and later.
+ * <p>
+ * The watch service is accessed by reflection, so that this class can be
+ * loaded on Java 6: use {@link #isAvailable()} before creating a watcher.
+ * Depending on the platform and file system, the service may be backed by
+ * native change notification (such as inotify on Linux) or by polling, and
+ * it may miss changes made on other hosts to network file systems. Callers
+ * should therefore still check their files now and then, which the timeout
+ * of {@link #poll(long, TimeUnit)} makes easy.
+ * <p>
+ * A watcher must be closed once it is no longer needed.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public class DirectoryWatcher implements Closeable {
+
+    /** The directory being watched. */
+    private final File directory;
+
+    /** The watch service. */
+    private final FileWatchService service;
+
+    /**
+     * Indicates whether watchers can be created, that is whether the Java 7 watch service exists.
+     *
+     * @return true if watchers are available
+     */
+    public static boolean isAvailable() {
+        return FileWatchService.isAvailable();
+    }
+
+    /**
+     * Starts watching a directory.
+     *
+     * @param directory the directory to watch
+     * @throws IOException if the directory cannot be watched
+     * @throws UnsupportedOperationException if watchers are not {@link #isAvailable() available}
+     */
+    public DirectoryWatcher(final File directory) throws IOException {
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("DirectoryWatcher requires Java 7 or later");
+        }
+        this.directory = directory;
+        service = new FileWatchService();
+        try {
+            service.register(directory);
+        } catch (final IOException e) {
+            service.close();
+            throw e;
+        } catch (final RuntimeException e) {
+            service.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the directory being watched.
+     *
+     * @return the directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Waits for changes to the entries of the directory.
+     * <p>
+     * Returns as soon as at least one change has been reported, with the names of all
+     * entries reported as changed so far; the changes have usually been made moments
+     * earlier. Returns an empty set if nothing changed before the timeout, and null if
+     * the watch service lost events, in which case any entry may have changed.
+     *
+     * @param timeout how long to wait, zero or less to return immediately
+     * @param unit the unit of the timeout
+     * @return the names of the changed entries, never empty unless the timeout expired,
+     * or null if changes may have been missed
+     * @throws IOException if the watcher has been closed or the directory can no longer
+     * be watched, for example because it has been deleted
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public Set<String> poll(final long timeout, final TimeUnit unit) throws IOException, InterruptedException {
+        final Map<File, Set<String>> changes = service.poll(timeout, unit);
+        final Set<String> names = changes.get(directory);
+        if (names == null && changes.containsKey(directory)) {
+            return null;
+        }
+        if (!service.isRegistered(directory)) {
+            throw new IOException("Directory can no longer be watched: " + directory);
+        }
+        return names == null ? new HashSet<String>() : names;
+    }
+
+    /**
+     * Stops watching the directory.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void close() throws IOException {
+        service.close();
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryWatcher[" + directory + "]";
+    }
+
+}
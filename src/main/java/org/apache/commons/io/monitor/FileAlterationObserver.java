@@ -19,10 +19,17 @@ package org.apache.commons.io.monitor;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
@@ -106,6 +113,14 @@ import org.apache.commons.io.comparator.NameFileComparator;
  *      observer.addListener(...);
  * </pre>
  *
+ * <h2>Checking in Parallel</h2>
+ * An {@link Executor} may be {@link #setExecutor(Executor) set} to list and
+ * compare the subdirectories of a directory in parallel, which helps with large
+ * trees on storage that serves several requests at a time. The listeners are
+ * still notified by the thread calling {@link #checkAndNotify()}, in the same
+ * order as without an executor; the file filter, however, must then be
+ * thread-safe, which the filters of this library are.
+ *
  * <h2>FileEntry</h2>
  * {@link FileEntry} represents the state of a file or directory, capturing
  * {@link File} attributes at a point in time. Custom implementations of
@@ -126,6 +141,7 @@ public class FileAlterationObserver implements Serializable {
     private final FileEntry rootEntry;
     private final FileFilter fileFilter;
     private final Comparator<File> comparator;
+    private transient volatile Executor executor;
 
     /**
      * Construct an observer for the specified directory.
@@ -236,6 +252,27 @@ public class FileAlterationObserver implements Serializable {
         return fileFilter;
     }
 
+    /**
+     * Return the executor which checks subdirectories in parallel.
+     *
+     * @return the executor, null if the tree is checked by the calling thread alone
+     * @since 2.6
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set the executor which checks subdirectories in parallel. The listeners are still
+     * notified by the thread calling {@link #checkAndNotify()}, in the same order.
+     *
+     * @param executor the executor, null to check the tree by the calling thread alone
+     * @since 2.6
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
     /**
      * Add a file system listener.
      *
@@ -293,26 +330,75 @@ public class FileAlterationObserver implements Serializable {
     public void checkAndNotify() {
 
         /* fire onStart() */
+        doStart();
+
+        /* fire directory/file events */
+        checkAndNotifyAll();
+
+        /* fire onStop() */
+        doStop();
+    }
+
+    /**
+     * Fire start events to the registered listeners.
+     */
+    void doStart() {
         for (final FileAlterationListener listener : listeners) {
             listener.onStart(this);
         }
+    }
 
-        /* fire directory/file events */
+    /**
+     * Fire stop events to the registered listeners.
+     */
+    void doStop() {
+        for (final FileAlterationListener listener : listeners) {
+            listener.onStop(this);
+        }
+    }
+
+    /**
+     * Compare the whole tree with the previous check.
+     */
+    void checkAndNotifyAll() {
         final File rootFile = rootEntry.getFile();
+        final File[] files;
         if (rootFile.exists()) {
-            checkAndNotify(rootEntry, rootEntry.getChildren(), listFiles(rootFile));
+            files = listFiles(rootFile);
         } else if (rootEntry.isExists()) {
-            checkAndNotify(rootEntry, rootEntry.getChildren(), FileUtils.EMPTY_FILE_ARRAY);
+            files = FileUtils.EMPTY_FILE_ARRAY;
         } else {
             // Didn't exist and still doesn't
+            return;
         }
-
-        /* fire onStop() */
-        for (final FileAlterationListener listener : listeners) {
-            listener.onStop(this);
+        final Executor currentExecutor = executor;
+        if (currentExecutor == null) {
+            checkAndNotify(rootEntry, rootEntry.getChildren(), files);
+        } else {
+            final List<Notification> notifications = new ArrayList<Notification>();
+            checkInParallel(currentExecutor, rootEntry, rootEntry.getChildren(), files, notifications);
+            doNotify(notifications);
         }
     }
 
+    /**
+     * Return the entry of the directory being observed.
+     *
+     * @return the root entry
+     */
+    FileEntry getRootEntry() {
+        return rootEntry;
+    }
+
+    /**
+     * Return the comparator which orders the children of entries.
+     *
+     * @return the comparator
+     */
+    Comparator<File> getComparator() {
+        return comparator;
+    }
+
     /**
      * Compare two file lists for files which have been created, modified or deleted.
      *
@@ -320,7 +406,7 @@ public class FileAlterationObserver implements Serializable {
      * @param previous The original list of files
      * @param files  The current list of files
      */
-    private void checkAndNotify(final FileEntry parent, final FileEntry[] previous, final File[] files) {
+    void checkAndNotify(final FileEntry parent, final FileEntry[] previous, final File[] files) {
         int c = 0;
         final FileEntry[] current = files.length > 0 ? new FileEntry[files.length] : FileEntry.EMPTY_ENTRIES;
         for (final FileEntry entry : previous) {
@@ -346,6 +432,109 @@ public class FileAlterationObserver implements Serializable {
         parent.setChildren(current);
     }
 
+    /**
+     * Compare two file lists for files which have been created, modified or deleted,
+     * like {@link #checkAndNotify(FileEntry, FileEntry[], File[])}, but recording the
+     * notifications instead of firing them, and checking the subdirectories found in
+     * both lists by tasks of the executor.
+     *
+     * @param executor The executor
+     * @param parent The parent entry
+     * @param previous The original list of files
+     * @param files  The current list of files
+     * @param notifications The list to add the notifications to, in the order to fire them
+     */
+    private void checkInParallel(final Executor executor, final FileEntry parent, final FileEntry[] previous,
+                                 final File[] files, final List<Notification> notifications) {
+        int c = 0;
+        final FileEntry[] current = files.length > 0 ? new FileEntry[files.length] : FileEntry.EMPTY_ENTRIES;
+        for (final FileEntry entry : previous) {
+            while (c < files.length && comparator.compare(entry.getFile(), files[c]) > 0) {
+                current[c] = createFileEntry(parent, files[c]);
+                notifications.add(new Notification(Notification.CREATE, current[c], null, null));
+                c++;
+            }
+            if (c < files.length && comparator.compare(entry.getFile(), files[c]) == 0) {
+                final File file = files[c];
+                if (entry.refresh(file)) {
+                    notifications.add(new Notification(Notification.CHANGE, entry, file, null));
+                }
+                if (entry.isDirectory()) {
+                    final FutureTask<List<Notification>> task = new FutureTask<List<Notification>>(
+                            new Callable<List<Notification>>() {
+                                public List<Notification> call() {
+                                    final List<Notification> subtree = new ArrayList<Notification>();
+                                    checkInParallel(executor, entry, entry.getChildren(), listFiles(file), subtree);
+                                    return subtree;
+                                }
+                            });
+                    try {
+                        executor.execute(task);
+                    } catch (final RejectedExecutionException e) {
+                        task.run();
+                    }
+                    notifications.add(new Notification(Notification.SUBTREE, null, null, task));
+                } else {
+                    checkInParallel(executor, entry, entry.getChildren(), listFiles(file), notifications);
+                }
+                current[c] = entry;
+                c++;
+            } else {
+                checkInParallel(executor, entry, entry.getChildren(), FileUtils.EMPTY_FILE_ARRAY, notifications);
+                notifications.add(new Notification(Notification.DELETE, entry, null, null));
+            }
+        }
+        for (; c < files.length; c++) {
+            current[c] = createFileEntry(parent, files[c]);
+            notifications.add(new Notification(Notification.CREATE, current[c], null, null));
+        }
+        parent.setChildren(current);
+    }
+
+    /**
+     * Fire recorded notifications, waiting for the subdirectories being checked by the executor.
+     *
+     * @param notifications The notifications
+     */
+    private void doNotify(final List<Notification> notifications) {
+        boolean interrupted = false;
+        try {
+            for (final Notification notification : notifications) {
+                switch (notification.type) {
+                case Notification.CREATE:
+                    doCreate(notification.entry);
+                    break;
+                case Notification.CHANGE:
+                    doChange(notification.file, notification.entry.isDirectory());
+                    break;
+                case Notification.DELETE:
+                    doDelete(notification.entry);
+                    break;
+                default:
+                    while (true) {
+                        try {
+                            doNotify(notification.subtree.get());
+                            break;
+                        } catch (final InterruptedException e) {
+                            // the snapshot is only complete once all subtrees have been checked
+                            interrupted = true;
+                        } catch (final ExecutionException e) {
+                            final Throwable cause = e.getCause();
+                            if (cause instanceof Error) {
+                                throw (Error) cause;
+                            }
+                            throw (RuntimeException) cause;
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     /**
      * Create a new file entry for the specified file.
      *
@@ -353,7 +542,7 @@ public class FileAlterationObserver implements Serializable {
      * @param file The file to create an entry for
      * @return A new file entry
      */
-    private FileEntry createFileEntry(final FileEntry parent, final File file) {
+    FileEntry createFileEntry(final FileEntry parent, final File file) {
         final FileEntry entry = parent.newChildInstance(file);
         entry.refresh(file);
         final FileEntry[] children = doListFiles(file, entry);
@@ -381,34 +570,54 @@ public class FileAlterationObserver implements Serializable {
      *
      * @param entry The file entry
      */
-    private void doCreate(final FileEntry entry) {
-        for (final FileAlterationListener listener : listeners) {
-            if (entry.isDirectory()) {
-                listener.onDirectoryCreate(entry.getFile());
-            } else {
-                listener.onFileCreate(entry.getFile());
-            }
-        }
+    void doCreate(final FileEntry entry) {
+        doCreate(entry.getFile(), entry.isDirectory());
         final FileEntry[] children = entry.getChildren();
         for (final FileEntry aChildren : children) {
             doCreate(aChildren);
         }
     }
 
+    /**
+     * Fire directory/file created events to the registered listeners, for one file.
+     *
+     * @param file The file
+     * @param directory Whether the file is a directory
+     */
+    void doCreate(final File file, final boolean directory) {
+        for (final FileAlterationListener listener : listeners) {
+            if (directory) {
+                listener.onDirectoryCreate(file);
+            } else {
+                listener.onFileCreate(file);
+            }
+        }
+    }
+
     /**
      * Fire directory/file change events to the registered listeners.
      *
      * @param entry The previous file system entry
      * @param file The current file
      */
-    private void doMatch(final FileEntry entry, final File file) {
+    void doMatch(final FileEntry entry, final File file) {
         if (entry.refresh(file)) {
-            for (final FileAlterationListener listener : listeners) {
-                if (entry.isDirectory()) {
-                    listener.onDirectoryChange(file);
-                } else {
-                    listener.onFileChange(file);
-                }
+            doChange(file, entry.isDirectory());
+        }
+    }
+
+    /**
+     * Fire directory/file change events to the registered listeners.
+     *
+     * @param file The current file
+     * @param directory Whether the file is a directory
+     */
+    void doChange(final File file, final boolean directory) {
+        for (final FileAlterationListener listener : listeners) {
+            if (directory) {
+                listener.onDirectoryChange(file);
+            } else {
+                listener.onFileChange(file);
             }
         }
     }
@@ -418,12 +627,22 @@ public class FileAlterationObserver implements Serializable {
      *
      * @param entry The file entry
      */
-    private void doDelete(final FileEntry entry) {
+    void doDelete(final FileEntry entry) {
+        doDelete(entry.getFile(), entry.isDirectory());
+    }
+
+    /**
+     * Fire directory/file delete events to the registered listeners.
+     *
+     * @param file The file
+     * @param directory Whether the file was a directory
+     */
+    void doDelete(final File file, final boolean directory) {
         for (final FileAlterationListener listener : listeners) {
-            if (entry.isDirectory()) {
-                listener.onDirectoryDelete(entry.getFile());
+            if (directory) {
+                listener.onDirectoryDelete(file);
             } else {
-                listener.onFileDelete(entry.getFile());
+                listener.onFileDelete(file);
             }
         }
     }
@@ -435,7 +654,7 @@ public class FileAlterationObserver implements Serializable {
      * @return the directory contents or a zero length array if
      * the empty or the file is not a directory
      */
-    private File[] listFiles(final File file) {
+    File[] listFiles(final File file) {
         File[] children = null;
         if (file.isDirectory()) {
             children = fileFilter == null ? file.listFiles() : file.listFiles(fileFilter);
@@ -471,4 +690,34 @@ public class FileAlterationObserver implements Serializable {
         return builder.toString();
     }
 
+    /**
+     * A notification recorded while checking in parallel.
+     */
+    private static final class Notification {
+
+        static final int CREATE = 0;
+        static final int CHANGE = 1;
+        static final int DELETE = 2;
+        static final int SUBTREE = 3;
+
+        final int type;
+
+        /** The entry created, changed or deleted. */
+        final FileEntry entry;
+
+        /** The file changed. */
+        final File file;
+
+        /** The notifications of a subdirectory, checked by the executor. */
+        final Future<List<Notification>> subtree;
+
+        Notification(final int type, final FileEntry entry, final File file,
+                     final Future<List<Notification>> subtree) {
+            this.type = type;
+            this.entry = entry;
+            this.file = file;
+            this.subtree = subtree;
+        }
+    }
+
 }
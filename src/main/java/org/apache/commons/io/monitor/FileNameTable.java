@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A table of distinct file names, numbered from zero in the order they were added.
+ * <p>
+ * The names are packed into one character array, and found again through an open
+ * addressing hash table of their numbers, so that a name costs little more than its
+ * characters however many entries share it.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+final class FileNameTable implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The characters of the names, one after the other. */
+    private char[] chars;
+
+    /** The number of characters used. */
+    private int charCount;
+
+    /** The offset of each name in the characters, followed by the number of characters used. */
+    private int[] offsets;
+
+    /** The number of names. */
+    private int size;
+
+    /** The number of each name plus one by hash, zero for free slots; null once trimmed. */
+    private int[] slots;
+
+    /**
+     * Creates a table.
+     *
+     * @param capacity the expected number of names
+     */
+    FileNameTable(final int capacity) {
+        final int names = Math.max(capacity, 8);
+        chars = new char[names * 8];
+        offsets = new int[names + 1];
+        slots = new int[Integer.highestOneBit(names * 2 - 1) << 1];
+    }
+
+    /**
+     * Returns the number of names.
+     *
+     * @return the number of names
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a name.
+     *
+     * @param id the number of the name
+     * @return the name
+     */
+    String get(final int id) {
+        final int offset = offsets[id];
+        return new String(chars, offset, offsets[id + 1] - offset);
+    }
+
+    /**
+     * Adds a name unless the table contains it already.
+     *
+     * @param name the name
+     * @return the number of the name
+     */
+    int add(final String name) {
+        if (slots == null) {
+            slots = new int[Integer.highestOneBit(Math.max(size, 8) * 4 - 1)];
+            rehash(slots);
+        }
+        final int mask = slots.length - 1;
+        int slot = hash(name) & mask;
+        while (slots[slot] != 0) {
+            final int id = slots[slot] - 1;
+            if (matches(id, name)) {
+                return id;
+            }
+            slot = slot + 1 & mask;
+        }
+        final int length = name.length();
+        if (charCount + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 3 / 2, charCount + length));
+        }
+        name.getChars(0, length, chars, charCount);
+        charCount += length;
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 3 / 2 + 1);
+        }
+        final int id = size++;
+        offsets[size] = charCount;
+        slots[slot] = id + 1;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Releases the capacity beyond the names added, and the hash table until a name is added.
+     */
+    void trim() {
+        chars = Arrays.copyOf(chars, charCount);
+        offsets = Arrays.copyOf(offsets, size + 1);
+        slots = null;
+    }
+
+    /**
+     * Writes the names.
+     *
+     * @param out the output
+     * @throws IOException if an I/O error occurs
+     */
+    void write(final DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int id = 0; id < size; id++) {
+            out.writeUTF(get(id));
+        }
+    }
+
+    /**
+     * Reads names written by {@link #write(DataOutput)}.
+     *
+     * @param in the input
+     * @param available the number of bytes left in the input, which bounds the number of names
+     * @return the names
+     * @throws IOException if an I/O error occurs or the names are invalid
+     */
+    static FileNameTable read(final DataInput in, final long available) throws IOException {
+        final int size = in.readInt();
+        // each name takes two bytes at least
+        if (size < 0 || size > available / 2) {
+            throw new IOException("Invalid number of names: " + size);
+        }
+        final FileNameTable names = new FileNameTable(size);
+        for (int id = 0; id < size; id++) {
+            final String name = in.readUTF();
+            if (names.add(name) != id) {
+                throw new IOException("Duplicate name: " + name);
+            }
+        }
+        names.trim();
+        return names;
+    }
+
+    /**
+     * Indicates whether a name equals the given one.
+     */
+    private boolean matches(final int id, final String name) {
+        final int offset = offsets[id];
+        final int length = offsets[id + 1] - offset;
+        if (length != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the hash table.
+     */
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        rehash(slots);
+    }
+
+    /**
+     * Adds all names to an empty hash table.
+     */
+    private void rehash(final int[] table) {
+        final int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            final int offset = offsets[id];
+            int slot = hash(chars, offset, offsets[id + 1] - offset) & mask;
+            while (table[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Spreads the hash code of a name, which equals that of its characters.
+     */
+    private static int hash(final String name) {
+        final int h = name.hashCode();
+        return h ^ h >>> 16;
+    }
+
+    /**
+     * Spreads the hash code of characters, as {@link String#hashCode()} computes it.
+     */
+    private static int hash(final char[] chars, final int offset, final int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[offset + i];
+        }
+        return h ^ h >>> 16;
+    }
+
+}
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The state of a tree of files, stored by column in arrays of primitives rather
+ * than as a tree of {@link FileEntry} objects.
+ * <p>
+ * The entries are numbered, the root being entry zero, and the children of an
+ * entry are consecutive entries, sorted as the observer sorts them. An entry
+ * costs some thirty bytes, plus its name if no other entry has the same name,
+ * where a {@link FileEntry} with its {@link java.io.File} costs hundreds.
+ *
+ * @see CompactFileAlterationObserver
+ * @version $Id$
+ * @since 2.6
+ */
+final class FileSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The flag of entries which exist. */
+    static final byte EXISTS = 1;
+
+    /** The flag of entries which are directories. */
+    static final byte DIRECTORY = 2;
+
+    /** The names of the entries. */
+    private FileNameTable names;
+
+    /** The number of entries. */
+    private int size;
+
+    /** The number of the name of each entry. */
+    private int[] nameIds;
+
+    /** The flags of each entry. */
+    private byte[] flags;
+
+    /** The last modified time of each entry. */
+    private long[] lastModified;
+
+    /** The length of each entry. */
+    private long[] lengths;
+
+    /** The number of the first child of each entry. */
+    private int[] firstChild;
+
+    /** The number of children of each entry. */
+    private int[] childCount;
+
+    /**
+     * Creates an empty snapshot.
+     *
+     * @param capacity the expected number of entries
+     */
+    FileSnapshot(final int capacity) {
+        final int entries = Math.max(capacity, 16);
+        names = new FileNameTable(entries / 2);
+        nameIds = new int[entries];
+        flags = new byte[entries];
+        lastModified = new long[entries];
+        lengths = new long[entries];
+        firstChild = new int[entries];
+        childCount = new int[entries];
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds consecutive entries, with no name, attributes or children yet.
+     *
+     * @param count the number of entries
+     * @return the number of the first entry
+     */
+    int allocate(final int count) {
+        final int first = size;
+        if (size + count > nameIds.length) {
+            resize(Math.max(nameIds.length * 3 / 2, size + count));
+        }
+        size += count;
+        return first;
+    }
+
+    /**
+     * Sets the name and attributes of an entry.
+     *
+     * @param entry the number of the entry
+     * @param name the name
+     * @param entryFlags the flags
+     * @param entryLastModified the last modified time
+     * @param length the length
+     */
+    void set(final int entry, final String name, final byte entryFlags, final long entryLastModified,
+             final long length) {
+        nameIds[entry] = names.add(name);
+        flags[entry] = entryFlags;
+        lastModified[entry] = entryLastModified;
+        lengths[entry] = length;
+    }
+
+    /**
+     * Sets the children of an entry.
+     *
+     * @param entry the number of the entry
+     * @param first the number of the first child
+     * @param count the number of children
+     */
+    void setChildren(final int entry, final int first, final int count) {
+        firstChild[entry] = first;
+        childCount[entry] = count;
+    }
+
+    /**
+     * Returns the name of an entry.
+     *
+     * @param entry the number of the entry
+     * @return the name
+     */
+    String getName(final int entry) {
+        return names.get(nameIds[entry]);
+    }
+
+    /**
+     * Returns the flags of an entry.
+     *
+     * @param entry the number of the entry
+     * @return the flags
+     */
+    byte getFlags(final int entry) {
+        return flags[entry];
+    }
+
+    /**
+     * Indicates whether an entry exists.
+     *
+     * @param entry the number of the entry
+     * @return whether the entry exists
+     */
+    boolean isExists(final int entry) {
+        return (flags[entry] & EXISTS) != 0;
+    }
+
+    /**
+     * Indicates whether an entry is a directory.
+     *
+     * @param entry the number of the entry
+     * @return whether the entry is a directory
+     */
+    boolean isDirectory(final int entry) {
+        return (flags[entry] & DIRECTORY) != 0;
+    }
+
+    /**
+     * Returns the last modified time of an entry.
+     *
+     * @param entry the number of the entry
+     * @return the last modified time
+     */
+    long getLastModified(final int entry) {
+        return lastModified[entry];
+    }
+
+    /**
+     * Returns the length of an entry.
+     *
+     * @param entry the number of the entry
+     * @return the length
+     */
+    long getLength(final int entry) {
+        return lengths[entry];
+    }
+
+    /**
+     * Returns the number of the first child of an entry.
+     *
+     * @param entry the number of the entry
+     * @return the number of the first child
+     */
+    int getFirstChild(final int entry) {
+        return firstChild[entry];
+    }
+
+    /**
+     * Returns the number of children of an entry.
+     *
+     * @param entry the number of the entry
+     * @return the number of children
+     */
+    int getChildCount(final int entry) {
+        return childCount[entry];
+    }
+
+    /**
+     * Releases the capacity beyond the entries added.
+     */
+    void trim() {
+        resize(size);
+        names.trim();
+    }
+
+    /**
+     * Writes the entries, column by column.
+     *
+     * @param out the output
+     * @throws IOException if an I/O error occurs
+     */
+    void write(final DataOutput out) throws IOException {
+        names.write(out);
+        out.writeInt(size);
+        for (int entry = 0; entry < size; entry++) {
+            out.writeInt(nameIds[entry]);
+        }
+        out.write(flags, 0, size);
+        for (int entry = 0; entry < size; entry++) {
+            out.writeLong(lastModified[entry]);
+        }
+        for (int entry = 0; entry < size; entry++) {
+            out.writeLong(lengths[entry]);
+        }
+        for (int entry = 0; entry < size; entry++) {
+            out.writeInt(firstChild[entry]);
+        }
+        for (int entry = 0; entry < size; entry++) {
+            out.writeInt(childCount[entry]);
+        }
+    }
+
+    /**
+     * Reads entries written by {@link #write(DataOutput)}.
+     *
+     * @param in the input
+     * @param available the number of bytes left in the input, which bounds the number of entries
+     * @return the snapshot
+     * @throws IOException if an I/O error occurs or the entries are invalid
+     */
+    static FileSnapshot read(final DataInput in, final long available) throws IOException {
+        final FileNameTable names = FileNameTable.read(in, available);
+        final int size = in.readInt();
+        // each entry takes 29 bytes
+        if (size < 1 || size > available / 29) {
+            throw new IOException("Invalid number of entries: " + size);
+        }
+        final FileSnapshot snapshot = new FileSnapshot(size);
+        snapshot.names = names;
+        snapshot.allocate(size);
+        for (int entry = 0; entry < size; entry++) {
+            snapshot.nameIds[entry] = in.readInt();
+            if (snapshot.nameIds[entry] < 0 || snapshot.nameIds[entry] >= names.size()) {
+                throw new IOException("Invalid name of entry " + entry);
+            }
+        }
+        in.readFully(snapshot.flags, 0, size);
+        for (int entry = 0; entry < size; entry++) {
+            snapshot.lastModified[entry] = in.readLong();
+        }
+        for (int entry = 0; entry < size; entry++) {
+            snapshot.lengths[entry] = in.readLong();
+        }
+        for (int entry = 0; entry < size; entry++) {
+            snapshot.firstChild[entry] = in.readInt();
+        }
+        for (int entry = 0; entry < size; entry++) {
+            snapshot.childCount[entry] = in.readInt();
+            // children come after their parent, which keeps the tree free of cycles
+            final long end = (long) snapshot.firstChild[entry] + snapshot.childCount[entry];
+            if (snapshot.childCount[entry] < 0
+                    || snapshot.childCount[entry] > 0 && snapshot.firstChild[entry] <= entry || end > size) {
+                throw new IOException("Invalid children of entry " + entry);
+            }
+        }
+        snapshot.trim();
+        return snapshot;
+    }
+
+    /**
+     * Resizes the columns.
+     */
+    private void resize(final int capacity) {
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        lastModified = Arrays.copyOf(lastModified, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        childCount = Arrays.copyOf(childCount, capacity);
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches directories for entries being created, modified or deleted, using one
+ * <code>java.nio.file.WatchService</code> of Java 7 and later.
+ * <p>
+ * The watch service is accessed by reflection, so that this class can be loaded
+ * on Java 6: use {@link #isAvailable()} before creating a service.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+final class FileWatchService implements Closeable {
+
+    private static final boolean AVAILABLE;
+
+    private static Method toPath;
+
+    private static Method getDefault;
+
+    private static Method newWatchService;
+
+    private static Method register;
+
+    private static Method poll;
+
+    private static Method pollEvents;
+
+    private static Method reset;
+
+    private static Method cancel;
+
+    private static Method kind;
+
+    private static Method context;
+
+    private static Object watchedKinds;
+
+    private static Object overflow;
+
+    static {
+        boolean available = true;
+        try {
+            final ClassLoader cl = FileWatchService.class.getClassLoader();
+            final Class<?> path = Class.forName("java.nio.file.Path", false, cl);
+            final Class<?> fileSystems = Class.forName("java.nio.file.FileSystems", false, cl);
+            final Class<?> fileSystem = Class.forName("java.nio.file.FileSystem", false, cl);
+            final Class<?> watchService = Class.forName("java.nio.file.WatchService", false, cl);
+            final Class<?> watchKey = Class.forName("java.nio.file.WatchKey", false, cl);
+            final Class<?> watchEvent = Class.forName("java.nio.file.WatchEvent", false, cl);
+            final Class<?> watchEventKind = Class.forName("java.nio.file.WatchEvent$Kind", false, cl);
+            final Class<?> standardKinds = Class.forName("java.nio.file.StandardWatchEventKinds", false, cl);
+            toPath = File.class.getMethod("toPath");
+            getDefault = fileSystems.getMethod("getDefault");
+            newWatchService = fileSystem.getMethod("newWatchService");
+            watchedKinds = Array.newInstance(watchEventKind, 3);
+            Array.set(watchedKinds, 0, standardKinds.getField("ENTRY_CREATE").get(null));
+            Array.set(watchedKinds, 1, standardKinds.getField("ENTRY_MODIFY").get(null));
+            Array.set(watchedKinds, 2, standardKinds.getField("ENTRY_DELETE").get(null));
+            overflow = standardKinds.getField("OVERFLOW").get(null);
+            register = path.getMethod("register", watchService, watchedKinds.getClass());
+            poll = watchService.getMethod("poll", long.class, TimeUnit.class);
+            pollEvents = watchKey.getMethod("pollEvents");
+            reset = watchKey.getMethod("reset");
+            cancel = watchKey.getMethod("cancel");
+            kind = watchEvent.getMethod("kind");
+            context = watchEvent.getMethod("context");
+        } catch (final ClassNotFoundException e) {
+            available = false;
+        } catch (final NoSuchMethodException e) {
+            available = false;
+        } catch (final NoSuchFieldException e) {
+            available = false;
+        } catch (final IllegalAccessException e) {
+            available = false;
+        }
+        AVAILABLE = available;
+    }
+
+    /** The java.nio.file.WatchService. */
+    private final Closeable watchService;
+
+    /** The watched directories, by watch key. */
+    private final Map<Object, File> directories = new HashMap<Object, File>();
+
+    /** The watch keys, by directory. */
+    private final Map<File, Object> keys = new HashMap<File, Object>();
+
+    /**
+     * Indicates whether services can be created, that is whether the Java 7 watch service exists.
+     *
+     * @return true if services are available
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Creates a service for the default file system, watching no directories yet.
+     *
+     * @throws IOException if the service cannot be created
+     * @throws UnsupportedOperationException if services are not {@link #isAvailable() available}
+     */
+    FileWatchService() throws IOException {
+        if (!AVAILABLE) {
+            throw new UnsupportedOperationException("Watching directories requires Java 7 or later");
+        }
+        try {
+            watchService = (Closeable) invoke(newWatchService, getDefault.invoke(null));
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (final InvocationTargetException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Starts watching a directory, unless it is watched already.
+     *
+     * @param directory the directory to watch
+     * @throws IOException if the directory cannot be watched
+     */
+    synchronized void register(final File directory) throws IOException {
+        if (!keys.containsKey(directory)) {
+            final Object key = invoke(register, invoke(toPath, directory), watchService, watchedKinds);
+            keys.put(directory, key);
+            directories.put(key, directory);
+        }
+    }
+
+    /**
+     * Stops watching a directory.
+     *
+     * @param directory the directory
+     */
+    synchronized void cancel(final File directory) {
+        final Object key = keys.remove(directory);
+        if (key != null) {
+            directories.remove(key);
+            try {
+                invoke(cancel, key);
+            } catch (final IOException e) {
+                // cancel does not throw checked exceptions
+            }
+        }
+    }
+
+    /**
+     * Indicates whether a directory is watched. A directory is no longer watched once it
+     * has been cancelled, or once it can no longer be watched, for example because it has
+     * been deleted, which is noticed by {@link #poll(long, TimeUnit)}.
+     *
+     * @param directory the directory
+     * @return true if the directory is watched
+     */
+    synchronized boolean isRegistered(final File directory) {
+        return keys.containsKey(directory);
+    }
+
+    /**
+     * Returns the watched directories.
+     *
+     * @return a snapshot of the watched directories
+     */
+    synchronized Set<File> getDirectories() {
+        return new HashSet<File>(keys.keySet());
+    }
+
+    /**
+     * Waits for changes to the entries of the watched directories.
+     * <p>
+     * Returns as soon as at least one change has been reported, with the names of all
+     * entries reported as changed so far by directory, or an empty map if nothing changed
+     * before the timeout. The names of a directory are null if the watch service lost
+     * events, in which case any entry of the directory may have changed.
+     *
+     * @param timeout how long to wait, zero or less to return immediately
+     * @param unit the unit of the timeout
+     * @return the names of the changed entries by directory, sorted by directory
+     * @throws IOException if the service has been closed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    Map<File, Set<String>> poll(final long timeout, final TimeUnit unit) throws IOException, InterruptedException {
+        final Map<File, Set<String>> changes = new TreeMap<File, Set<String>>();
+        Object key = pollKey(Math.max(timeout, 0), unit);
+        while (key != null) {
+            synchronized (this) {
+                final File directory = directories.get(key);
+                boolean lost = directory != null && changes.containsKey(directory)
+                        && changes.get(directory) == null;
+                Set<String> names = directory == null ? null : changes.get(directory);
+                if (names == null) {
+                    names = new HashSet<String>();
+                }
+                for (final Object event : (List<?>) invoke(pollEvents, key)) {
+                    final Object eventContext = invoke(context, event);
+                    if (invoke(kind, event) == overflow || eventContext == null) {
+                        lost = true;
+                    } else {
+                        names.add(eventContext.toString());
+                    }
+                }
+                final boolean valid = ((Boolean) invoke(reset, key)).booleanValue();
+                if (directory != null) {
+                    // otherwise cancelled in the meantime
+                    changes.put(directory, lost ? null : names);
+                    if (!valid) {
+                        keys.remove(directory);
+                        directories.remove(key);
+                    }
+                }
+            }
+            // collect the changes that have queued up in the meantime
+            key = pollKey(0, TimeUnit.MILLISECONDS);
+        }
+        return changes;
+    }
+
+    /**
+     * Stops watching all directories.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Waits for the next signalled watch key.
+     */
+    private Object pollKey(final long timeout, final TimeUnit unit) throws IOException, InterruptedException {
+        try {
+            return poll.invoke(watchService, Long.valueOf(timeout), unit);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (final InvocationTargetException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                throw (InterruptedException) e.getCause();
+            }
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Invokes a method of the watch service API, unwrapping its exceptions.
+     */
+    private static Object invoke(final Method method, final Object target, final Object... args)
+            throws IOException {
+        try {
+            return method.invoke(target, args);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (final InvocationTargetException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Converts the cause of an InvocationTargetException to an IOException, or throws it
+     * if it is unchecked.
+     */
+    private static IOException unwrap(final InvocationTargetException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof IllegalStateException) {
+            // ClosedWatchServiceException
+            return new IOException("Watch service closed", cause);
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
+}
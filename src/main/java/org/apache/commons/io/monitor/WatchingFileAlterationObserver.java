@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOCase;
+
+/**
+ * A {@link FileAlterationObserver} which is told of changes by the
+ * <code>java.nio.file.WatchService</code> of Java 7 and later, instead of
+ * listing and checking the whole tree on every {@link #checkAndNotify()}.
+ * <p>
+ * Each directory of the tree is registered with one watch service. A check then
+ * only looks at the entries which the service reported as changed since the
+ * previous check, and lists a directory again only if the service lost some of
+ * its events, notifying the same {@link FileAlterationListener} events as a
+ * {@link FileAlterationObserver} would. The first check after
+ * {@link #initialize()} compares the whole tree, to catch the changes made while
+ * the directories were being registered.
+ * <p>
+ * When the watch service does not exist (on Java 6) or a directory cannot be
+ * registered, for example because the limit of watched directories of the
+ * platform has been reached, the observer checks the whole tree on every
+ * {@link #checkAndNotify()}, as a {@link FileAlterationObserver} does; see
+ * {@link #isWatching()}. Depending on the platform and file system, the service
+ * may be backed by polling rather than native change notification, and may miss
+ * changes made on other hosts to network file systems.
+ * <p>
+ * The observer must be {@link #destroy() destroyed} once it is no longer needed,
+ * to close the watch service.
+ *
+ * @see FileAlterationMonitor
+ * @version $Id$
+ * @since 2.6
+ */
+public class WatchingFileAlterationObserver extends FileAlterationObserver {
+
+    private static final long serialVersionUID = -3457262307711046370L;
+
+    /** The watch service, null if the tree is checked as a whole. */
+    private transient FileWatchService service;
+
+    /** The entries of the watched directories. */
+    private transient Map<File, FileEntry> directories;
+
+    /** Whether the next check compares the whole tree. */
+    private transient boolean checkAll;
+
+    /**
+     * Construct an observer for the specified directory.
+     *
+     * @param directory the directory to observe
+     */
+    public WatchingFileAlterationObserver(final File directory) {
+        this(directory, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory and file filter.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     */
+    public WatchingFileAlterationObserver(final File directory, final FileFilter fileFilter) {
+        this(directory, fileFilter, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory, file filter and
+     * file comparator.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     * @param caseSensitivity  what case sensitivity to use comparing file names, null means system sensitive
+     */
+    public WatchingFileAlterationObserver(final File directory, final FileFilter fileFilter,
+                                          final IOCase caseSensitivity) {
+        super(directory, fileFilter, caseSensitivity);
+    }
+
+    /**
+     * Indicates whether observers can watch directories, that is whether the Java 7 watch service exists.
+     *
+     * @return true if directories can be watched
+     */
+    public static boolean isAvailable() {
+        return FileWatchService.isAvailable();
+    }
+
+    /**
+     * Indicates whether the observer is told of changes by the watch service, rather than
+     * checking the whole tree on every {@link #checkAndNotify()}.
+     *
+     * @return true if the directories are watched
+     */
+    public synchronized boolean isWatching() {
+        return service != null;
+    }
+
+    /**
+     * Initialize the observer and start watching the directories.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public synchronized void initialize() throws Exception {
+        super.initialize();
+        if (FileWatchService.isAvailable()) {
+            service = new FileWatchService();
+            directories = new HashMap<File, FileEntry>();
+            checkAll = true;
+            try {
+                watch(getRootEntry(), new ArrayList<FileEntry>());
+            } catch (final IOException e) {
+                stopWatching();
+            }
+        }
+    }
+
+    /**
+     * Stop watching the directories.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public synchronized void destroy() throws Exception {
+        stopWatching();
+        super.destroy();
+    }
+
+    /**
+     * Check whether the files reported by the watch service have been created, modified
+     * or deleted.
+     */
+    @Override
+    public synchronized void checkAndNotify() {
+        if (service == null) {
+            super.checkAndNotify();
+            return;
+        }
+        doStart();
+        try {
+            final Map<File, Set<String>> changes = service.poll(0, TimeUnit.MILLISECONDS);
+            final FileEntry rootEntry = getRootEntry();
+            final File rootFile = rootEntry.getFile();
+            if (checkAll || !rootFile.exists() || !service.isRegistered(rootFile)) {
+                checkAll = false;
+                if (rootFile.exists()) {
+                    rescan(rootEntry);
+                } else {
+                    for (final File directory : directories.keySet()) {
+                        service.cancel(directory);
+                    }
+                    directories.clear();
+                    checkAndNotifyAll();
+                }
+            } else {
+                for (final Map.Entry<File, Set<String>> change : changes.entrySet()) {
+                    // sorted, so that changes to a directory come before those to its entries
+                    final FileEntry entry = directories.get(change.getKey());
+                    if (entry == null) {
+                        // deleted in the meantime
+                    } else if (change.getValue() == null) {
+                        rescan(entry);
+                    } else {
+                        if (entry != rootEntry) {
+                            // the parent is not told when entries are added to a directory
+                            doMatch(entry, entry.getFile());
+                        }
+                        for (final String name : change.getValue()) {
+                            check(entry, name);
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            // the service cannot watch the directories (any longer)
+            stopWatching();
+            checkAndNotifyAll();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            checkAll = true;
+        }
+        doStop();
+    }
+
+    /**
+     * Check whether an entry of a directory has been created, modified or deleted.
+     *
+     * @param parent the entry of the directory
+     * @param name the name of the entry
+     * @throws IOException if a directory cannot be watched
+     */
+    private void check(final FileEntry parent, final String name) throws IOException {
+        final File file = new File(parent.getFile(), name);
+        final FileFilter fileFilter = getFileFilter();
+        final boolean accepted = file.exists() && (fileFilter == null || fileFilter.accept(file));
+        final FileEntry[] children = parent.getChildren();
+        final int index = indexOf(children, file);
+        if (index >= 0) {
+            final FileEntry entry = children[index];
+            if (accepted) {
+                final boolean wasDirectory = entry.isDirectory();
+                doMatch(entry, file);
+                if (wasDirectory != entry.isDirectory()) {
+                    rescan(entry);
+                }
+            } else {
+                unwatch(entry);
+                checkAndNotify(entry, entry.getChildren(), FileUtils.EMPTY_FILE_ARRAY);
+                doDelete(entry);
+                final FileEntry[] current = new FileEntry[children.length - 1];
+                System.arraycopy(children, 0, current, 0, index);
+                System.arraycopy(children, index + 1, current, index, current.length - index);
+                parent.setChildren(current);
+            }
+        } else if (accepted) {
+            final FileEntry entry = createFileEntry(parent, file);
+            final int insert = -index - 1;
+            final FileEntry[] current = new FileEntry[children.length + 1];
+            System.arraycopy(children, 0, current, 0, insert);
+            current[insert] = entry;
+            System.arraycopy(children, insert, current, insert + 1, children.length - insert);
+            parent.setChildren(current);
+            doCreate(entry);
+            if (entry.isDirectory()) {
+                // a directory deleted and created again needs a new registration
+                unwatch(entry);
+                watchNew(entry);
+            }
+        }
+    }
+
+    /**
+     * Compare a subtree with the previous check, as a whole, and update the watched directories.
+     *
+     * @param entry the root of the subtree
+     * @throws IOException if a directory cannot be watched
+     */
+    private void rescan(final FileEntry entry) throws IOException {
+        final List<FileEntry> previous = new ArrayList<FileEntry>();
+        collectDirectories(entry, previous);
+        checkAndNotify(entry, entry.getChildren(), listFiles(entry.getFile()));
+        final Set<File> current = new HashSet<File>();
+        for (final FileEntry directory : collectDirectories(entry, new ArrayList<FileEntry>())) {
+            current.add(directory.getFile());
+        }
+        for (final FileEntry directory : previous) {
+            if (!current.contains(directory.getFile())) {
+                service.cancel(directory.getFile());
+                directories.remove(directory.getFile());
+            }
+        }
+        watchNew(entry);
+    }
+
+    /**
+     * Watch the directories of a subtree which are not watched yet, and compare those with
+     * the previous check again, since entries may have been added to them before they were
+     * registered.
+     *
+     * @param entry the root of the subtree
+     * @throws IOException if a directory cannot be watched
+     */
+    private void watchNew(final FileEntry entry) throws IOException {
+        List<FileEntry> added = watch(entry, new ArrayList<FileEntry>());
+        while (!added.isEmpty()) {
+            for (final FileEntry directory : added) {
+                checkAndNotify(directory, directory.getChildren(), listFiles(directory.getFile()));
+            }
+            added = watch(entry, new ArrayList<FileEntry>());
+        }
+    }
+
+    /**
+     * Watch the directories of a subtree.
+     *
+     * @param entry the root of the subtree
+     * @param added the list to add the entries of the newly watched directories to
+     * @return the list of newly watched directories
+     * @throws IOException if an existing directory cannot be watched
+     */
+    private List<FileEntry> watch(final FileEntry entry, final List<FileEntry> added) throws IOException {
+        if (isDirectory(entry)) {
+            final File directory = entry.getFile();
+            if (!service.isRegistered(directory)) {
+                try {
+                    service.register(directory);
+                } catch (final IOException e) {
+                    if (directory.isDirectory()) {
+                        throw e;
+                    }
+                    // deleted in the meantime, which the watch service reports for its parent
+                    return added;
+                }
+                added.add(entry);
+            }
+            directories.put(directory, entry);
+            for (final FileEntry child : entry.getChildren()) {
+                watch(child, added);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Stop watching the directories of a subtree.
+     *
+     * @param entry the root of the subtree
+     */
+    private void unwatch(final FileEntry entry) {
+        for (final FileEntry directory : collectDirectories(entry, new ArrayList<FileEntry>())) {
+            service.cancel(directory.getFile());
+            directories.remove(directory.getFile());
+        }
+    }
+
+    /**
+     * Collect the entries of the directories of a subtree.
+     *
+     * @param entry the root of the subtree
+     * @param result the list to add the entries to
+     * @return the list
+     */
+    private List<FileEntry> collectDirectories(final FileEntry entry, final List<FileEntry> result) {
+        if (isDirectory(entry)) {
+            result.add(entry);
+            for (final FileEntry child : entry.getChildren()) {
+                collectDirectories(child, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indicates whether an entry is a directory to watch. The root entry is only refreshed
+     * by {@link #initialize()}, so its file is asked instead.
+     */
+    private boolean isDirectory(final FileEntry entry) {
+        return entry == getRootEntry() ? entry.getFile().isDirectory() : entry.isDirectory();
+    }
+
+    /**
+     * Find the entry of a file among the sorted children of an entry.
+     *
+     * @param children the children
+     * @param file the file
+     * @return the index of the entry, or <code>(-(insertion point) - 1)</code> if there is none
+     */
+    private int indexOf(final FileEntry[] children, final File file) {
+        final Comparator<File> comparator = getComparator();
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = comparator.compare(children[mid].getFile(), file);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Close the watch service, so that the whole tree is checked from now on.
+     */
+    private void stopWatching() {
+        if (service != null) {
+            try {
+                service.close();
+            } catch (final IOException e) {
+                // ignore
+            }
+            service = null;
+            directories = null;
+        }
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An output stream that stages the data written to it in direct
+ * <code>ByteBuffer</code> segments, outside the Java heap.
+ * <p>
+ * This is a sibling of {@link ByteArrayOutputStream} for large payloads that
+ * are bound for a channel: the content can be written with
+ * {@link #writeTo(WritableByteChannel)}, which uses gathering writes when the
+ * channel supports them, or viewed with {@link #toByteBuffers()} without
+ * copying it to the heap.
+ * <p>
+ * Segments are allocated as data is written. Segments of the
+ * {@link #DEFAULT_SEGMENT_SIZE default size} are taken from, and on
+ * {@link #reset()} or {@link #close()} returned to, a pool shared by all
+ * instances, which keeps up to {@value #MAX_POOLED_SEGMENTS} of them.
+ * <p>
+ * Unlike {@link ByteArrayOutputStream}, closing this stream releases its
+ * content; writing to a closed stream throws an <code>IOException</code>.
+ *
+ * @version $Id$
+ * @since 2.6
+ */
+public class DirectByteBufferOutputStream extends OutputStream {
+
+    /** The default segment size, 64 KB. */
+    public static final int DEFAULT_SEGMENT_SIZE = 1024 * 64;
+
+    /** The maximum number of segments kept by the shared pool. */
+    static final int MAX_POOLED_SEGMENTS = 256;
+
+    /** The pool of segments of the default size. */
+    private static final BlockingQueue<ByteBuffer> SEGMENT_POOL =
+            new ArrayBlockingQueue<ByteBuffer>(MAX_POOLED_SEGMENTS);
+
+    /** The size of each segment. */
+    private final int segmentSize;
+    /** The segments, the last of which is being filled. */
+    private final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+    /** The segment being filled, null until the first write. */
+    private ByteBuffer currentSegment;
+    /** The total count of bytes written. */
+    private long count;
+    /** Whether the stream has been closed. */
+    private boolean closed;
+
+    /**
+     * Creates a new stream with segments of {@link #DEFAULT_SEGMENT_SIZE} bytes.
+     */
+    public DirectByteBufferOutputStream() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a new stream with segments of the specified size, in bytes.
+     * Only segments of the default size are pooled.
+     *
+     * @param segmentSize  the size of each segment
+     * @throws IllegalArgumentException if the segment size is not positive
+     */
+    public DirectByteBufferOutputStream(final int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Makes a new empty segment current, either from the pool or newly allocated.
+     */
+    private void needNewSegment() {
+        ByteBuffer segment = null;
+        if (segmentSize == DEFAULT_SEGMENT_SIZE) {
+            segment = SEGMENT_POOL.poll();
+        }
+        if (segment == null) {
+            segment = ByteBuffer.allocateDirect(segmentSize);
+        }
+        segments.add(segment);
+        currentSegment = segment;
+    }
+
+    /**
+     * Returns all segments to the pool and forgets the content.
+     */
+    private void releaseSegments() {
+        if (segmentSize == DEFAULT_SEGMENT_SIZE) {
+            for (final ByteBuffer segment : segments) {
+                segment.clear();
+                if (!SEGMENT_POOL.offer(segment)) {
+                    break;
+                }
+            }
+        }
+        segments.clear();
+        currentSegment = null;
+        count = 0;
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Write the bytes to the segments.
+     * @param b the bytes to write
+     * @param off The start offset
+     * @param len The number of bytes to write
+     * @throws IOException if the stream is closed
+     */
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+        if ((off < 0)
+                || (off > b.length)
+                || (len < 0)
+                || ((off + len) > b.length)
+                || ((off + len) < 0)) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkOpen();
+        int pos = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (currentSegment == null || !currentSegment.hasRemaining()) {
+                needNewSegment();
+            }
+            final int part = Math.min(remaining, currentSegment.remaining());
+            currentSegment.put(b, pos, part);
+            pos += part;
+            remaining -= part;
+        }
+        count += len;
+    }
+
+    /**
+     * Write a byte to the segments.
+     * @param b the byte to write
+     * @throws IOException if the stream is closed
+     */
+    @Override
+    public synchronized void write(final int b) throws IOException {
+        checkOpen();
+        if (currentSegment == null || !currentSegment.hasRemaining()) {
+            needNewSegment();
+        }
+        currentSegment.put((byte) b);
+        count++;
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to the segments, advancing the
+     * position of the buffer to its limit.
+     *
+     * @param src the buffer to write
+     * @return the number of bytes written
+     * @throws IOException if the stream is closed
+     */
+    public synchronized int write(final ByteBuffer src) throws IOException {
+        checkOpen();
+        final int len = src.remaining();
+        final int limit = src.limit();
+        while (src.hasRemaining()) {
+            if (currentSegment == null || !currentSegment.hasRemaining()) {
+                needNewSegment();
+            }
+            src.limit(src.position() + Math.min(src.remaining(), currentSegment.remaining()));
+            currentSegment.put(src);
+            src.limit(limit);
+        }
+        count += len;
+        return len;
+    }
+
+    /**
+     * Return the current size of the content.
+     * @return the number of bytes written since creation or the last reset
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * Discards the content, returning the segments to the pool.
+     * Views obtained from {@link #toByteBuffers()} must no longer be used.
+     */
+    public synchronized void reset() {
+        releaseSegments();
+    }
+
+    /**
+     * Discards the content and returns the segments to the pool.
+     * Views obtained from {@link #toByteBuffers()} must no longer be used.
+     */
+    @Override
+    public synchronized void close() {
+        releaseSegments();
+        closed = true;
+    }
+
+    /**
+     * Gets read-only views of the current content, one per segment.
+     * <p>
+     * The views share the segments of this stream, so no data is copied. They
+     * are valid until this stream is reset or closed.
+     *
+     * @return the views, an empty array if there is no content
+     */
+    public synchronized ByteBuffer[] toByteBuffers() {
+        final ByteBuffer[] views = new ByteBuffer[segments.size()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = segments.get(i).asReadOnlyBuffer();
+            views[i].flip();
+        }
+        return views;
+    }
+
+    /**
+     * Writes the entire content of this stream to the specified channel,
+     * using a gathering write if the channel is a {@link GatheringByteChannel}.
+     * The channel should be in blocking mode.
+     *
+     * @param channel  the channel to write to
+     * @return the number of bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized long writeTo(final WritableByteChannel channel) throws IOException {
+        final ByteBuffer[] views = toByteBuffers();
+        if (channel instanceof GatheringByteChannel) {
+            final GatheringByteChannel gathering = (GatheringByteChannel) channel;
+            int first = 0;
+            while (first < views.length) {
+                gathering.write(views, first, views.length - first);
+                while (first < views.length && !views[first].hasRemaining()) {
+                    first++;
+                }
+            }
+        } else {
+            for (final ByteBuffer view : views) {
+                while (view.hasRemaining()) {
+                    channel.write(view);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the current content of this stream as a byte array on the heap.
+     *
+     * @return the current content, as a byte array
+     * @throws IllegalStateException if the content is larger than the maximum array size
+     */
+    public synchronized byte[] toByteArray() {
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Content too large for a byte array: " + count);
+        }
+        final byte[] bytes = new byte[(int) count];
+        int pos = 0;
+        for (final ByteBuffer view : toByteBuffers()) {
+            final int c = view.remaining();
+            view.get(bytes, pos, c);
+            pos += c;
+        }
+        return bytes;
+    }
+
+}
@@ -19,6 +19,7 @@
 package org.apache.commons.io.serialization;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.WildcardMatcher;
 
 /**
  * A {@link ClassNameMatcher} that uses simplified regular expressions
@@ -29,7 +30,8 @@ import org.apache.commons.io.FilenameUtils;
  */  
 final class WildcardClassNameMatcher implements ClassNameMatcher {
 
-    private final String pattern;
+    /** The compiled pattern, null if the pattern is null. */
+    private final WildcardMatcher matcher;
 
     /**
      * Constructs an object based on the specified simplified regular expression.
@@ -37,11 +39,11 @@ final class WildcardClassNameMatcher implements ClassNameMatcher {
      * @param pattern a {@link FilenameUtils#wildcardMatch} pattern.
      */
     public WildcardClassNameMatcher(String pattern) {
-        this.pattern = pattern;
+        this.matcher = pattern == null ? null : WildcardMatcher.compile(pattern);
     }
     
     @Override
     public boolean matches(String className) {
-        return FilenameUtils.wildcardMatch(className, pattern);
+        return matcher == null ? className == null : matcher.matches(className);
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.junit.Test;
+
+/**
+ * Tests {@link BufferPool}.
+ *
+ * @version $Id$
+ */
+public class BufferPoolTest {
+
+    @Test
+    public void testUnpooled() {
+        final BufferPool pool = BufferPool.unpooled(16);
+        final byte[] bytes = pool.getByteBuffer();
+        assertEquals(16, bytes.length);
+        pool.releaseByteBuffer(bytes);
+        assertNotSame(bytes, pool.getByteBuffer());
+        final char[] chars = pool.getCharBuffer();
+        assertEquals(16, chars.length);
+        pool.releaseCharBuffer(chars);
+        assertNotSame(chars, pool.getCharBuffer());
+    }
+
+    @Test
+    public void testThreadLocal() throws Exception {
+        final BufferPool pool = BufferPool.threadLocal(16);
+        final byte[] bytes = pool.getByteBuffer();
+        assertEquals(16, bytes.length);
+        // in use, so a nested request gets another buffer
+        final byte[] nested = pool.getByteBuffer();
+        assertNotSame(bytes, nested);
+        pool.releaseByteBuffer(nested);
+        pool.releaseByteBuffer(bytes);
+        assertSame(bytes, pool.getByteBuffer());
+        // a pair of byte buffers is kept, a third one is dropped
+        final byte[] third = new byte[16];
+        pool.releaseByteBuffer(bytes);
+        pool.releaseByteBuffer(third);
+        assertSame(bytes, pool.getByteBuffer());
+        assertSame(nested, pool.getByteBuffer());
+        assertNotSame(third, pool.getByteBuffer());
+
+        final char[] chars = pool.getCharBuffer();
+        pool.releaseCharBuffer(chars);
+        assertSame(chars, pool.getCharBuffer());
+        pool.releaseCharBuffer(chars);
+
+        // other threads have their own buffers
+        final char[][] other = new char[1][];
+        final Thread thread = new Thread() {
+            @Override
+            public void run() {
+                other[0] = pool.getCharBuffer();
+            }
+        };
+        thread.start();
+        thread.join();
+        assertNotSame(chars, other[0]);
+    }
+
+    @Test
+    public void testBounded() {
+        final BufferPool pool = BufferPool.bounded(16, 1);
+        final byte[] bytes1 = pool.getByteBuffer();
+        final byte[] bytes2 = pool.getByteBuffer();
+        assertNotSame(bytes1, bytes2);
+        pool.releaseByteBuffer(bytes1);
+        pool.releaseByteBuffer(bytes2); // dropped, the pool is full
+        assertSame(bytes1, pool.getByteBuffer());
+        assertNotSame(bytes2, pool.getByteBuffer());
+
+        final char[] chars = pool.getCharBuffer();
+        pool.releaseCharBuffer(chars);
+        assertSame(chars, pool.getCharBuffer());
+    }
+
+    @Test
+    public void testForeignBuffersAreNotPooled() {
+        final BufferPool pool = BufferPool.bounded(16, 4);
+        final byte[] foreign = new byte[8];
+        pool.releaseByteBuffer(foreign);
+        assertEquals(16, pool.getByteBuffer().length);
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        try {
+            BufferPool.threadLocal(0);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            BufferPool.bounded(16, 0);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            IOUtils.setBufferPool(null);
+            fail("Expected NullPointerException");
+        } catch (final NullPointerException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIOUtilsContentEqualsReusesPair() throws Exception {
+        final BufferPool original = IOUtils.getBufferPool();
+        final BufferPool pool = BufferPool.threadLocal(4);
+        IOUtils.setBufferPool(pool);
+        try {
+            final byte[] buffer1 = pool.getByteBuffer();
+            final byte[] buffer2 = pool.getByteBuffer();
+            pool.releaseByteBuffer(buffer2);
+            pool.releaseByteBuffer(buffer1);
+            final byte[] data = "0123456789ABCDEF".getBytes(Charsets.US_ASCII);
+            assertTrue(IOUtils.contentEquals(new ByteArrayInputStream(data), new ByteArrayInputStream(data)));
+            // both buffers were taken from the pool and handed back
+            final byte[] reused1 = pool.getByteBuffer();
+            final byte[] reused2 = pool.getByteBuffer();
+            assertTrue(reused1 == buffer1 && reused2 == buffer2 || reused1 == buffer2 && reused2 == buffer1);
+        } finally {
+            IOUtils.setBufferPool(original);
+        }
+    }
+
+    @Test
+    public void testIOUtilsNestedCopy() throws Exception {
+        final BufferPool original = IOUtils.getBufferPool();
+        IOUtils.setBufferPool(BufferPool.threadLocal(4));
+        try {
+            final byte[] data = "0123456789ABCDEF".getBytes(Charsets.US_ASCII);
+            final ByteArrayOutputStream target = new ByteArrayOutputStream();
+            // copies each chunk with IOUtils on the same thread while the outer copy is running
+            final OutputStream nesting = new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    target.write(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    IOUtils.copyLarge(new ByteArrayInputStream(b, off, len), target);
+                }
+            };
+            assertEquals(data.length, IOUtils.copyLarge(new ByteArrayInputStream(data), nesting));
+            assertArrayEquals(data, target.toByteArray());
+        } finally {
+            IOUtils.setBufferPool(original);
+        }
+    }
+}
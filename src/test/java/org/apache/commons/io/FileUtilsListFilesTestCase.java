@@ -207,5 +207,41 @@ public class FileUtilsListFilesTestCase extends FileBasedTestCase {
         }
     }
 
+    @Test
+    public void testIterateFilesAndDirsDepthFirst() throws Exception {
+        final File dir = getLocalTestDirectory();
+        final Iterator<File> files = FileUtils.iterateFilesAndDirs(dir,
+                FileFilterUtils.trueFileFilter(), FileFilterUtils.trueFileFilter());
+        assertEquals(dir, files.next());
+        final Collection<File> found = new ArrayList<File>();
+        while (files.hasNext()) {
+            final File file = files.next();
+            final File parent = file.getParentFile();
+            // a directory is always returned before its contents
+            assertTrue(file + " before " + parent, parent.equals(dir) || found.contains(parent));
+            found.add(file);
+        }
+        assertEquals(11, found.size());
+        assertFalse(files.hasNext());
+        try {
+            files.next();
+            fail("Expected NoSuchElementException");
+        } catch (final java.util.NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIterateFilesIsLazy() throws Exception {
+        final File dir = getLocalTestDirectory();
+        final Iterator<File> files = FileUtils.iterateFilesAndDirs(dir,
+                FileFilterUtils.trueFileFilter(), FileFilterUtils.trueFileFilter());
+        assertEquals(dir, files.next());
+        // only the start directory has been listed so far, so a file added to a subdirectory is still found
+        FileUtils.touch(new File(dir, "subdir1/added-later.txt"));
+        final Collection<String> filenames = filesToFilenames(files);
+        assertTrue("'added-later.txt' is missing", filenames.contains("added-later.txt"));
+        assertEquals(12, filenames.size());
+    }
 
 }
@@ -28,6 +28,8 @@ import java.math.BigInteger;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
@@ -655,6 +657,38 @@ public class FileUtilsTestCase extends FileBasedTestCase {
         assertTrue(FileUtils.contentEquals(file, file2));
     }
 
+    @Test
+    public void testContentEqualsMemoryMapped() throws Exception {
+        final File file1 = new File(getTestDirectory(), getName() + "1");
+        final File file2 = new File(getTestDirectory(), getName() + "2");
+        final File file3 = new File(getTestDirectory(), getName() + "3");
+        final byte[] data = new byte[100 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        FileUtils.writeByteArrayToFile(file1, data);
+        FileUtils.writeByteArrayToFile(file2, data);
+        data[data.length - 1]++;
+        FileUtils.writeByteArrayToFile(file3, data);
+
+        assertTrue(FileUtils.contentEquals(file1, file1, true));
+        assertTrue(FileUtils.contentEquals(file1, file2, true));
+        assertFalse(FileUtils.contentEquals(file1, file3, true));
+        assertFalse(FileUtils.contentEquals(file1, testFile1, true));
+
+        // empty files
+        final File empty1 = new File(getTestDirectory(), getName() + "empty1");
+        final File empty2 = new File(getTestDirectory(), getName() + "empty2");
+        empty1.createNewFile();
+        empty2.createNewFile();
+        assertTrue(FileUtils.contentEquals(empty1, empty2, true));
+
+        // both don't exist
+        final File missing = new File(getTestDirectory(), getName() + "missing");
+        assertTrue(FileUtils.contentEquals(missing, missing, true));
+        assertFalse(FileUtils.contentEquals(file1, missing, true));
+    }
+
     @Test
     public void testContentEqualsIgnoreEOL() throws Exception {
         // Non-existent files
@@ -872,6 +906,33 @@ public class FileUtilsTestCase extends FileBasedTestCase {
                 FileUtils.sizeOfDirectory(file));
     }
 
+    @Test
+    public void testSizeOfDirectoryConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final File file = new File(getTestDirectory(), getName());
+            try {
+                FileUtils.sizeOfDirectory(file, executor);
+                fail("Exception expected.");
+            } catch (final IllegalArgumentException ignore) {
+            }
+
+            final File grandParentDir = new File(getTestDirectory(), "grandparent");
+            final File parentDir = new File(grandParentDir, "parent");
+            final File childDir = new File(parentDir, "child");
+            createFilesForTestCopyDirectory(grandParentDir, parentDir, childDir);
+            this.createCircularSymLink(childDir);
+
+            final DirectorySize size = FileUtils.sizeOfDirectory(grandParentDir, executor);
+            assertEquals(FileUtils.sizeOfDirectory(grandParentDir), size.getSize());
+            assertEquals(FileUtils.sizeOfDirectoryAsBigInteger(grandParentDir), size.getSizeAsBigInteger());
+            assertEquals(6, size.getFileCount());
+            assertEquals(5, size.getDirectoryCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void createCircularSymLink(final File file) throws IOException {
         if (!FilenameUtils.isSystemWindows()) {
             Runtime.getRuntime()
@@ -1209,6 +1270,45 @@ public class FileUtilsTestCase extends FileBasedTestCase {
             testFile1.lastModified() == destination.lastModified());*/
     }
 
+    @Test
+    public void testCopyFileWithOptions() throws Exception {
+        final File source = new File(getTestDirectory(), "copy-options-source.txt");
+        final File destination = new File(getTestDirectory(), "copy-options.txt");
+        final int size = 4321;
+        final BufferedOutputStream output = new BufferedOutputStream(new FileOutputStream(source));
+        try {
+            TestUtils.generateTestData(output, (long) size);
+        } finally {
+            IOUtils.closeQuietly(output);
+        }
+        final List<Long> progress = new ArrayList<Long>();
+        final FileCopyOptions options = new FileCopyOptions()
+                .setChunkSize(1000)
+                .setSync(true)
+                .setListener(new FileCopyListener() {
+                    public void chunkCopied(final File srcFile, final File destFile, final long bytesCopied,
+                                            final long totalBytes) {
+                        assertEquals(source, srcFile);
+                        assertEquals(destination, destFile);
+                        assertEquals(size, totalBytes);
+                        progress.add(Long.valueOf(bytesCopied));
+                    }
+                });
+
+        FileUtils.copyFile(source, destination, true, options);
+        assertTrue("Check Exist", destination.exists());
+        assertTrue("Check Full copy", FileUtils.contentEquals(source, destination));
+        assertEquals(Arrays.asList(Long.valueOf(1000), Long.valueOf(2000), Long.valueOf(3000), Long.valueOf(4000),
+                Long.valueOf(size)), progress);
+
+        try {
+            options.setChunkSize(0);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
     @Test
     public void testCopyFileToOutputStream() throws Exception {
         final ByteArrayOutputStream destination = new ByteArrayOutputStream();
@@ -1488,6 +1588,59 @@ public class FileUtilsTestCase extends FileBasedTestCase {
         FileUtils.deleteDirectory(target);
     }
 
+    @Test
+    public void testCopyDirectoryConcurrently() throws Exception {
+        final File grandParentDir = new File(getTestDirectory(), "grandparent");
+        final File parentDir = new File(grandParentDir, "parent");
+        final File childDir = new File(parentDir, "child");
+        createFilesForTestCopyDirectory(grandParentDir, parentDir, childDir);
+        final File file3 = new File(childDir, "file3.txt");
+        file3.setLastModified(1000000002000L);
+        childDir.setLastModified(1000000001000L);
+
+        final File destDir = new File(getTestDirectory(), "copydest");
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            FileUtils.copyDirectory(grandParentDir, destDir, null, true, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        final List<File> files = LIST_WALKER.list(destDir);
+        assertEquals(LIST_WALKER.list(grandParentDir).size(), files.size());
+        assertEquals(FileUtils.sizeOfDirectory(grandParentDir), FileUtils.sizeOfDirectory(destDir));
+        assertEquals("File 6 in grandChild2", FileUtils.readFileToString(
+                new File(destDir, "parent/child2/grandChild2/file6.txt"), "UTF8"));
+        assertEquals(1000000002000L, new File(destDir, "parent/child/file3.txt").lastModified());
+        assertEquals(1000000001000L, new File(destDir, "parent/child").lastModified());
+    }
+
+    @Test
+    public void testCopyDirectoryConcurrentlyFailures() throws Exception {
+        final File grandParentDir = new File(getTestDirectory(), "grandparent");
+        final File parentDir = new File(grandParentDir, "parent");
+        final File childDir = new File(parentDir, "child");
+        createFilesForTestCopyDirectory(grandParentDir, parentDir, childDir);
+
+        // files cannot be copied over existing directories
+        final File destDir = new File(getTestDirectory(), "copydest");
+        new File(destDir, "file1.txt").mkdirs();
+        new File(destDir, "parent/child/file3.txt").mkdirs();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            FileUtils.copyDirectory(grandParentDir, destDir, null, false, executor);
+            fail("Expected IOExceptionList");
+        } catch (final IOExceptionList e) {
+            assertEquals(2, e.getCauseList().size());
+        } finally {
+            executor.shutdown();
+        }
+        // the other files are still copied
+        assertTrue(new File(destDir, "parent/file2.txt").isFile());
+        assertTrue(new File(destDir, "parent/child2/grandChild2/file6.txt").isFile());
+    }
+
     /* Test for IO-141 */
     @Test
     public void testCopyDirectoryToChild() throws Exception {
@@ -193,9 +193,8 @@ public class FilenameUtilsWildcardTestCase {
 
         // Tests for "*?"
         assertMatch("aaa", "aa*?", true);
-        // these ought to work as well, but "*?" does not work properly at present
-//      assertMatch("aaa", "a*?", true);
-//      assertMatch("aaa", "*?", true);
+        assertMatch("aaa", "a*?", true);
+        assertMatch("aaa", "*?", true);
 
         // Tests for "?*"
         assertMatch("",    "?*",   false);
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests IOExceptionList
+ *
+ * @version $Id$
+ */
+public class IOExceptionListTestCase {
+
+    @Test
+    public void testCauses() {
+        final EOFException cause1 = new EOFException();
+        final IOException cause2 = new IOException("second");
+        final List<IOException> causes = Arrays.asList(cause1, cause2);
+        final IOExceptionList exception = new IOExceptionList(causes);
+        assertSame(cause1, exception.getCause());
+        assertSame(cause1, exception.getCause(0));
+        assertSame(cause2, exception.getCause(1));
+        assertEquals(causes, exception.getCauseList());
+        assertTrue(exception.getMessage().startsWith("2 exceptions"));
+    }
+
+    @Test
+    public void testNullCauses() {
+        final IOExceptionList exception = new IOExceptionList(null);
+        assertNull(exception.getCause());
+        assertTrue(exception.getCauseList().isEmpty());
+        assertEquals("0 exceptions", exception.getMessage());
+    }
+}
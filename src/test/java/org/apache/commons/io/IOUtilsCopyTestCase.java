@@ -25,11 +25,17 @@ import org.apache.commons.io.testtools.FileBasedTestCase;
 import org.apache.commons.io.testtools.TestUtils;
 import org.apache.commons.io.testtools.YellOnCloseInputStream;
 import org.apache.commons.io.testtools.YellOnFlushAndCloseOutputStream;
+import org.junit.Assume;
 import org.junit.Test;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -378,4 +384,138 @@ public class IOUtilsCopyTestCase extends FileBasedTestCase {
 
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void testCopy_fileInputStreamToFileOutputStream() throws Exception {
+        final File dir = new File(getTestDirectory(), "copy-channels");
+        FileUtils.forceMkdir(dir);
+        try {
+            final File src = new File(dir, "src.bin");
+            final File dest = new File(dir, "dest.bin");
+            FileUtils.writeByteArrayToFile(src, inData);
+            FileUtils.writeByteArrayToFile(dest, new byte[] {'x'});
+
+            // starts at the stream's position and appends to the existing content
+            final FileInputStream in = new FileInputStream(src);
+            final FileOutputStream out = new FileOutputStream(dest, true);
+            try {
+                assertEquals(10, in.read(new byte[10]));
+                assertEquals(inData.length - 10, IOUtils.copy(in, out));
+                assertEquals(-1, in.read());
+                out.write('y');
+            } finally {
+                IOUtils.closeQuietly(in);
+                IOUtils.closeQuietly(out);
+            }
+
+            final byte[] expected = new byte[inData.length - 10 + 2];
+            expected[0] = 'x';
+            System.arraycopy(inData, 10, expected, 1, inData.length - 10);
+            expected[expected.length - 1] = 'y';
+            assertArrayEquals(expected, FileUtils.readFileToByteArray(dest));
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testCopy_channelToChannel() throws Exception {
+        final File dir = new File(getTestDirectory(), "copy-channels");
+        FileUtils.forceMkdir(dir);
+        try {
+            final File file = new File(dir, "file.bin");
+
+            // arbitrary channel to file channel
+            final FileOutputStream out = new FileOutputStream(file);
+            try {
+                final FileChannel channel = out.getChannel();
+                assertEquals(inData.length,
+                        IOUtils.copy(Channels.newChannel(new ByteArrayInputStream(inData)), channel));
+                assertEquals(inData.length, channel.position());
+                assertEquals(inData.length,
+                        IOUtils.copy(Channels.newChannel(new ByteArrayInputStream(inData)), channel));
+            } finally {
+                IOUtils.closeQuietly(out);
+            }
+            assertEquals(inData.length * 2, file.length());
+
+            // file channel to arbitrary channel
+            final ByteArrayOutputStream baout = new ByteArrayOutputStream();
+            final FileInputStream in = new FileInputStream(file);
+            try {
+                final FileChannel channel = in.getChannel();
+                channel.position(inData.length);
+                assertEquals(inData.length, IOUtils.copy(channel, Channels.newChannel(baout)));
+                assertEquals(inData.length * 2, channel.position());
+            } finally {
+                IOUtils.closeQuietly(in);
+            }
+            assertArrayEquals(inData, baout.toByteArray());
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testCopy_pipeToFileOutputStream() throws Exception {
+        final File dir = new File(getTestDirectory(), "copy-pipe");
+        FileUtils.forceMkdir(dir);
+        try {
+            final File fifo = new File(dir, "fifo");
+            Assume.assumeTrue(TestUtils.createFifo(fifo));
+            final File dest = new File(dir, "dest.bin");
+            final Thread writer = TestUtils.writeToFifo(fifo, inData);
+            final FileInputStream in = new FileInputStream(fifo);
+            final FileOutputStream out = new FileOutputStream(dest);
+            try {
+                assertEquals(inData.length, IOUtils.copyLarge(in, out));
+            } finally {
+                IOUtils.closeQuietly(in);
+                IOUtils.closeQuietly(out);
+            }
+            writer.join();
+            assertArrayEquals(inData, FileUtils.readFileToByteArray(dest));
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testCopy_channelToFileChannelBeyondSize() throws Exception {
+        final File dir = new File(getTestDirectory(), "copy-channels");
+        FileUtils.forceMkdir(dir);
+        try {
+            final File file = new File(dir, "file.bin");
+            final RandomAccessFile out = new RandomAccessFile(file, "rw");
+            try {
+                final FileChannel channel = out.getChannel();
+                channel.position(10);
+                assertEquals(inData.length,
+                        IOUtils.copy(Channels.newChannel(new ByteArrayInputStream(inData)), channel));
+                assertEquals(10 + inData.length, channel.position());
+            } finally {
+                IOUtils.closeQuietly(out);
+            }
+            final byte[] expected = new byte[10 + inData.length];
+            System.arraycopy(inData, 0, expected, 10, inData.length);
+            assertArrayEquals(expected, FileUtils.readFileToByteArray(file));
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testCopy_channelToChannelBuffered() throws Exception {
+        final ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(inData));
+        final ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        final WritableByteChannel out = Channels.newChannel(baout);
+        assertEquals(inData.length, IOUtils.copy(in, out));
+        assertArrayEquals(inData, baout.toByteArray());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCopy_channelToChannel_nullOut() throws Exception {
+        IOUtils.copy(Channels.newChannel(new ByteArrayInputStream(inData)), (WritableByteChannel) null);
+    }
+
 }
@@ -20,6 +20,7 @@ import org.apache.commons.io.testtools.FileBasedTestCase;
 import org.apache.commons.io.testtools.TestUtils;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -234,6 +235,46 @@ public class IOUtilsTestCase extends FileBasedTestCase {
                 new ByteArrayInputStream("ABCD".getBytes(Charsets.UTF_8))));
     }
 
+    @Test public void testContentEquals_InputStream_InputStream_Large() throws Exception {
+        final byte[] data = new byte[FILE_SIZE * 3];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        assertTrue(IOUtils.contentEquals(new ByteArrayInputStream(data), new ByteArrayInputStream(data.clone())));
+        // files are compared a block at a time, so check a difference in every position of interest
+        final int[] positions = {0, 1, FILE_SIZE - 2, FILE_SIZE - 1, FILE_SIZE, data.length - 1};
+        for (final int position : positions) {
+            final byte[] other = data.clone();
+            other[position]++;
+            assertFalse("Position " + position,
+                    IOUtils.contentEquals(new ByteArrayInputStream(data), new ByteArrayInputStream(other)));
+        }
+        // a stream returning only a few bytes per read() must still compare correctly
+        final InputStream trickle = new FilterInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        assertTrue(IOUtils.contentEquals(trickle, new ByteArrayInputStream(data)));
+    }
+
+    @Test public void testContentEquals_InputStream_InputStream_Buffers() throws Exception {
+        final byte[] buffer1 = new byte[3];
+        final byte[] buffer2 = new byte[3];
+        assertTrue(IOUtils.contentEquals(new ByteArrayInputStream("ABCDEFG".getBytes(Charsets.UTF_8)),
+                new ByteArrayInputStream("ABCDEFG".getBytes(Charsets.UTF_8)), buffer1, buffer2));
+        assertFalse(IOUtils.contentEquals(new ByteArrayInputStream("ABCDEFG".getBytes(Charsets.UTF_8)),
+                new ByteArrayInputStream("ABCDEF".getBytes(Charsets.UTF_8)), buffer1, buffer2));
+        try {
+            IOUtils.contentEquals(new ByteArrayInputStream(new byte[0]), new ByteArrayInputStream(new byte[0]),
+                    buffer1, new byte[4]);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
     @Test public void testContentEquals_Reader_Reader() throws Exception {
         {
             final StringReader input1 = new StringReader("");
@@ -945,6 +986,60 @@ public class IOUtilsTestCase extends FileBasedTestCase {
         }
     }
 
+    @Test public void testToByteArray_InputStream_Remaining() throws Exception {
+        final FileInputStream fin = new FileInputStream(m_testFile);
+        try {
+            IOUtils.skipFully(fin, 10);
+            final byte[] out = IOUtils.toByteArray(fin);
+            assertEquals("Wrong output size", FILE_SIZE - 10, out.length);
+            assertEqualContent(Arrays.copyOfRange(FileUtils.readFileToByteArray(m_testFile), 10, FILE_SIZE), out);
+        } finally {
+            fin.close();
+        }
+
+        final ByteArrayInputStream bin = new ByteArrayInputStream(iarr);
+        IOUtils.skipFully(bin, 10);
+        assertEqualContent(Arrays.copyOfRange(iarr, 10, iarr.length), IOUtils.toByteArray(bin));
+    }
+
+    @Test public void testToByteArray_InputStream_Pipe() throws Exception {
+        final File fifo = new File(getTestDirectory(), "fifo");
+        Assume.assumeTrue(TestUtils.createFifo(fifo));
+        try {
+            final byte[] data = FileUtils.readFileToByteArray(m_testFile);
+            final Thread writer = TestUtils.writeToFifo(fifo, data);
+            final FileInputStream fin = new FileInputStream(fifo);
+            try {
+                assertEqualContent(data, IOUtils.toByteArray(fin));
+            } finally {
+                fin.close();
+            }
+            writer.join();
+        } finally {
+            FileUtils.forceDelete(fifo);
+        }
+    }
+
+    @Test public void testToByteArray_InputStream_WrongSizeHint() throws Exception {
+        // the size hint is smaller than the content
+        final ByteArrayInputStream under = new ByteArrayInputStream(iarr) {
+            @Override
+            public synchronized int available() {
+                return Math.min(super.available(), 7);
+            }
+        };
+        assertEqualContent(iarr, IOUtils.toByteArray(under));
+
+        // the size hint is larger than the content
+        final ByteArrayInputStream over = new ByteArrayInputStream(iarr) {
+            @Override
+            public synchronized int available() {
+                return super.available() + 100;
+            }
+        };
+        assertEqualContent(iarr, IOUtils.toByteArray(over));
+    }
+
     @Test public void testToByteArray_InputStream_NegativeSize() throws Exception {
         final FileInputStream fin = new FileInputStream(m_testFile);
 
@@ -1063,6 +1158,28 @@ public class IOUtilsTestCase extends FileBasedTestCase {
         assertEquals(FILE_SIZE, actual.length);
     }
 
+    @Test public void testToByteArray_URLConnection_OverstatedContentLength() throws Exception {
+        final byte[] content = "tiny body".getBytes("US-ASCII");
+        // a server claiming nearly 2GB must not make the whole length be allocated
+        final URLConnection urlConn = new URLConnection(m_testFile.toURI().toURL()) {
+            @Override
+            public void connect() {
+                // nothing to connect to
+            }
+
+            @Override
+            public int getContentLength() {
+                return Integer.MAX_VALUE - 8;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(content);
+            }
+        };
+        assertTrue(Arrays.equals(content, IOUtils.toByteArray(urlConn)));
+    }
+
     @SuppressWarnings("deprecation") // deliberately testing deprecated method
     @Test public void testToCharArray_InputStream() throws Exception {
         final FileInputStream fin = new FileInputStream(m_testFile);
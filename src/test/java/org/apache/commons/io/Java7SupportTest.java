@@ -20,6 +20,7 @@ package org.apache.commons.io;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.Locale;
@@ -38,6 +39,33 @@ public class Java7SupportTest {
         }
     }
 
+    @Test
+    public void testFileKey()
+            throws Exception {
+
+        if (Java7Support.isAtLeastJava7()) {
+            final Object key = Java7Support.fileKey(new File("pom.xml"));
+            if (key != null) {
+                assertEquals(key, Java7Support.fileKey(new File("src/../pom.xml")));
+                assertFalse(key.equals(Java7Support.fileKey(new File("LICENSE.txt"))));
+            }
+        }
+    }
+
+    @Test
+    public void testReadAttributesNoFollowLinks()
+            throws Exception {
+
+        if (Java7Support.isAtLeastJava7()) {
+            final File pom = new File("pom.xml");
+            final Object fileAttributes = Java7Support.readAttributesNoFollowLinks(pom);
+            assertFalse(Java7Support.isSymbolicLink(fileAttributes));
+            assertFalse(Java7Support.isDirectory(fileAttributes));
+            assertEquals(pom.length(), Java7Support.size(fileAttributes));
+            assertTrue(Java7Support.isDirectory(Java7Support.readAttributesNoFollowLinks(new File("src"))));
+        }
+    }
+
     @Test
     public void createAndReadSymlink()
             throws Exception {
@@ -47,6 +75,7 @@ public class Java7SupportTest {
         File file = new File("target/fzz");
         if (Java7Support.isAtLeastJava7()) {
             Java7Support.createSymbolicLink(file, new File("../target"));
+            assertTrue(Java7Support.isSymbolicLink(Java7Support.readAttributesNoFollowLinks(file)));
 
             final File file1 = Java7Support.readSymbolicLink(file);
             assertEquals("target", file1.getName());
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.junit.Test;
+
+/**
+ * Tests {@link WildcardMatcher}.
+ *
+ * @version $Id$
+ */
+public class WildcardMatcherTest {
+
+    @Test
+    public void testMatches() {
+        assertTrue(WildcardMatcher.compile("*.txt").matches("c.txt"));
+        assertFalse(WildcardMatcher.compile("*.txt").matches("c.jpg"));
+        assertTrue(WildcardMatcher.compile("a/b/*").matches("a/b/c.txt"));
+        assertTrue(WildcardMatcher.compile("*.???").matches("c.txt"));
+        assertFalse(WildcardMatcher.compile("*.????").matches("c.txt"));
+        assertTrue(WildcardMatcher.compile("").matches(""));
+        assertFalse(WildcardMatcher.compile("").matches("a"));
+        assertTrue(WildcardMatcher.compile("*").matches(""));
+        assertTrue(WildcardMatcher.compile("**").matches("abc"));
+        assertTrue(WildcardMatcher.compile("*?").matches("aaa"));
+        assertTrue(WildcardMatcher.compile("a*?").matches("aaa"));
+        assertFalse(WildcardMatcher.compile("a*a").matches("a"));
+        assertTrue(WildcardMatcher.compile("a*a").matches("aa"));
+        assertFalse(WildcardMatcher.compile("*?").matches(""));
+        assertFalse(WildcardMatcher.compile("abc").matches(null));
+    }
+
+    @Test
+    public void testCaseSensitivity() {
+        assertFalse(WildcardMatcher.compile("*.TXT").matches("c.txt"));
+        assertTrue(WildcardMatcher.compile("*.TXT", IOCase.INSENSITIVE).matches("c.txt"));
+        assertTrue(WildcardMatcher.compile("A*?x*", IOCase.INSENSITIVE).matches("abcXd"));
+        assertEquals(!IOCase.SYSTEM.isCaseSensitive(), WildcardMatcher.compile("*.TXT", IOCase.SYSTEM).matches("c.txt"));
+        assertEquals(IOCase.SENSITIVE, WildcardMatcher.compile("*", null).getCaseSensitivity());
+    }
+
+    @Test
+    public void testNull() {
+        try {
+            WildcardMatcher.compile(null);
+            fail();
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSerializedFilter() throws Exception {
+        final WildcardFileFilter filter = new WildcardFileFilter("*.TXT", IOCase.INSENSITIVE);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(filter);
+        out.close();
+        final WildcardFileFilter copy = (WildcardFileFilter) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertTrue(copy.accept(new File("c.txt")));
+        assertFalse(copy.accept(new File("c.jpg")));
+    }
+
+    /**
+     * A part which almost matches everywhere in a long name is searched for in linear time.
+     */
+    @Test(timeout = 10000)
+    public void testLongRun() {
+        final StringBuilder part = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            part.append('a');
+        }
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            name.append(part);
+        }
+        final String wildcard = "*" + part + "b*";
+        assertFalse(WildcardMatcher.compile(wildcard).matches(name.toString()));
+        assertFalse(WildcardMatcher.compile(wildcard, IOCase.INSENSITIVE).matches(name.toString()));
+        assertTrue(WildcardMatcher.compile(wildcard, IOCase.INSENSITIVE).matches(name + "B"));
+    }
+
+    /**
+     * Compares random wildcards and names with the equivalent regular expressions.
+     */
+    @Test
+    public void testRandom() {
+        final Random random = new Random(42);
+        final char[] wildcardChars = {'a', 'b', 'A', '?', '*'};
+        final char[] nameChars = {'a', 'b', 'A'};
+        for (int i = 0; i < 20000; i++) {
+            final String wildcard = random(random, wildcardChars, random.nextInt(7));
+            final String name = random(random, nameChars, random.nextInt(9));
+            final boolean insensitive = random.nextBoolean();
+            final Pattern regex = Pattern.compile(wildcard.replace("?", ".").replace("*", ".*"),
+                    insensitive ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+            final WildcardMatcher matcher = WildcardMatcher.compile(wildcard,
+                    insensitive ? IOCase.INSENSITIVE : IOCase.SENSITIVE);
+            assertEquals(matcher + " " + name, regex.matcher(name).matches(), matcher.matches(name));
+        }
+    }
+
+    private static String random(final Random random, final char[] chars, final int length) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(chars[random.nextInt(chars.length)]);
+        }
+        return builder.toString();
+    }
+
+}
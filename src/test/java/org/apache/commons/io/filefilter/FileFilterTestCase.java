@@ -32,6 +32,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
@@ -409,6 +410,48 @@ public class FileFilterTestCase extends FileBasedTestCase {
         fail("constructing a NameFileFilter with a null List argument should fail.");
     }
 
+    /**
+     * Compares the name, prefix and suffix filters for many random strings with the
+     * {@link IOCase} checks.
+     */
+    @Test
+    public void testNamePrefixSuffixManyStrings() throws Exception {
+        final Random random = new Random(42);
+        final char[] chars = {'a', 'b', 'A', '\u00df', '\u0130', 'i'};
+        for (int i = 0; i < 500; i++) {
+            final IOCase caseSensitivity = random.nextBoolean() ? IOCase.SENSITIVE : IOCase.INSENSITIVE;
+            final String[] strings = new String[random.nextInt(30)];
+            for (int s = 0; s < strings.length; s++) {
+                strings[s] = randomString(random, chars, random.nextInt(4));
+            }
+            final IOFileFilter nameFilter = new NameFileFilter(strings, caseSensitivity);
+            final IOFileFilter prefixFilter = new PrefixFileFilter(strings, caseSensitivity);
+            final IOFileFilter suffixFilter = new SuffixFileFilter(strings, caseSensitivity);
+            for (int n = 0; n < 20; n++) {
+                final String name = randomString(random, chars, random.nextInt(6));
+                boolean equals = false;
+                boolean startsWith = false;
+                boolean endsWith = false;
+                for (final String string : strings) {
+                    equals |= caseSensitivity.checkEquals(name, string);
+                    startsWith |= caseSensitivity.checkStartsWith(name, string);
+                    endsWith |= caseSensitivity.checkEndsWith(name, string);
+                }
+                assertEquals(name, equals, nameFilter.accept(new File(name)));
+                assertEquals(name, startsWith, prefixFilter.accept(null, name));
+                assertEquals(name, endsWith, suffixFilter.accept(null, name));
+            }
+        }
+    }
+
+    private static String randomString(final Random random, final char[] chars, final int length) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(chars[random.nextInt(chars.length)]);
+        }
+        return builder.toString();
+    }
+
     @Test
 	public void testTrue() throws Exception {
 		this.fileFilterTestCaseTestTemplate(new FileFilterTestCaseTestTrueAdapterImpl(), true, true, true,
@@ -499,6 +542,71 @@ public class FileFilterTestCase extends FileBasedTestCase {
         assertTrue(f.getFileFilters().isEmpty());
     }
 
+    @Test
+    public void testCost() throws Exception {
+        assertEquals(FileFilterCost.NAME, FileFilterCost.of(new NameFileFilter("foo")));
+        assertEquals(FileFilterCost.NAME, FileFilterCost.of(TrueFileFilter.TRUE));
+        assertEquals(FileFilterCost.STAT, FileFilterCost.of(FileFilterUtils.sizeFileFilter(10)));
+        assertEquals(FileFilterCost.STAT, FileFilterCost.of(new NotFileFilter(DirectoryFileFilter.DIRECTORY)));
+        assertEquals(FileFilterCost.CONTENT, FileFilterCost.of(new MagicNumberFileFilter("foo")));
+        assertEquals(FileFilterCost.CONTENT, FileFilterCost.of(new DelegateFileFilter((FileFilter) FileFileFilter.FILE)));
+        assertEquals(FileFilterCost.CONTENT, FileFilterCost.of(null));
+        assertEquals(FileFilterCost.STAT, FileFilterCost.of(
+                FileFilterUtils.and(new PrefixFileFilter("foo"), FileFileFilter.FILE)));
+        assertEquals(FileFilterCost.NAME, FileFilterCost.of(new OrFileFilter()));
+    }
+
+    @Test
+    public void testCheapestFirst() throws Exception {
+        final List<String> checked = new ArrayList<String>();
+        final IOFileFilter expensive = new AbstractFileFilter() {
+            @Override
+            public boolean accept(final File file) {
+                checked.add("expensive");
+                return true;
+            }
+        };
+        final IOFileFilter stat = new SizeFileFilter(0) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean accept(final File file) {
+                checked.add("stat");
+                return true;
+            }
+        };
+        final IOFileFilter name = new SuffixFileFilter(".txt") {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean accept(final File file) {
+                checked.add("name");
+                return super.accept(file);
+            }
+        };
+        final File file = new File(getTestDirectory(), "A.java");
+
+        final AndFileFilter and = new AndFileFilter(Arrays.asList(expensive, stat, name));
+        assertFalse(and.accept(file));
+        assertEquals(Arrays.asList("name"), checked);
+        assertEquals(Arrays.asList(expensive, stat, name), and.getFileFilters());
+
+        checked.clear();
+        and.removeFileFilter(name);
+        assertTrue(and.accept(file));
+        assertEquals(Arrays.asList("stat", "expensive"), checked);
+
+        checked.clear();
+        final OrFileFilter or = new OrFileFilter(expensive, stat);
+        or.addFileFilter(name);
+        assertTrue(or.accept(file));
+        assertEquals(Arrays.asList("name", "stat"), checked);
+
+        checked.clear();
+        assertTrue(FileFilterUtils.or(expensive, TrueFileFilter.TRUE).accept(file));
+        assertEquals(Collections.emptyList(), checked);
+    }
+
     @Test
     public void testFileFilterUtils_and() throws Exception {
         final IOFileFilter trueFilter = TrueFileFilter.INSTANCE;
@@ -1119,6 +1227,89 @@ public class FileFilterTestCase extends FileBasedTestCase {
         assertFiltering(filter, dir, false);
     }
 
+    @Test
+    public void testMultiMagicNumberFileFilter() throws Exception {
+        final MagicNumberFileFilter classFiles =
+            new MagicNumberFileFilter(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+        final MagicNumberFileFilter tarFiles = new MagicNumberFileFilter("ustar", 257);
+        final MagicNumberFileFilter xmlFiles = new MagicNumberFileFilter("<?xml");
+
+        final File classFileA = new File(getTestDirectory(), "A.class");
+        final File tarFileB = new File(getTestDirectory(), "B.tar");
+        final File xmlFileC = new File(getTestDirectory(), "C.xml");
+        final File shortFileD = new File(getTestDirectory(), "D.bin");
+        final File dir = new File(getTestDirectory(), "E");
+        dir.mkdirs();
+
+        final OutputStream classFileAStream = FileUtils.openOutputStream(classFileA);
+        IOUtils.write(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE}, classFileAStream);
+        TestUtils.generateTestData(classFileAStream, (long) 32);
+        classFileAStream.close();
+        final OutputStream tarFileBStream = FileUtils.openOutputStream(tarFileB);
+        TestUtils.generateTestData(tarFileBStream, 257);
+        IOUtils.write("ustar", tarFileBStream, Charset.defaultCharset());
+        tarFileBStream.close();
+        FileUtils.write(xmlFileC, "<?xml version=\"1.0\"?><element/>", Charset.defaultCharset());
+        FileUtils.write(shortFileD, "ust", Charset.defaultCharset());
+
+        final MultiMagicNumberFileFilter filter = new MultiMagicNumberFileFilter(classFiles, tarFiles, xmlFiles);
+        assertSame(classFiles, filter.getMatchingFilter(classFileA));
+        assertSame(tarFiles, filter.getMatchingFilter(tarFileB));
+        assertSame(xmlFiles, filter.getMatchingFilter(xmlFileC));
+        assertSame(null, filter.getMatchingFilter(shortFileD));
+        assertSame(null, filter.getMatchingFilter(dir));
+        assertEquals(Arrays.asList(classFiles, tarFiles, xmlFiles), filter.getFilters());
+
+        final IOFileFilter or = FileFilterUtils.or(classFiles, tarFiles);
+        IOFileFilter multi = FileFilterUtils.magicNumberFileFilter(classFiles, tarFiles);
+        for (final File file : new File[] {classFileA, tarFileB, xmlFileC, shortFileD, dir}) {
+            assertFiltering(multi, file, or.accept(file));
+        }
+        multi = new MultiMagicNumberFileFilter(Collections.singletonList(tarFiles));
+        assertFiltering(multi, tarFileB, true);
+        assertFiltering(multi, classFileA, false);
+
+        try {
+            new MultiMagicNumberFileFilter();
+            fail("Error not thrown for no filters");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            new MultiMagicNumberFileFilter(classFiles, null);
+            fail("Error not thrown for null filter");
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMultiMagicNumberFileFilterDistantOffsets() throws Exception {
+        // the magic numbers are read in separate ranges, not in one range of a gigabyte
+        final MagicNumberFileFilter classFiles =
+            new MagicNumberFileFilter(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+        final MagicNumberFileFilter farFiles = new MagicNumberFileFilter("far", 10000);
+        final MagicNumberFileFilter farthestFiles = new MagicNumberFileFilter("farthest", 1L << 30);
+
+        final File classFileA = new File(getTestDirectory(), "A.class");
+        final File farFileB = new File(getTestDirectory(), "B.bin");
+        final File shortFileC = new File(getTestDirectory(), "C.bin");
+
+        final OutputStream classFileAStream = FileUtils.openOutputStream(classFileA);
+        IOUtils.write(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE}, classFileAStream);
+        classFileAStream.close();
+        final OutputStream farFileBStream = FileUtils.openOutputStream(farFileB);
+        TestUtils.generateTestData(farFileBStream, 10000);
+        IOUtils.write("far", farFileBStream, Charset.defaultCharset());
+        farFileBStream.close();
+        FileUtils.write(shortFileC, "fa", Charset.defaultCharset());
+
+        final MultiMagicNumberFileFilter filter = new MultiMagicNumberFileFilter(farthestFiles, classFiles, farFiles);
+        assertSame(classFiles, filter.getMatchingFilter(classFileA));
+        assertSame(farFiles, filter.getMatchingFilter(farFileB));
+        assertSame(null, filter.getMatchingFilter(shortFileC));
+    }
+
     @Test
     public void testMagicNumberFileFilterValidation() {
         try {
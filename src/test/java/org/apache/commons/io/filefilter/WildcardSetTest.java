@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.junit.Test;
+
+/**
+ * Tests {@link WildcardSet} and {@link NameTrie}.
+ *
+ * @version $Id$
+ */
+public class WildcardSetTest {
+
+    @Test
+    public void testMatches() {
+        final WildcardSet set = new WildcardSet(new String[] {"*.java", "pom.xml", "Test*", "*Case*", "", null},
+                IOCase.SENSITIVE);
+        assertTrue(set.matches("Foo.java"));
+        assertTrue(set.matches("pom.xml"));
+        assertTrue(set.matches("TestFoo.class"));
+        assertTrue(set.matches("FooCaseBar"));
+        assertTrue(set.matches(""));
+        assertFalse(set.matches("pom.xml.bak"));
+        assertFalse(set.matches("Foo.JAVA"));
+        assertFalse(set.matches(null));
+        assertTrue(new WildcardSet(new String[] {"*.JAVA"}, IOCase.INSENSITIVE).matches("Foo.java"));
+        assertFalse(new WildcardSet(new String[0], IOCase.SENSITIVE).matches("Foo.java"));
+    }
+
+    @Test
+    public void testNameTrie() {
+        final NameTrie trie = new NameTrie(IOCase.INSENSITIVE);
+        trie.add("ab", false, 1);
+        trie.add("AC", false, 2);
+        trie.add("ab", false, 3);
+        trie.add("b", true, 4);
+        assertEquals(5, trie.size());
+        final int a = trie.getChild(0, 'A');
+        assertArrayEquals(new int[] {1, 3}, trie.getValues(trie.getChild(a, 'B')));
+        assertArrayEquals(new int[] {2}, trie.getValues(trie.getChild(a, 'c')));
+        assertEquals(-1, trie.getChild(a, 'd'));
+        assertArrayEquals(new int[] {4}, trie.getValues(trie.getChild(0, 'b')));
+    }
+
+    /**
+     * Compares random wildcards and names with {@link FilenameUtils#wildcardMatch(String, String, IOCase)}.
+     */
+    @Test
+    public void testRandom() {
+        final Random random = new Random(42);
+        final char[] wildcardChars = {'a', 'b', 'A', '.', '?', '*'};
+        final char[] nameChars = {'a', 'b', 'A', '.'};
+        for (int i = 0; i < 2000; i++) {
+            final IOCase caseSensitivity = random.nextBoolean() ? IOCase.SENSITIVE : IOCase.INSENSITIVE;
+            final String[] wildcards = new String[random.nextInt(20)];
+            for (int w = 0; w < wildcards.length; w++) {
+                wildcards[w] = random(random, wildcardChars, random.nextInt(6));
+            }
+            final WildcardSet set = new WildcardSet(wildcards, caseSensitivity);
+            for (int n = 0; n < 20; n++) {
+                final String name = random(random, nameChars, random.nextInt(8));
+                boolean expected = false;
+                for (final String wildcard : wildcards) {
+                    expected |= FilenameUtils.wildcardMatch(name, wildcard, caseSensitivity);
+                }
+                assertEquals(name, expected, set.matches(name));
+            }
+        }
+    }
+
+    private static String random(final Random random, final char[] chars, final int length) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(chars[random.nextInt(chars.length)]);
+        }
+        return builder.toString();
+    }
+
+}
@@ -25,6 +25,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Stack;
@@ -100,6 +101,29 @@ public class ReversedLinesFileReaderTestParamFile {
 
     }
 
+    @Test
+    public void testDataIntegrityWithBufferedReaderMemoryMapped() throws URISyntaxException, IOException {
+        final File testFile = new File(this.getClass().getResource("/" + fileName).toURI());
+        reversedLinesFileReader = new ReversedLinesFileReader(testFile, buffSize, Charset.forName(encoding), true);
+
+        final Stack<String> lineStack = new Stack<String>();
+
+        bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(testFile), encoding));
+        String line = null;
+
+        // read all lines in normal order
+        while ((line = bufferedReader.readLine()) != null) {
+            lineStack.push(line);
+        }
+
+        // read in reverse order and compare with lines from stack
+        while ((line = reversedLinesFileReader.readLine()) != null) {
+            final String lineFromBufferedReader = lineStack.pop();
+            assertEquals(lineFromBufferedReader, line);
+        }
+        assertEquals(0, lineStack.size());
+    }
+
     @After
     public void closeReader() {
         try {
@@ -17,12 +17,20 @@
 package org.apache.commons.io.input;
 
 import static org.apache.commons.io.input.ReversedLinesFileReaderTestParamBlockSize.assertEqualsAndNoLineBreaks;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.testtools.FileBasedTestCase;
 import org.junit.After;
 import org.junit.Test;
 
@@ -62,6 +70,74 @@ public class ReversedLinesFileReaderTestSimple {
         new ReversedLinesFileReader(testFileEncodingBig5, 4096, "Big5").close();
     }
 
+    @Test
+    public void testReadLines() throws URISyntaxException, IOException {
+        final File testFile20Bytes = new File(this.getClass().getResource("/test-file-20byteslength.bin").toURI());
+        for (final boolean memoryMapped : new boolean[] { false, true }) {
+            reversedLinesFileReader = new ReversedLinesFileReader(testFile20Bytes, Charsets.ISO_8859_1, memoryMapped);
+            assertEquals(Collections.emptyList(), reversedLinesFileReader.readLines(0));
+            assertEquals(Arrays.asList("123456789"), reversedLinesFileReader.readLines(1));
+            assertEquals(Arrays.asList("123456789"), reversedLinesFileReader.readLines(5));
+            assertEquals(Collections.emptyList(), reversedLinesFileReader.readLines(5));
+            reversedLinesFileReader.close();
+        }
+    }
+
+    @Test
+    public void testMemoryMappedWindows() throws IOException {
+        // lines of all lengths with all kinds of line breaks, in windows of all sizes
+        final String[] breaks = { "\n", "\r\n", "\r", "\r\r\n", "\n\n" };
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < i % 23; j++) {
+                content.append(j % 2 == 0 ? 'x' : '\u00e9');
+            }
+            content.append(breaks[i % breaks.length]);
+        }
+        final File file = new File(FileBasedTestCase.getTestDirectory(), "reversed-mapped.txt");
+        try {
+            FileUtils.writeStringToFile(file, content.toString(), Charsets.UTF_8);
+            final List<String> expected = readAll(new ReversedLinesFileReader(file, 4096, Charsets.UTF_8));
+            assertTrue(expected.size() > 200);
+            for (final int windowSize : new int[] { 1, 2, 3, 5, 8, 64, 4096 }) {
+                assertEquals("window size " + windowSize, expected,
+                        readAll(new ReversedLinesFileReader(file, windowSize, Charsets.UTF_8, true)));
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testMemoryMappedFallback() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        final File file = new File(FileBasedTestCase.getTestDirectory(), "reversed-fallback.txt");
+        try {
+            FileUtils.writeStringToFile(file, content.toString(), Charsets.UTF_8);
+            final List<String> expected = readAll(new ReversedLinesFileReader(file, Charsets.UTF_8));
+            // a reader which cannot map the file reads it in blocks of the default size
+            final ReversedLinesFileReader reader = new ReversedLinesFileReader(file, Charsets.UTF_8, true) {
+                @Override
+                void mapWindow(final long position) throws IOException {
+                    throw new IOException("Cannot map");
+                }
+            };
+            assertEquals(4096, reader.getBlockSize());
+            assertEquals(expected, readAll(reader));
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
 
+    private static List<String> readAll(final ReversedLinesFileReader reader) throws IOException {
+        try {
+            return reader.readLines(Integer.MAX_VALUE);
+        } finally {
+            reader.close();
+        }
+    }
 
 }
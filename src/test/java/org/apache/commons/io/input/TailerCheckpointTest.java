@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.testtools.FileBasedTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link TailerCheckpoint}, {@link FileTailerCheckpointStore} and resuming a {@link Tailer}.
+ *
+ * @version $Id$
+ */
+public class TailerCheckpointTest extends FileBasedTestCase {
+
+    private File file;
+
+    private FileTailerCheckpointStore store;
+
+    @Before
+    public void setUp() {
+        file = new File(getTestDirectory(), "checkpointed.log");
+        store = new FileTailerCheckpointStore(new File(getTestDirectory(), "checkpoints"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(getTestDirectory());
+    }
+
+    private static void append(final File file, final String... lines) throws IOException {
+        final Writer writer = new FileWriter(file, true);
+        try {
+            for (final String line : lines) {
+                writer.write(line + "\n");
+            }
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+    }
+
+    /**
+     * Runs a new tailer until it has read the file, then stops it.
+     */
+    private List<String> tail(final Listener listener) throws IOException {
+        final Tailer tailer = new Tailer(file, Charsets.UTF_8, listener, 1000, true, false, 4096, false,
+                store, 60000);
+        while (tailer.tail(Long.MAX_VALUE)) {
+            // opened or rotated
+        }
+        tailer.release();
+        return listener.lines;
+    }
+
+    @Test
+    public void testStore() throws IOException {
+        assertNull(store.load(file));
+        final TailerCheckpoint checkpoint = new TailerCheckpoint(123, "(dev=1,ino=2)", 456);
+        store.save(file, checkpoint);
+        assertEquals(checkpoint, store.load(file));
+        final TailerCheckpoint unknown = new TailerCheckpoint(789, null, 0);
+        store.save(file, unknown);
+        assertEquals(unknown, store.load(file));
+        assertNull(store.load(new File(getTestDirectory(), "other.log")));
+        final String[] names = store.getDirectory().list();
+        assertEquals(Arrays.asList(names).toString(), 1, names.length);
+    }
+
+    @Test
+    public void testStoreCrashWhileReplacing() throws IOException {
+        final TailerCheckpoint checkpoint = new TailerCheckpoint(123, "(dev=1,ino=2)", 456);
+        store.save(file, checkpoint);
+        // a crash after the previous checkpoint was deleted, before the new one was renamed
+        final File checkpointFile = store.getCheckpointFile(file);
+        final File temp = new File(checkpointFile.getPath() + ".tmp");
+        assertTrue(checkpointFile.renameTo(temp));
+        assertEquals(checkpoint, store.load(file));
+        // a crash while the first checkpoint was written, in the middle of the position
+        final String content = FileUtils.readFileToString(temp, Charsets.ISO_8859_1);
+        final String truncated = content.substring(0, content.indexOf("position=123") + "position=12".length());
+        FileUtils.write(temp, truncated, Charsets.ISO_8859_1);
+        assertNull(store.load(file));
+    }
+
+    @Test
+    public void testIsSameFile() throws IOException {
+        final TailerCheckpoint key = new TailerCheckpoint(0, "a", 1);
+        assertTrue(key.isSameFile(new TailerCheckpoint(5, "a", 2)));
+        assertFalse(key.isSameFile(new TailerCheckpoint(0, "b", 1)));
+        assertTrue(key.isSameFile(new TailerCheckpoint(0, null, 0)));
+        final TailerCheckpoint created = new TailerCheckpoint(0, null, 1);
+        assertTrue(created.isSameFile(new TailerCheckpoint(0, null, 1)));
+        assertFalse(created.isSameFile(new TailerCheckpoint(0, null, 2)));
+
+        append(file, "line");
+        final TailerCheckpoint forFile = TailerCheckpoint.forFile(file, 5);
+        assertEquals(5, forFile.getPosition());
+        assertTrue(forFile.isSameFile(TailerCheckpoint.forFile(file, 0)));
+    }
+
+    @Test
+    public void testResume() throws IOException {
+        append(file, "one", "two");
+        // no checkpoint: starts at the beginning
+        final Listener listener = new Listener();
+        final Tailer first = new Tailer(file, Charsets.UTF_8, listener, 1000, false, false, 4096, false,
+                store, 60000);
+        assertTrue(first.tail(Long.MAX_VALUE));
+        assertFalse(first.tail(Long.MAX_VALUE));
+        assertEquals(Arrays.asList("one", "two"), listener.lines);
+        append(file, "three");
+        assertFalse(first.tail(Long.MAX_VALUE));
+        first.release();
+        final TailerCheckpoint checkpoint = store.load(file);
+        assertNotNull(checkpoint);
+        assertEquals(file.length(), checkpoint.getPosition());
+
+        // restart: resumes after "three"
+        append(file, "four", "five");
+        final Listener resumed = new Listener();
+        assertEquals(Arrays.asList("four", "five"), tail(resumed));
+        assertEquals(0, resumed.rotated);
+        assertEquals(file.length(), store.load(file).getPosition());
+    }
+
+    @Test
+    public void testRotatedWhileStopped() throws IOException {
+        append(file, "one", "two");
+        tail(new Listener());
+        // rotate: the old file keeps its identity under another name
+        final File rotated = new File(getTestDirectory(), "checkpointed.log.1");
+        assertTrue(file.renameTo(rotated));
+        append(file, "new one", "new two", "new three", "new four");
+        final Listener listener = new Listener();
+        assertEquals(Arrays.asList("new one", "new two", "new three", "new four"), tail(listener));
+        assertEquals(1, listener.rotated);
+    }
+
+    @Test
+    public void testTruncatedWhileStopped() throws IOException {
+        append(file, "one", "two");
+        tail(new Listener());
+        final Writer writer = new FileWriter(file);
+        try {
+            writer.write("x\n");
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+        final Listener listener = new Listener();
+        assertEquals(Arrays.asList("x"), tail(listener));
+        assertEquals(1, listener.rotated);
+    }
+
+    /**
+     * Records the lines and rotations.
+     */
+    private static class Listener extends TailerListenerAdapter {
+
+        final List<String> lines = new ArrayList<String>();
+
+        int rotated;
+
+        @Override
+        public void handle(final String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void fileRotated() {
+            rotated++;
+        }
+
+        @Override
+        public void handle(final Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.testtools.FileBasedTestCase;
+import org.apache.commons.io.testtools.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests {@link TailerService}.
+ *
+ * @version $Id$
+ */
+public class TailerServiceTest extends FileBasedTestCase {
+
+    private TailerService service;
+
+    @After
+    public void tearDown() throws Exception {
+        if (service != null) {
+            service.close();
+        }
+        FileUtils.deleteDirectory(getTestDirectory());
+    }
+
+    private static void append(final File file, final String... lines) throws IOException {
+        final Writer writer = new FileWriter(file, true);
+        try {
+            for (final String line : lines) {
+                writer.write(line + "\n");
+            }
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+    }
+
+    private static void awaitLines(final Listener listener, final int count) throws InterruptedException {
+        for (int i = 0; i < 200 && listener.lines.size() < count; i++) {
+            TestUtils.sleep(50);
+        }
+    }
+
+    @Test
+    public void testManyFiles() throws Exception {
+        service = new TailerService(2);
+        final int fileCount = 50;
+        final File[] files = new File[fileCount];
+        final Listener[] listeners = new Listener[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            files[i] = new File(getTestDirectory(), "tailer-service-" + i + ".txt");
+            TestUtils.createFile(files[i], 0);
+            listeners[i] = new Listener();
+            service.add(new Tailer(files[i], listeners[i], 50));
+        }
+        assertEquals(fileCount, service.getTailers().size());
+        for (int i = 0; i < fileCount; i++) {
+            append(files[i], "first " + i, "second " + i);
+        }
+        for (int i = 0; i < fileCount; i++) {
+            awaitLines(listeners[i], 2);
+            assertEquals("file " + i, Arrays.asList("first " + i, "second " + i), listeners[i].lines);
+            assertNull(listeners[i].exception);
+        }
+    }
+
+    @Test
+    public void testFairness() throws Exception {
+        service = new TailerService(1);
+        final File big = new File(getTestDirectory(), "tailer-service-big.txt");
+        final int bigLines = 100000;
+        final Writer writer = new FileWriter(big);
+        try {
+            for (int i = 0; i < bigLines; i++) {
+                writer.write("LineLineLineLineLineLineLineLineLineLine\n");
+            }
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+        final File small = new File(getTestDirectory(), "tailer-service-small.txt");
+        append(small, "small");
+
+        final Listener bigListener = new Listener();
+        final List<Integer> bigLinesSeen = Collections.synchronizedList(new ArrayList<Integer>());
+        final Listener smallListener = new Listener() {
+            @Override
+            public void handle(final String line) {
+                bigLinesSeen.add(Integer.valueOf(bigListener.lines.size()));
+                super.handle(line);
+            }
+        };
+        service.add(new Tailer(big, bigListener, 50));
+        service.add(new Tailer(small, smallListener, 50));
+        awaitLines(bigListener, bigLines);
+        assertEquals(bigLines, bigListener.lines.size());
+        assertEquals(1, smallListener.lines.size());
+        assertTrue("small file waited for the big one: " + bigLinesSeen,
+                bigLinesSeen.get(0).intValue() < bigLines);
+    }
+
+    @Test
+    public void testRotationAndNotFound() throws Exception {
+        service = new TailerService(1);
+        final File file = new File(getTestDirectory(), "tailer-service-rotate.txt");
+        final Listener listener = new Listener();
+        service.add(new Tailer(file, listener, 50));
+        TestUtils.sleep(200);
+        assertTrue("fileNotFound", listener.notFound > 0);
+
+        append(file, "one", "two");
+        awaitLines(listener, 2);
+        assertEquals(2, listener.lines.size());
+
+        FileUtils.forceDelete(file);
+        append(file, "three");
+        awaitLines(listener, 3);
+        assertEquals(Arrays.asList("one", "two", "three"), listener.lines);
+        assertEquals(1, listener.rotated);
+    }
+
+    @Test
+    public void testRemoveAndClose() throws Exception {
+        service = new TailerService(1);
+        final File file = new File(getTestDirectory(), "tailer-service-remove.txt");
+        TestUtils.createFile(file, 0);
+        final Listener listener = new Listener();
+        final Tailer tailer = service.add(file, listener);
+        TestUtils.sleep(200);
+        assertTrue(service.remove(tailer));
+        assertFalse(service.remove(tailer));
+        assertTrue(service.getTailers().isEmpty());
+        append(file, "ignored");
+        TestUtils.sleep(1500);
+        assertTrue(listener.lines.isEmpty());
+
+        final Tailer other = service.add(file, new Listener());
+        service.close();
+        assertTrue(service.getTailers().isEmpty());
+        assertFalse(other.getRun());
+        try {
+            service.add(file, new Listener());
+            fail("Expected IllegalStateException");
+        } catch (final IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddTwice() {
+        service = new TailerService(1);
+        final Tailer tailer = service.add(new File(getTestDirectory(), "twice.txt"), new Listener());
+        service.add(tailer);
+    }
+
+    /**
+     * Records the lines and events of a tailer.
+     */
+    private static class Listener extends TailerListenerAdapter {
+
+        final List<String> lines = Collections.synchronizedList(new ArrayList<String>());
+
+        volatile Exception exception;
+
+        volatile int notFound;
+
+        volatile int rotated;
+
+        @Override
+        public void handle(final String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void handle(final Exception ex) {
+            exception = ex;
+        }
+
+        @Override
+        public void fileNotFound() {
+            notFound++;
+        }
+
+        @Override
+        public void fileRotated() {
+            rotated++;
+        }
+    }
+}
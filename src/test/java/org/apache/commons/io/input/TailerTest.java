@@ -19,6 +19,7 @@ package org.apache.commons.io.input;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executor;
@@ -27,9 +28,11 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import org.apache.commons.io.Charsets;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.monitor.DirectoryWatcher;
 import org.apache.commons.io.testtools.FileBasedTestCase;
 import org.apache.commons.io.testtools.TestUtils;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -451,6 +454,83 @@ public class TailerTest extends FileBasedTestCase {
         TestUtils.sleep(testDelayMillis);
     }
 
+    @Test
+    public void testBatchListener() throws Exception {
+        final long delayMillis = 50;
+        final File file = new File(getTestDirectory(), "tailer-batch.txt");
+        createFile(file, 0);
+        // lines and CR runs cross the boundaries of the 5 byte reads
+        writeString(file, "one\r\ntwo\nthree\rfour\r\r\nfive\rsix");
+
+        final List<List<String>> batches = Collections.synchronizedList(new ArrayList<List<String>>());
+        final TailerBatchListener batchListener = new TestTailerListener() {
+            @Override
+            public void handleLines(final List<String> lines) {
+                batches.add(lines);
+            }
+        };
+        final List<String> single = Collections.synchronizedList(new ArrayList<String>());
+        final TailerListener lineListener = new TailerListener() {
+            public void init(final Tailer tailer) {
+            }
+            public void fileNotFound() {
+            }
+            public void fileRotated() {
+            }
+            public void handle(final String line) {
+                single.add(line);
+            }
+            public void handle(final Exception ex) {
+            }
+        };
+        tailer = new Tailer(file, Charsets.UTF_8, batchListener, delayMillis, false, false, 5);
+        final Tailer lineTailer = new Tailer(file, Charsets.UTF_8, lineListener, delayMillis, false, false, 5);
+        final Thread thread = new Thread(tailer);
+        final Thread lineThread = new Thread(lineTailer);
+        thread.start();
+        lineThread.start();
+        try {
+            TestUtils.sleep(delayMillis * 10);
+            writeString(file, "\n");
+            TestUtils.sleep(delayMillis * 10);
+        } finally {
+            lineTailer.stop();
+        }
+
+        final List<String> expected = Arrays.asList("one", "two", "three", "four\r", "five", "six");
+        final List<String> lines = new ArrayList<String>();
+        for (final List<String> batch : batches) {
+            assertFalse("empty batch", batch.isEmpty());
+            lines.addAll(batch);
+        }
+        assertEquals(expected, lines);
+        assertEquals(expected, single);
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        Assume.assumeTrue(DirectoryWatcher.isAvailable());
+        // far longer than the test waits: lines can only arrive through change events
+        final long delayMillis = 60000;
+        final File file = new File(getTestDirectory(), "tailer-watch.txt");
+        createFile(file, 0);
+        final TestTailerListener listener = new TestTailerListener();
+        tailer = Tailer.create(file, Charsets.UTF_8, listener, delayMillis, false, false, 4096, true);
+        TestUtils.sleep(500);
+        write(file, "Line one", "Line two");
+        for (int i = 0; i < 100 && listener.getLines().size() < 2; i++) {
+            TestUtils.sleep(50);
+        }
+        assertEquals(Arrays.asList("Line one", "Line two"), listener.getLines());
+        listener.clear();
+        write(file, "Line three");
+        for (int i = 0; i < 100 && listener.getLines().isEmpty(); i++) {
+            TestUtils.sleep(50);
+        }
+        assertEquals(Arrays.asList("Line three"), listener.getLines());
+        assertNull("Should not generate Exception", listener.exception);
+    }
+
     /**
      * Test {@link TailerListener} implementation.
      */
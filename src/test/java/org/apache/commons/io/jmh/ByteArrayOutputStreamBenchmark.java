@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.AbstractByteArrayOutputStream;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares small writes to {@link ByteArrayOutputStream} and {@link UnsynchronizedByteArrayOutputStream}
+ * from a single thread.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=ByteArrayOutputStreamBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class ByteArrayOutputStreamBenchmark {
+
+    private static final int WRITES = 4096;
+
+    @Param({"synchronized", "unsynchronized"})
+    private String implementation;
+
+    private final byte[] small = new byte[16];
+
+    private AbstractByteArrayOutputStream stream;
+
+    @Setup
+    public void setUp() {
+        stream = "synchronized".equals(implementation) ? new ByteArrayOutputStream()
+                : new UnsynchronizedByteArrayOutputStream();
+    }
+
+    @Benchmark
+    public int writeByte() {
+        stream.reset();
+        for (int i = 0; i < WRITES; i++) {
+            stream.write(i);
+        }
+        return stream.size();
+    }
+
+    @Benchmark
+    public int writeSmallArray() {
+        stream.reset();
+        for (int i = 0; i < WRITES; i++) {
+            stream.write(small, 0, small.length);
+        }
+        return stream.size();
+    }
+}
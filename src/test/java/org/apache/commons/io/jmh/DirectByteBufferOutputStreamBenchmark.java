@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.apache.commons.io.output.DirectByteBufferOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Stages 32 MB in {@link ByteArrayOutputStream} and {@link DirectByteBufferOutputStream} and
+ * writes it to a file.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=DirectByteBufferOutputStreamBenchmark</code>;
+ * add <code>-prof gc</code> when running <code>org.openjdk.jmh.Main</code> directly to compare
+ * heap allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class DirectByteBufferOutputStreamBenchmark {
+
+    private static final int SIZE = 1024 * 1024 * 32;
+
+    private final byte[] chunk = new byte[8192];
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        new Random(SIZE).nextBytes(chunk);
+        file = new File("target/jmh-direct/data");
+        FileUtils.forceMkdir(file.getParentFile());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(file.getParentFile());
+    }
+
+    @Benchmark
+    public long heap() throws IOException {
+        final ByteArrayOutputStream staging = new ByteArrayOutputStream();
+        for (int written = 0; written < SIZE; written += chunk.length) {
+            staging.write(chunk, 0, chunk.length);
+        }
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            staging.writeTo(out);
+        } finally {
+            out.close();
+        }
+        return staging.size();
+    }
+
+    @Benchmark
+    public long direct() throws IOException {
+        final DirectByteBufferOutputStream staging = new DirectByteBufferOutputStream();
+        try {
+            for (int written = 0; written < SIZE; written += chunk.length) {
+                staging.write(chunk, 0, chunk.length);
+            }
+            final FileOutputStream out = new FileOutputStream(file);
+            try {
+                return staging.writeTo(out.getChannel());
+            } finally {
+                out.close();
+            }
+        } finally {
+            staging.close();
+        }
+    }
+}
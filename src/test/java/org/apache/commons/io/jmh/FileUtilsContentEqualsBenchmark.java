@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares streamed and memory mapped {@link FileUtils#contentEquals(File, File, boolean)}.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=FileUtilsContentEqualsBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xmx64m"})
+public class FileUtilsContentEqualsBenchmark {
+
+    @Param({"1048576", "268435456"})
+    private int size;
+
+    private File directory;
+
+    private File file1;
+
+    private File file2;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = new File("target/jmh-contentEquals");
+        file1 = new File(directory, "file1");
+        file2 = new File(directory, "file2");
+        final byte[] chunk = new byte[1024 * 1024];
+        new Random(size).nextBytes(chunk);
+        FileUtils.forceMkdir(directory);
+        FileUtils.writeByteArrayToFile(file1, new byte[0]);
+        FileUtils.writeByteArrayToFile(file2, new byte[0]);
+        for (int written = 0; written < size; written += chunk.length) {
+            FileUtils.writeByteArrayToFile(file1, chunk, true);
+            FileUtils.writeByteArrayToFile(file2, chunk, true);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public boolean streamed() throws IOException {
+        return FileUtils.contentEquals(file1, file2, false);
+    }
+
+    @Benchmark
+    public boolean memoryMapped() throws IOException {
+        return FileUtils.contentEquals(file1, file2, true);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.BufferPool;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.io.output.NullWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures small copies with each {@link BufferPool}.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=IOUtilsBufferPoolBenchmark</code>. The
+ * interesting figure is the allocation rate: run <code>org.openjdk.jmh.Main</code> on the test
+ * classpath with <code>-prof gc</code> and compare <code>gc.alloc.rate.norm</code>.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class IOUtilsBufferPoolBenchmark {
+
+    @Param({"unpooled", "threadLocal", "bounded"})
+    private String pool;
+
+    private final byte[] bytes = new byte[512];
+
+    private final char[] chars = new char[512];
+
+    private BufferPool original;
+
+    @Setup
+    public void setUp() {
+        original = IOUtils.getBufferPool();
+        if ("unpooled".equals(pool)) {
+            IOUtils.setBufferPool(BufferPool.unpooled(4096));
+        } else if ("threadLocal".equals(pool)) {
+            IOUtils.setBufferPool(BufferPool.threadLocal(4096));
+        } else {
+            IOUtils.setBufferPool(BufferPool.bounded(4096, 16));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        IOUtils.setBufferPool(original);
+    }
+
+    @Benchmark
+    public long copyInputStream() throws IOException {
+        return IOUtils.copyLarge(new ByteArrayInputStream(bytes), NullOutputStream.NULL_OUTPUT_STREAM);
+    }
+
+    @Benchmark
+    public long copyReader() throws IOException {
+        return IOUtils.copyLarge(new CharArrayReader(chars), NullWriter.NULL_WRITER);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the block-wise {@link IOUtils#contentEquals(InputStream, InputStream)} with the
+ * byte-at-a-time loop it replaced.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=IOUtilsContentEqualsBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class IOUtilsContentEqualsBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    private int size;
+
+    private byte[] data1;
+
+    private byte[] data2;
+
+    @Setup
+    public void setUp() {
+        data1 = new byte[size];
+        new Random(size).nextBytes(data1);
+        data2 = data1.clone();
+    }
+
+    @Benchmark
+    public boolean blockWise() throws IOException {
+        return IOUtils.contentEquals(new ByteArrayInputStream(data1), new ByteArrayInputStream(data2));
+    }
+
+    @Benchmark
+    public boolean byteWise() throws IOException {
+        return byteWiseContentEquals(new ByteArrayInputStream(data1), new ByteArrayInputStream(data2));
+    }
+
+    /**
+     * The byte-at-a-time implementation used by IOUtils up to 2.5.
+     */
+    private static boolean byteWiseContentEquals(final InputStream in1, final InputStream in2) throws IOException {
+        final InputStream input1 = new BufferedInputStream(in1);
+        final InputStream input2 = new BufferedInputStream(in2);
+        int ch = input1.read();
+        while (IOUtils.EOF != ch) {
+            final int ch2 = input2.read();
+            if (ch != ch2) {
+                return false;
+            }
+            ch = input1.read();
+        }
+        return input2.read() == IOUtils.EOF;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IOUtils#copy(InputStream, OutputStream)} between file streams, which transfers
+ * between their channels, with the buffered copy used for other streams.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=IOUtilsCopyBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class IOUtilsCopyBenchmark {
+
+    @Param({"1048576", "67108864"})
+    private int size;
+
+    private File directory;
+
+    private File source;
+
+    private File target;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = new File("target/jmh-copy");
+        source = new File(directory, "source");
+        target = new File(directory, "target");
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        FileUtils.writeByteArrayToFile(source, data);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public long channels() throws IOException {
+        final InputStream input = new FileInputStream(source);
+        try {
+            final OutputStream output = new FileOutputStream(target);
+            try {
+                return IOUtils.copyLarge(input, output);
+            } finally {
+                output.close();
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    @Benchmark
+    public long buffered() throws IOException {
+        final InputStream input = new FileInputStream(source);
+        try {
+            final OutputStream output = new FileOutputStream(target);
+            try {
+                return IOUtils.copyLarge(input, output, new byte[4096]);
+            } finally {
+                output.close();
+            }
+        } finally {
+            input.close();
+        }
+    }
+}
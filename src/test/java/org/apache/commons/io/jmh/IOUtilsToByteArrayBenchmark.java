@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IOUtils#toByteArray(InputStream)} for streams with a known size, which are read
+ * straight into the result, with the same streams hidden behind a wrapper.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=IOUtilsToByteArrayBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class IOUtilsToByteArrayBenchmark {
+
+    @Param({"65536", "8388608"})
+    private int size;
+
+    private byte[] data;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        data = new byte[size];
+        new Random(size).nextBytes(data);
+        file = new File("target/jmh-toByteArray/data");
+        FileUtils.writeByteArrayToFile(file, data);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(file.getParentFile());
+    }
+
+    private static InputStream hideSize(final InputStream input) {
+        return new FilterInputStream(input) {
+            // no size hint
+        };
+    }
+
+    @Benchmark
+    public byte[] byteArraySized() throws IOException {
+        return IOUtils.toByteArray(new ByteArrayInputStream(data));
+    }
+
+    @Benchmark
+    public byte[] byteArrayUnsized() throws IOException {
+        return IOUtils.toByteArray(hideSize(new ByteArrayInputStream(data)));
+    }
+
+    @Benchmark
+    public byte[] fileSized() throws IOException {
+        return FileUtils.readFileToByteArray(file);
+    }
+
+    @Benchmark
+    public byte[] fileUnsized() throws IOException {
+        final InputStream input = hideSize(FileUtils.openInputStream(file));
+        try {
+            return IOUtils.toByteArray(input);
+        } finally {
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.filefilter.MagicNumberFileFilter;
+import org.apache.commons.io.filefilter.MultiMagicNumberFileFilter;
+import org.apache.commons.io.filefilter.OrFileFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sniffing the type of files with an {@link OrFileFilter} of twenty
+ * {@link MagicNumberFileFilter}s and with a {@link MultiMagicNumberFileFilter}.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=MagicNumberFileFilterBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class MagicNumberFileFilterBenchmark {
+
+    private static final int SIGNATURES = 20;
+
+    private File directory;
+
+    private File[] files;
+
+    private IOFileFilter or;
+
+    private IOFileFilter multi;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = new File("target/jmh-magicNumber");
+        FileUtils.forceMkdir(directory);
+        final List<MagicNumberFileFilter> filters = new ArrayList<MagicNumberFileFilter>();
+        for (int i = 0; i < SIGNATURES; i++) {
+            filters.add(new MagicNumberFileFilter("MAGIC" + i + ";", i % 2 == 0 ? 0 : 16));
+        }
+        files = new File[100];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File(directory, "file" + i);
+            // one file in two matches the last signature, the others none
+            final String header = i % 2 == 0 ? "MAGIC" + (SIGNATURES - 1) + ";" : "unknown";
+            FileUtils.write(files[i], "0123456789abcdef" + header + " and some more content", "UTF-8");
+        }
+        or = new OrFileFilter(new ArrayList<IOFileFilter>(filters));
+        multi = new MultiMagicNumberFileFilter(filters);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private int count(final IOFileFilter filter) {
+        int count = 0;
+        for (final File file : files) {
+            if (filter.accept(file)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int orFileFilter() {
+        return count(or);
+    }
+
+    @Benchmark
+    public int multiMagicNumberFileFilter() {
+        return count(multi);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ReversedLinesFileReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading the last lines of a large file with {@link ReversedLinesFileReader}
+ * in blocks and through memory mapped windows.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=ReversedLinesFileReaderBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class ReversedLinesFileReaderBenchmark {
+
+    @Param({"100", "10000"})
+    private int lineCount;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = new File("target/jmh-reversedLines/data.log");
+        FileUtils.forceMkdir(file.getParentFile());
+        final Writer writer = new BufferedWriter(new FileWriter(file));
+        try {
+            // about 128 MB
+            for (int i = 0; i < 1500000; i++) {
+                writer.write("2016-01-01 00:00:00,000 INFO  [main] org.apache.commons.io.Example - line " + i + "\n");
+            }
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(file.getParentFile());
+    }
+
+    private List<String> lastLines(final boolean memoryMapped) throws IOException {
+        final ReversedLinesFileReader reader = new ReversedLinesFileReader(file, Charsets.UTF_8, memoryMapped);
+        try {
+            return reader.readLines(lineCount);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Benchmark
+    public List<String> blocks() throws IOException {
+        return lastLines(false);
+    }
+
+    @Benchmark
+    public List<String> memoryMapped() throws IOException {
+        return lastLines(true);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.Tailer;
+import org.apache.commons.io.input.TailerListenerAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long a {@link Tailer} takes to read a file of 500,000 short lines, handing the
+ * lines to the listener one at a time or in blocks.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=TailerBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class TailerBenchmark {
+
+    private static final int LINES = 500000;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = new File("target/jmh-tailer/lines.log");
+        FileUtils.forceMkdir(file.getParentFile());
+        final Writer writer = new java.io.BufferedWriter(new java.io.FileWriter(file));
+        try {
+            for (int i = 0; i < LINES; i++) {
+                writer.write("2016-01-01 00:00:00,000 INFO  request " + i + " handled\n");
+            }
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(file.getParentFile());
+    }
+
+    /**
+     * Counts the lines and stops the tailer once it reaches the end of the file.
+     */
+    private static class CountingListener extends TailerListenerAdapter {
+        private Tailer tailer;
+        long count;
+
+        @Override
+        public void init(final Tailer tailer) {
+            this.tailer = tailer;
+        }
+
+        @Override
+        public void handle(final String line) {
+            count++;
+        }
+
+        @Override
+        public void endOfFileReached() {
+            tailer.stop();
+        }
+    }
+
+    private long tail(final CountingListener listener) {
+        new Tailer(file, Charsets.UTF_8, listener, 0, false, false, 8192).run();
+        return listener.count;
+    }
+
+    @Benchmark
+    public long perLine() {
+        return tail(new CountingListener());
+    }
+
+    @Benchmark
+    public long batched() {
+        return tail(new CountingListener() {
+            @Override
+            public void handleLines(final List<String> lines) {
+                count += lines.size();
+            }
+        });
+    }
+}
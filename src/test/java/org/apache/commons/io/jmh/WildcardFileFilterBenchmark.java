@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOCase;
+import org.apache.commons.io.WildcardMatcher;
+import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a {@link WildcardFileFilter} with many wildcards with trying each of their
+ * {@link WildcardMatcher}s in turn.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=WildcardFileFilterBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class WildcardFileFilterBenchmark {
+
+    private static final String[] NAMES = {
+        "FileAlterationObserver.java", "FileAlterationObserver.class", "README.txt", "pom.xml",
+        "Test-2016-01-01.log", "test-2016-01-01.log.gz", "a.b.c.d.e.f.java", "build.properties",
+    };
+
+    @Param({"10", "100", "1000"})
+    private int count;
+
+    private WildcardFileFilter filter;
+
+    private WildcardMatcher[] matchers;
+
+    @Setup
+    public void setUp() {
+        final String[] wildcards = new String[count];
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+            case 0:
+                wildcards[i] = "*.ext" + i;
+                break;
+            case 1:
+                wildcards[i] = "prefix" + i + "*";
+                break;
+            case 2:
+                wildcards[i] = "name" + i + ".*";
+                break;
+            default:
+                wildcards[i] = "*-" + i + "-*.log";
+                break;
+            }
+        }
+        filter = new WildcardFileFilter(wildcards, IOCase.INSENSITIVE);
+        matchers = new WildcardMatcher[count];
+        for (int i = 0; i < count; i++) {
+            matchers[i] = WildcardMatcher.compile(wildcards[i], IOCase.INSENSITIVE);
+        }
+    }
+
+    @Benchmark
+    public int filter() {
+        int matches = 0;
+        for (final String name : NAMES) {
+            if (filter.accept(null, name)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int eachMatcher() {
+        int matches = 0;
+        for (final String name : NAMES) {
+            for (final WildcardMatcher matcher : matchers) {
+                if (matcher.matches(name)) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.apache.commons.io.WildcardMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares matching file names against a wildcard with {@link FilenameUtils#wildcardMatch(String, String, IOCase)}
+ * and with a compiled {@link WildcardMatcher}.
+ * <p>
+ * Run with <code>mvn test -Pbenchmark -Dbenchmark=WildcardMatcherBenchmark</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server"})
+public class WildcardMatcherBenchmark {
+
+    private static final String[] NAMES = {
+        "FileAlterationObserver.java", "FileAlterationObserver.class", "README.txt", "pom.xml",
+        "Test-2016-01-01.log", "test-2016-01-01.log.gz", "a.b.c.d.e.f.java", "build.properties",
+    };
+
+    @Param({"*.java", "*Observer*.?ava", "test-*-*-??.log*"})
+    private String wildcard;
+
+    @Param({"SENSITIVE", "INSENSITIVE"})
+    private String caseSensitivity;
+
+    private IOCase ioCase;
+
+    private WildcardMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        ioCase = IOCase.valueOf(caseSensitivity);
+        matcher = WildcardMatcher.compile(wildcard, ioCase);
+    }
+
+    @Benchmark
+    public int wildcardMatch() {
+        int matches = 0;
+        for (final String name : NAMES) {
+            if (FilenameUtils.wildcardMatch(name, wildcard, ioCase)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int compiled() {
+        int matches = 0;
+        for (final String name : NAMES) {
+            if (matcher.matches(name)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+/**
+ * {@link CompactFileAlterationObserver} Test Case, which runs the tests of
+ * {@link FileAlterationObserverTestCase} against a compact observer.
+ *
+ * @version $Id$
+ */
+public class CompactFileAlterationObserverTest extends FileAlterationObserverTestCase {
+
+    /**
+     * Construct a new test case.
+     */
+    public CompactFileAlterationObserverTest() {
+        testDirName = "test-compact-observer";
+    }
+
+    @Override
+    protected void createObserver(final File file, final FileFilter fileFilter) {
+        observer = new CompactFileAlterationObserver(file, fileFilter);
+        observer.addListener(listener);
+        observer.addListener(new FileAlterationListenerAdaptor());
+        try {
+            observer.initialize();
+        } catch (final Exception e) {
+            fail("Observer init() threw " + e);
+        }
+    }
+
+    /**
+     * Test that the listeners are notified of the same events in the same order as by
+     * a {@link FileAlterationObserver}.
+     */
+    @Test
+    public void testSameEvents() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                final File dir = new File(testDir, "dir" + i + "/sub" + j);
+                assertTrue(dir.mkdirs());
+                touch(new File(dir, "file.java"));
+            }
+        }
+        final FileAlterationObserver objects = new FileAlterationObserver(testDir, observer.getFileFilter());
+        final FileAlterationObserver compact = new CompactFileAlterationObserver(testDir,
+                observer.getFileFilter());
+        final OrderListener expected = new OrderListener();
+        final OrderListener actual = new OrderListener();
+        objects.addListener(expected);
+        compact.addListener(actual);
+        objects.initialize();
+        compact.initialize();
+
+        for (int i = 0; i < 5; i += 2) {
+            FileUtils.deleteDirectory(new File(testDir, "dir" + i + "/sub1"));
+            touch(new File(testDir, "dir" + i + "/sub2/file.java"));
+            assertTrue(new File(testDir, "dir" + i + "/sub9/new").mkdirs());
+            touch(new File(testDir, "dir" + i + "/sub9/new/file.java"));
+        }
+        objects.checkAndNotify();
+        compact.checkAndNotify();
+        assertFalse(expected.events.isEmpty());
+        assertEquals(expected.events, actual.events);
+
+        objects.checkAndNotify();
+        compact.checkAndNotify();
+        assertEquals(expected.events, actual.events);
+
+        FileUtils.deleteDirectory(testDir);
+        objects.checkAndNotify();
+        compact.checkAndNotify();
+        assertEquals(expected.events, actual.events);
+    }
+
+    /**
+     * Test that an observer loading a snapshot file notifies the changes made since it was saved.
+     */
+    @Test
+    public void testSnapshotFile() throws Exception {
+        final File snapshotFile = new File(testDir.getParentFile(), testDirName + ".snapshot");
+        try {
+            final File dir = new File(testDir, "dir");
+            assertTrue(dir.mkdir());
+            final File kept = touch(new File(dir, "kept.java"));
+            File changed = touch(new File(dir, "changed.java"));
+            final File deleted = touch(new File(testDir, "deleted.java"));
+            final CompactFileAlterationObserver first = new CompactFileAlterationObserver(testDir,
+                    observer.getFileFilter());
+            first.setSnapshotFile(snapshotFile);
+            first.initialize();
+            first.destroy();
+            assertTrue(snapshotFile.exists());
+
+            // while stopped
+            changed = touch(changed);
+            assertTrue(deleted.delete());
+            final File created = touch(new File(dir, "created.java"));
+
+            final CompactFileAlterationObserver second = createWithSnapshot(snapshotFile);
+            second.checkAndNotify();
+            checkCollectionSizes("Restarted", 0, 1, 0, 1, 1, 1);
+            assertTrue(listener.getCreatedFiles().contains(created));
+            assertTrue(listener.getChangedFiles().contains(changed));
+            assertTrue(listener.getDeletedFiles().contains(deleted));
+            assertFalse(listener.getChangedFiles().contains(kept));
+            second.destroy();
+
+            // another version: checks the whole tree instead
+            final RandomAccessFile raf = new RandomAccessFile(snapshotFile, "rw");
+            try {
+                raf.seek(4);
+                raf.writeInt(99);
+            } finally {
+                raf.close();
+            }
+            touch(new File(dir, "created-too.java"));
+            createWithSnapshot(snapshotFile).checkAndNotify();
+            checkCollectionsEmpty("Other version");
+
+            // truncated
+            second.saveSnapshot();
+            final RandomAccessFile truncate = new RandomAccessFile(snapshotFile, "rw");
+            try {
+                truncate.setLength(truncate.length() - 3);
+            } finally {
+                truncate.close();
+            }
+            createWithSnapshot(snapshotFile).checkAndNotify();
+            checkCollectionsEmpty("Truncated");
+        } finally {
+            snapshotFile.delete();
+        }
+    }
+
+    private CompactFileAlterationObserver createWithSnapshot(final File snapshotFile) throws Exception {
+        final CompactFileAlterationObserver restarted = new CompactFileAlterationObserver(testDir,
+                observer.getFileFilter());
+        restarted.setSnapshotFile(snapshotFile);
+        restarted.initialize();
+        listener.clear();
+        restarted.addListener(listener);
+        return restarted;
+    }
+
+    /**
+     * Test the table of names.
+     */
+    @Test
+    public void testNameTable() {
+        final FileNameTable names = new FileNameTable(0);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, names.add("name" + i));
+        }
+        names.trim();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, names.add("name" + i));
+            assertEquals("name" + i, names.get(i));
+        }
+        assertEquals(1000, names.add(""));
+        assertEquals("", names.get(1000));
+        assertEquals(1001, names.size());
+    }
+
+    /**
+     * Records the events in order.
+     */
+    private static class OrderListener extends FileAlterationListenerAdaptor {
+
+        final List<String> events = new ArrayList<String>();
+
+        @Override
+        public void onDirectoryCreate(final File directory) {
+            events.add("dir create " + directory);
+        }
+
+        @Override
+        public void onDirectoryChange(final File directory) {
+            events.add("dir change " + directory);
+        }
+
+        @Override
+        public void onDirectoryDelete(final File directory) {
+            events.add("dir delete " + directory);
+        }
+
+        @Override
+        public void onFileCreate(final File file) {
+            events.add("file create " + file);
+        }
+
+        @Override
+        public void onFileChange(final File file) {
+            events.add("file change " + file);
+        }
+
+        @Override
+        public void onFileDelete(final File file) {
+            events.add("file delete " + file);
+        }
+    }
+
+}
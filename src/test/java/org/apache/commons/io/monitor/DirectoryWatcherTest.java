@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.testtools.FileBasedTestCase;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link DirectoryWatcher}.
+ *
+ * @version $Id$
+ */
+public class DirectoryWatcherTest {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        Assume.assumeTrue(DirectoryWatcher.isAvailable());
+        directory = new File(FileBasedTestCase.getTestDirectory(), "test-watcher");
+        FileUtils.forceMkdir(directory);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (directory != null) {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Polls until the given names have been reported, or the timeout expires.
+     */
+    private static Set<String> pollFor(final DirectoryWatcher watcher, final Set<String> expected)
+            throws IOException, InterruptedException {
+        final Set<String> names = new HashSet<String>();
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!names.containsAll(expected) && System.currentTimeMillis() < deadline) {
+            final Set<String> changed = watcher.poll(1, TimeUnit.SECONDS);
+            assertTrue("Events lost", changed != null);
+            names.addAll(changed);
+        }
+        return names;
+    }
+
+    @Test
+    public void testPoll() throws Exception {
+        final DirectoryWatcher watcher = new DirectoryWatcher(directory);
+        try {
+            assertEquals(directory, watcher.getDirectory());
+            assertTrue("No changes", watcher.poll(0, TimeUnit.MILLISECONDS).isEmpty());
+            assertTrue("No changes", watcher.poll(10, TimeUnit.MILLISECONDS).isEmpty());
+
+            final File a = new File(directory, "a.txt");
+            final File b = new File(directory, "b.txt");
+            FileUtils.touch(a);
+            FileUtils.writeStringToFile(b, "b", "UTF-8");
+            final Set<String> expected = new HashSet<String>();
+            expected.add("a.txt");
+            expected.add("b.txt");
+            assertEquals(expected, pollFor(watcher, expected));
+
+            FileUtils.forceDelete(a);
+            assertEquals(Collections.singleton("a.txt"),
+                    pollFor(watcher, Collections.singleton("a.txt")));
+        } finally {
+            watcher.close();
+        }
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        final DirectoryWatcher watcher = new DirectoryWatcher(directory);
+        watcher.close();
+        try {
+            watcher.poll(0, TimeUnit.MILLISECONDS);
+            fail("Expected IOException");
+        } catch (final IOException expected) {
+            // expected
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingDirectory() throws Exception {
+        new DirectoryWatcher(new File(directory, "missing"));
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * {@link FileAlterationObserver} Test Case, which runs the tests of
+ * {@link FileAlterationObserverTestCase} with an executor checking subdirectories in parallel.
+ *
+ * @version $Id$
+ */
+public class ParallelFileAlterationObserverTest extends FileAlterationObserverTestCase {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    /**
+     * Construct a new test case.
+     */
+    public ParallelFileAlterationObserverTest() {
+        testDirName = "test-parallel-observer";
+    }
+
+    @Override
+    protected void createObserver(final File file, final FileFilter fileFilter) {
+        observer = new FileAlterationObserver(file, fileFilter);
+        observer.setExecutor(executor);
+        observer.addListener(listener);
+        observer.addListener(new FileAlterationListenerAdaptor());
+        try {
+            observer.initialize();
+        } catch (final Exception e) {
+            fail("Observer init() threw " + e);
+        }
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    /**
+     * Test that the listeners are notified in the same order as without an executor.
+     */
+    @Test
+    public void testOrder() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 5; j++) {
+                final File dir = new File(testDir, "dir" + i + "/sub" + j);
+                assertTrue(dir.mkdirs());
+                touch(new File(dir, "file.java"));
+            }
+        }
+        final FileAlterationObserver sequential = new FileAlterationObserver(testDir, observer.getFileFilter());
+        final FileAlterationObserver parallel = new FileAlterationObserver(testDir, observer.getFileFilter());
+        parallel.setExecutor(executor);
+        final OrderListener expected = new OrderListener();
+        final OrderListener actual = new OrderListener();
+        sequential.addListener(expected);
+        parallel.addListener(actual);
+        sequential.initialize();
+        parallel.initialize();
+
+        for (int i = 0; i < 10; i += 2) {
+            FileUtils.deleteDirectory(new File(testDir, "dir" + i + "/sub1"));
+            touch(new File(testDir, "dir" + i + "/sub2/file.java"));
+            assertTrue(new File(testDir, "dir" + i + "/sub9/new").mkdirs());
+            touch(new File(testDir, "dir" + i + "/sub9/new/file.java"));
+        }
+        sequential.checkAndNotify();
+        parallel.checkAndNotify();
+        assertFalse(expected.events.isEmpty());
+        assertEquals(expected.events, actual.events);
+        assertEquals(Thread.currentThread().getName(), actual.thread);
+
+        FileUtils.deleteDirectory(testDir);
+        sequential.checkAndNotify();
+        parallel.checkAndNotify();
+        assertEquals(expected.events, actual.events);
+    }
+
+    /**
+     * Records the events in order, and the thread notifying them.
+     */
+    private static class OrderListener extends FileAlterationListenerAdaptor {
+
+        final List<String> events = new ArrayList<String>();
+
+        String thread;
+
+        private void add(final String event, final File file) {
+            events.add(event + " " + file);
+            thread = Thread.currentThread().getName();
+        }
+
+        @Override
+        public void onDirectoryCreate(final File directory) {
+            add("dir create", directory);
+        }
+
+        @Override
+        public void onDirectoryChange(final File directory) {
+            add("dir change", directory);
+        }
+
+        @Override
+        public void onDirectoryDelete(final File directory) {
+            add("dir delete", directory);
+        }
+
+        @Override
+        public void onFileCreate(final File file) {
+            add("file create", file);
+        }
+
+        @Override
+        public void onFileChange(final File file) {
+            add("file change", file);
+        }
+
+        @Override
+        public void onFileDelete(final File file) {
+            add("file delete", file);
+        }
+    }
+
+}
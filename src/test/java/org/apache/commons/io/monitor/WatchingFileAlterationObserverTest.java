@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import static org.apache.commons.io.testtools.TestUtils.sleepQuietly;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileFilter;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * {@link WatchingFileAlterationObserver} Test Case, which runs the tests of
+ * {@link FileAlterationObserverTestCase} against a watching observer.
+ *
+ * @version $Id$
+ */
+public class WatchingFileAlterationObserverTest extends FileAlterationObserverTestCase {
+
+    /**
+     * Construct a new test case.
+     */
+    public WatchingFileAlterationObserverTest() {
+        testDirName = "test-watching-observer";
+    }
+
+    @Override
+    protected void createObserver(final File file, final FileFilter fileFilter) {
+        observer = new WatchingFileAlterationObserver(file, fileFilter);
+        observer.addListener(listener);
+        observer.addListener(new FileAlterationListenerAdaptor());
+        try {
+            observer.initialize();
+        } catch (final Exception e) {
+            fail("Observer init() threw " + e);
+        }
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        observer.destroy();
+        super.tearDown();
+    }
+
+    @Override
+    protected void checkAndNotify() throws Exception {
+        // give the watch service time to report the changes
+        sleepQuietly(pauseTime);
+        observer.checkAndNotify();
+    }
+
+    /**
+     * Test that changes deep in the tree are found, and that new directories are watched.
+     */
+    @Test
+    public void testWatching() throws Exception {
+        Assume.assumeTrue(WatchingFileAlterationObserver.isAvailable());
+        final WatchingFileAlterationObserver watching = (WatchingFileAlterationObserver) observer;
+        assertTrue(watching.isWatching());
+        checkAndNotify();
+        checkCollectionsEmpty("A");
+
+        final File dir = new File(testDir, "a/b/c");
+        assertTrue(dir.mkdirs());
+        checkAndNotify();
+        checkCollectionSizes("B", 3, 0, 0, 0, 0, 0);
+
+        // the new directories are watched
+        final File file = touch(new File(dir, "file.java"));
+        checkAndNotify();
+        checkCollectionSizes("C", 0, 1, 0, 1, 0, 0);
+        assertTrue(listener.getCreatedFiles().contains(file));
+        assertTrue(listener.getChangedDirectories().contains(dir));
+
+        touch(file);
+        checkAndNotify();
+        checkCollectionSizes("D", 0, 0, 0, 0, 1, 0);
+
+        FileUtils.deleteDirectory(new File(testDir, "a"));
+        checkAndNotify();
+        checkCollectionSizes("E", 0, 0, 3, 0, 0, 1);
+
+        assertTrue(watching.isWatching());
+    }
+
+}
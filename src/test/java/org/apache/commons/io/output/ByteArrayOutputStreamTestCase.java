@@ -18,20 +18,45 @@ package org.apache.commons.io.output;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 /**
- * Basic unit tests for the alternative ByteArrayOutputStream implementation.
+ * Basic unit tests for the alternative ByteArrayOutputStream implementations.
  */
+@RunWith(Parameterized.class)
 public class ByteArrayOutputStreamTestCase {
 
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> implementations() {
+        return Arrays.asList(new Object[][]{{"ByteArrayOutputStream"}, {"UnsynchronizedByteArrayOutputStream"}});
+    }
+
+    private final boolean unsynchronized;
+
+    public ByteArrayOutputStreamTestCase(final String implementation) {
+        unsynchronized = implementation.startsWith("Unsynchronized");
+    }
+
+    private AbstractByteArrayOutputStream newStream() {
+        return unsynchronized ? new UnsynchronizedByteArrayOutputStream() : new ByteArrayOutputStream();
+    }
+
+    private AbstractByteArrayOutputStream newStream(final int size) {
+        return unsynchronized ? new UnsynchronizedByteArrayOutputStream(size) : new ByteArrayOutputStream(size);
+    }
+
     private static final byte[] DATA;
 
     static {
@@ -41,7 +66,7 @@ public class ByteArrayOutputStreamTestCase {
         }
     }
 
-    private int writeData(final ByteArrayOutputStream baout,
+    private int writeData(final AbstractByteArrayOutputStream baout,
                 final java.io.ByteArrayOutputStream ref,
                 final int count) {
         if (count > DATA.length) {
@@ -58,7 +83,7 @@ public class ByteArrayOutputStreamTestCase {
         }
     }
 
-    private int writeData(final ByteArrayOutputStream baout,
+    private int writeData(final AbstractByteArrayOutputStream baout,
                 final java.io.ByteArrayOutputStream ref,
                 final int[] instructions) {
         int written = 0;
@@ -87,7 +112,7 @@ public class ByteArrayOutputStreamTestCase {
     }
 
     private void checkStreams(
-            final ByteArrayOutputStream actual,
+            final AbstractByteArrayOutputStream actual,
             final java.io.ByteArrayOutputStream expected) {
         assertEquals("Sizes are not equal", expected.size(), actual.size());
         final byte[] buf = actual.toByteArray();
@@ -97,7 +122,7 @@ public class ByteArrayOutputStreamTestCase {
 
     @Test
     public void testToInputStream() throws IOException {
-        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        AbstractByteArrayOutputStream baout = newStream();
         java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
 
         //Write 8224 bytes
@@ -130,7 +155,7 @@ public class ByteArrayOutputStreamTestCase {
     @Test
     public void testToInputStreamWithReset() throws IOException {
         //Make sure reset() do not destroy InputStream returned from toInputStream()
-        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        AbstractByteArrayOutputStream baout = newStream();
         java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
 
         //Write 8224 bytes
@@ -168,7 +193,7 @@ public class ByteArrayOutputStreamTestCase {
 
         //The ByteArrayOutputStream is initialized with 32 bytes to match
         //the original more closely for this test.
-        final ByteArrayOutputStream baout = new ByteArrayOutputStream(32);
+        final AbstractByteArrayOutputStream baout = newStream(32);
         final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
 
         //First three writes
@@ -198,7 +223,7 @@ public class ByteArrayOutputStreamTestCase {
 
         //Write the commons Byte[]OutputStream to a java.io.Byte[]OutputStream
         //and vice-versa to test the writeTo() method.
-        final ByteArrayOutputStream baout1 = new ByteArrayOutputStream(32);
+        final AbstractByteArrayOutputStream baout1 = newStream(32);
         ref.writeTo(baout1);
         final java.io.ByteArrayOutputStream ref1 = new java.io.ByteArrayOutputStream();
         baout.writeTo(ref1);
@@ -211,8 +236,8 @@ public class ByteArrayOutputStreamTestCase {
 
         //Make sure that empty ByteArrayOutputStreams really don't create garbage
         //on toByteArray()
-        final ByteArrayOutputStream baos1 = new ByteArrayOutputStream();
-        final ByteArrayOutputStream baos2 = new ByteArrayOutputStream();
+        final AbstractByteArrayOutputStream baos1 = newStream();
+        final AbstractByteArrayOutputStream baos2 = newStream();
         assertSame(baos1.toByteArray(), baos2.toByteArray());
         baos1.close();
         baos2.close();
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.output;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.Channels;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.testtools.FileBasedTestCase;
+import org.junit.Test;
+
+/**
+ * Tests {@link DirectByteBufferOutputStream}.
+ *
+ * @version $Id$
+ */
+public class DirectByteBufferOutputStreamTest {
+
+    private static byte[] data(final int length) {
+        final byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        final byte[] data = data(100);
+        final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(16);
+        out.write(data[0]);
+        out.write(data, 1, 40);
+        assertEquals(30, out.write(ByteBuffer.wrap(data, 41, 30)));
+        final ByteBuffer heap = ByteBuffer.wrap(data, 71, 29);
+        out.write(heap);
+        assertEquals(100, heap.position());
+        out.write(data, 0, 0);
+        assertEquals(100, out.size());
+        assertArrayEquals(data, out.toByteArray());
+
+        final ByteBuffer[] views = out.toByteBuffers();
+        assertEquals(7, views.length);
+        int total = 0;
+        for (final ByteBuffer view : views) {
+            assertTrue(view.isReadOnly());
+            assertTrue(view.isDirect());
+            total += view.remaining();
+        }
+        assertEquals(100, total);
+        out.close();
+    }
+
+    @Test
+    public void testReadOnlyViews() throws IOException {
+        final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream();
+        out.write(data(10));
+        try {
+            out.toByteBuffers()[0].put(0, (byte) 1);
+            fail("Expected ReadOnlyBufferException");
+        } catch (final ReadOnlyBufferException expected) {
+            // expected
+        }
+        out.close();
+    }
+
+    @Test
+    public void testResetAndClose() throws IOException {
+        final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream();
+        assertEquals(0, out.toByteBuffers().length);
+        out.write(data(10));
+        out.reset();
+        assertEquals(0, out.size());
+        assertEquals(0, out.toByteArray().length);
+        out.write(data(5));
+        assertArrayEquals(data(5), out.toByteArray());
+        out.close();
+        assertEquals(0, out.size());
+        try {
+            out.write(1);
+            fail("Expected IOException");
+        } catch (final IOException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWriteToChannel() throws IOException {
+        final byte[] data = data(10000);
+        final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(1000);
+        out.write(data);
+
+        // not gathering
+        final java.io.ByteArrayOutputStream baout = new java.io.ByteArrayOutputStream();
+        assertEquals(data.length, out.writeTo(Channels.newChannel(baout)));
+        assertArrayEquals(data, baout.toByteArray());
+
+        // gathering
+        final File file = new File(FileBasedTestCase.getTestDirectory(), "direct-buffers.bin");
+        try {
+            final FileOutputStream fout = new FileOutputStream(file);
+            try {
+                assertEquals(data.length, out.writeTo(fout.getChannel()));
+                assertEquals(data.length, out.writeTo(fout.getChannel()));
+            } finally {
+                IOUtils.closeQuietly(fout);
+            }
+            final byte[] expected = new byte[data.length * 2];
+            System.arraycopy(data, 0, expected, 0, data.length);
+            System.arraycopy(data, 0, expected, data.length, data.length);
+            assertArrayEquals(expected, FileUtils.readFileToByteArray(file));
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+        out.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSegmentSize() {
+        new DirectByteBufferOutputStream(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteOutOfBounds() throws IOException {
+        new DirectByteBufferOutputStream().write(new byte[1], 1, 1);
+    }
+}
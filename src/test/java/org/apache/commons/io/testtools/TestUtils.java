@@ -238,6 +238,50 @@ public abstract class TestUtils {
         } while (remaining > 0);
     }
 
+    /**
+     * Creates a named pipe with the <code>mkfifo</code> command.
+     *
+     * @param file the pipe to create
+     * @return whether the pipe was created, false where <code>mkfifo</code> is not available
+     * @throws InterruptedException if interrupted
+     */
+    public static boolean createFifo(final File file) throws InterruptedException {
+        try {
+            final Process process = new ProcessBuilder("mkfifo", file.getAbsolutePath()).start();
+            return process.waitFor() == 0 && file.exists();
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes bytes to a named pipe from a new thread, as opening a pipe blocks until
+     * its other end is opened.
+     *
+     * @param fifo the pipe to write to
+     * @param data the bytes to write
+     * @return the thread, which closes the pipe once the bytes are written
+     */
+    public static Thread writeToFifo(final File fifo, final byte[] data) {
+        final Thread thread = new Thread("writeToFifo") {
+            @Override
+            public void run() {
+                OutputStream out = null;
+                try {
+                    out = new FileOutputStream(fifo);
+                    out.write(data);
+                } catch (final IOException e) {
+                    // the reader fails too
+                } finally {
+                    IOUtils.closeQuietly(out);
+                }
+            }
+        };
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
     public static void sleepQuietly(long ms) {
         try {
             sleep(ms);